@@ -0,0 +1,47 @@
+package com.ridge.api;
+
+import java.time.Instant;
+
+/**
+ * Access token handed out by a {@link TokenProvider}. The value is sent as is
+ * in the {@code Authorization} header of requests.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+public class AccessToken {
+
+    private final String value;
+
+    private final Instant expiresAt;
+
+    /**
+     * Creates a token with the given authorization value and expire time.
+     *
+     * @param value     The authorization header value, for example
+     *                  {@code "Bearer abc"}.
+     * @param expiresAt The time the token expires or null if it never does.
+     */
+    public AccessToken(String value, Instant expiresAt) {
+        this.value = value;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Determines if the token has expired or will within the given margin.
+     *
+     * @param marginMillis The margin before the expire time in millis.
+     * @return If the token is expired.
+     */
+    public boolean isExpired(long marginMillis) {
+        return expiresAt != null && System.currentTimeMillis() + marginMillis >= expiresAt.toEpochMilli();
+    }
+}
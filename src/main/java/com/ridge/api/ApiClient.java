@@ -1,6 +1,9 @@
 package com.ridge.api;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
@@ -8,13 +11,32 @@ import java.net.http.HttpRequest.BodyPublisher;
 import java.net.http.HttpRequest.BodyPublishers;
 import java.net.http.HttpRequest.Builder;
 import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
 import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ridge.mapper.CodecRegistry;
+import com.ridge.metrics.MetricsRecorder;
 
+import rx.Emitter.BackpressureMode;
+import rx.Observable;
+import rx.Single;
 import rx.subjects.BehaviorSubject;
+import rx.subscriptions.Subscriptions;
 
 /**
  * Api client class for consuming restful endpoints.
@@ -23,24 +45,74 @@ import rx.subjects.BehaviorSubject;
  * @since April 8, 2022
  */
 public class ApiClient {
+    /**
+     * Since Java 16 cancelling the future of {@link HttpClient#sendAsync} aborts
+     * the exchange. Before that it only completes the future, and the response
+     * that still arrives could no longer be closed.
+     */
+    private static final boolean ABORTS_EXCHANGE = Runtime.version().feature() >= 16;
+
+    private static final String BINARY_ACCEPT = CodecRegistry.SMILE_CONTENT_TYPE + ", application/json;q=0.9";
+
     private final String BASE_URL;
 
-    private final ObjectMapper objectMapper;
+    private final CodecRegistry codecs;
 
     private final HttpClient httpClient;
 
+    private final Duration requestTimeout;
+
+    private final Executor decodeExecutor;
+
     private String AUTH;
 
+    private TokenCache tokenCache;
+
+    private ResponseCache responseCache;
+
+    private RequestCoalescer coalescer;
+
+    private ConcurrencyLimiter limiter;
+
+    private ResiliencePolicy resiliencePolicy;
+
+    private CircuitBreaker circuitBreaker;
+
+    private boolean compression;
+
+    private int compressionThreshold = 1024;
+
+    private boolean binaryFormat;
+
+    private final Set<String> binaryHosts = ConcurrentHashMap.newKeySet();
+
+    private MetricsRecorder metrics = MetricsRecorder.NOOP;
+
+    private RequestTracer tracer;
+
+    private final CompletableFuture<Duration> warmUp;
+
     public ApiClient() {
-        this.BASE_URL = "";
-        this.objectMapper = new ObjectMapper();
-        this.httpClient = HttpClient.newHttpClient();
+        this("");
     }
 
     public ApiClient(String url) {
+        this(url, CodecRegistry.getDefault());
+    }
+
+    public ApiClient(String url, CodecRegistry codecs) {
+        this(url, codecConfig(codecs));
+    }
+
+    public ApiClient(String url, ApiClientConfig config) {
         this.BASE_URL = url;
-        this.objectMapper = new ObjectMapper();
-        this.httpClient = HttpClient.newHttpClient();
+        this.codecs = config.getCodecRegistry();
+        this.requestTimeout = config.getRequestTimeout();
+        this.decodeExecutor = config.getDecodeExecutor();
+        this.httpClient = config.buildHttpClient();
+        this.warmUp = config.getWarmUpConnections() > 0 || config.getWarmUpClasses().length > 0
+                ? warmUpAsync(config.getWarmUpConnections(), config.getWarmUpClasses())
+                : CompletableFuture.completedFuture(Duration.ZERO);
     }
 
     /**
@@ -52,16 +124,294 @@ public class ApiClient {
         this.AUTH = auth;
     }
 
+    /**
+     * Set the provider of the tokens used to authorize requests. The token is
+     * cached and refreshed in the background before it expires. A request that
+     * is rejected with a 401 is sent once more with a refreshed token. This takes
+     * priority over the authorization set with {@link #setAuthorization(String)}.
+     * Passing null will stop using tokens.
+     * 
+     * @param provider The token provider to use.
+     */
+    public void setTokenProvider(TokenProvider provider) {
+        setTokenCache(provider != null ? new TokenCache(provider) : null);
+    }
+
+    /**
+     * Set the token cache used to authorize requests. Passing null will stop
+     * using tokens.
+     * 
+     * @param tokenCache The token cache to use.
+     */
+    public void setTokenCache(TokenCache tokenCache) {
+        if (this.tokenCache != null && this.tokenCache != tokenCache) {
+            this.tokenCache.close();
+        }
+        this.tokenCache = tokenCache;
+    }
+
+    /**
+     * Set the cache to serve get requests from. Passing null will disable the
+     * cache.
+     * 
+     * @param responseCache The response cache to use.
+     */
+    public void setResponseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * Get the cache that get requests are served from.
+     * 
+     * @return The {@link ResponseCache} or null if caching is disabled.
+     */
+    public ResponseCache getResponseCache() {
+        return this.responseCache;
+    }
+
+    /**
+     * Enable or disable coalescing of identical concurrent get requests. When
+     * enabled, gets for the same url, authorization and class that are sent while
+     * an identical one is still in flight will share its exchange and its
+     * deserialized result, so the result should be treated as read only.
+     * 
+     * @param enabled If get requests should be coalesced.
+     */
+    public void setRequestCoalescing(boolean enabled) {
+        this.coalescer = enabled ? new RequestCoalescer() : null;
+    }
+
+    /**
+     * Set the limiter that bounds the number of requests in flight per host.
+     * Passing null will send every request straight away.
+     * 
+     * @param limiter The concurrency limiter to use.
+     */
+    public void setConcurrencyLimiter(ConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    /**
+     * Get the limiter that bounds the number of requests in flight per host.
+     * 
+     * @return The {@link ConcurrencyLimiter} or null if requests are not limited.
+     */
+    public ConcurrencyLimiter getConcurrencyLimiter() {
+        return this.limiter;
+    }
+
+    /**
+     * Set the policy for retrying, hedging and bounding the time of requests.
+     * Passing null will send every request exactly once.
+     * 
+     * @param resiliencePolicy The resilience policy to use.
+     */
+    public void setResiliencePolicy(ResiliencePolicy resiliencePolicy) {
+        this.resiliencePolicy = resiliencePolicy;
+    }
+
+    /**
+     * Set the circuit breaker that fails requests fast while their host or
+     * endpoint is failing. Passing null will disable the breaker.
+     * 
+     * @param circuitBreaker The circuit breaker to use.
+     */
+    public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * Enable or disable compression. When enabled, requests will accept gzip and
+     * deflate encoded responses, which are decompressed as they are read. Request
+     * bodies at or over the compression threshold are sent gzip encoded.
+     * 
+     * @param compression If compression should be used.
+     */
+    public void setCompression(boolean compression) {
+        this.compression = compression;
+    }
+
+    /**
+     * Set the size a request body has to be before it is compressed.
+     * 
+     * @param compressionThreshold The threshold in bytes.
+     */
+    public void setCompressionThreshold(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    /**
+     * Enable or disable binary content negotiation. When enabled, requests whose
+     * response is read as a class type will accept the binary Smile format ahead
+     * of json, and binary responses are parsed with the binary mapper. Once a
+     * host has answered with binary data, typed posts to it will send their body
+     * in the binary format as well. Servers that only speak json keep getting
+     * json.
+     * 
+     * @param binaryFormat If the binary format should be negotiated.
+     */
+    public void setBinaryFormat(boolean binaryFormat) {
+        this.binaryFormat = binaryFormat;
+    }
+
+    /**
+     * Set the recorder that request metrics are recorded to. Per endpoint, the
+     * latency until the response headers arrive, the status codes and the bytes
+     * sent and received are recorded, along with the time spent deserializing
+     * each class type. Endpoints are named by method and path template, with the
+     * identifier segments of the path replaced by {@code {}}, so the number of
+     * metrics stays bounded. Passing null will stop recording.
+     * 
+     * @param metrics The metrics recorder to use.
+     */
+    public void setMetricsRecorder(MetricsRecorder metrics) {
+        this.metrics = metrics != null ? metrics : MetricsRecorder.NOOP;
+    }
+
+    /**
+     * Set the tracer that records the time spent in each phase of requests whose
+     * response is read as a class type or a string. Passing null will stop
+     * tracing.
+     * 
+     * @param tracer The request tracer to use.
+     */
+    public void setRequestTracer(RequestTracer tracer) {
+        this.tracer = tracer;
+    }
+
+    /**
+     * Warms up the client so the first requests do not pay for connection setup
+     * and class introspection. A connection is opened to the base url and the
+     * readers and writers of the classes are resolved in the meantime.
+     * 
+     * <blockquote>
+     * 
+     * <pre>
+     * Duration took = client.warmUp(AuthToken.class, User.class);
+     * </pre>
+     * 
+     * </blockquote>
+     * 
+     * @param classes The classes that will be read and written.
+     * @return How long the warm up took.
+     * @throws Exception If the readers or writers could not be resolved.
+     */
+    public Duration warmUp(Class<?>... classes) throws Exception {
+        return await(warmUpAsync(1, classes));
+    }
+
+    /**
+     * Warms up the client in the background. The given number of connections
+     * are opened to the base url at once, so an HTTP/1.1 pool is filled, while
+     * the readers and writers of the classes are resolved on the decode
+     * executor. A connection that can not be opened does not fail the warm up.
+     * The time taken is also recorded to the metrics recorder as
+     * {@code api.warmup}.
+     * 
+     * @param connections The number of connections to open.
+     * @param classes     The classes that will be read and written.
+     * @return {@link CompletableFuture} of how long the warm up took.
+     */
+    public CompletableFuture<Duration> warmUpAsync(int connections, Class<?>... classes) {
+        long start = System.nanoTime();
+        List<CompletableFuture<?>> steps = new ArrayList<>();
+        if (!BASE_URL.isEmpty()) {
+            for (int i = 0; i < connections; i++) {
+                Builder builder = HttpRequest.newBuilder(URI.create(BASE_URL)).method("HEAD", BodyPublishers.noBody());
+                if (requestTimeout != null) {
+                    builder.timeout(requestTimeout);
+                }
+                steps.add(httpClient.sendAsync(builder.build(), BodyHandlers.discarding()).handle((res, e) -> res));
+            }
+        }
+        steps.add(CompletableFuture.runAsync(() -> {
+            for (Class<?> clazz : classes) {
+                codecs.reader(clazz);
+                codecs.writer(clazz);
+                codecs.binaryReader(clazz);
+                codecs.binaryWriter(clazz);
+            }
+        }, decodeExecutor));
+
+        return CompletableFuture.allOf(steps.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            Duration took = Duration.ofNanos(System.nanoTime() - start);
+            metrics.recordTime("api.warmup", took.toNanos());
+            return took;
+        });
+    }
+
+    /**
+     * Get the warm up that was started when the client was created, if the
+     * configuration asked for one.
+     * 
+     * @return {@link CompletableFuture} of how long the warm up took. Completes
+     *         with zero if there was no warm up.
+     */
+    public CompletableFuture<Duration> getWarmUp() {
+        return warmUp;
+    }
+
+    /**
+     * Creates an implementation of the annotated rest interface that sends its
+     * calls with this client. Each method is compiled into a call plan once, so
+     * a call only fills in the path template and sends the request. Methods may
+     * return the read object, a {@link CompletableFuture} or {@link Single} of
+     * it, the {@link HttpResponse} of the string body or nothing. Collections
+     * should be declared as arrays.
+     * 
+     * <blockquote>
+     * 
+     * <pre>
+     * public interface UserApi {
+     *     &#64;GET("/api/user-app/users/{id}")
+     *     User getUser(&#64;Path("id") int id) throws Exception;
+     * 
+     *     &#64;GET("/api/user-app/users")
+     *     CompletableFuture&lt;User[]&gt; getUsers(&#64;Query("email") String email);
+     * 
+     *     &#64;POST("/api/user-app/users")
+     *     User createUser(&#64;Body User user) throws Exception;
+     * }
+     * 
+     * UserApi users = client.create(UserApi.class);
+     * </pre>
+     * 
+     * </blockquote>
+     * 
+     * The headers of the plans are built when the interface is created, so
+     * compression and binary negotiation should be set before calling this.
+     * 
+     * @param <S>     The type of the rest interface.
+     * @param service The annotated rest interface.
+     * @return The implementation of the interface.
+     * @throws IllegalArgumentException If a method of the interface is not a valid
+     *                                  rest method.
+     */
+    public <S> S create(Class<S> service) {
+        if (!service.isInterface()) {
+            throw new IllegalArgumentException("'" + service.getName() + "' is not an interface");
+        }
+        return service.cast(Proxy.newProxyInstance(service.getClassLoader(), new Class<?>[] { service },
+                new RestProxy(this, service)));
+    }
+
     /**
      * This will do a get on the passed in API. It will then cast the results to the
-     * passed in object.
+     * passed in object. If a response cache is set, fresh responses will be served
+     * from the cache and stale ones will be revalidated with the server.
      * 
      * @param api   The endpoint to hit.
      * @param clazz The class to cast it too.
      * @throws Exception
      */
     public <T> T get(String api, Class<T> clazz) throws Exception {
-        var request = getBuilder(api).GET().build();
+        if (responseCache != null) {
+            return cachedGet(api, clazz);
+        }
+        var request = typedBuilder(api).GET().build();
+        if (coalescer != null) {
+            return await(coalescedGet(request, clazz));
+        }
         return send(request, clazz);
     }
 
@@ -76,7 +426,7 @@ public class ApiClient {
      * @throws IOException
      */
     public HttpResponse<String> post(String api, Map<String, Object> body) throws Exception {
-        var request = getBuilder(api).POST(paramFormatter(body)).build();
+        var request = postBuilder(api, body, false).build();
         return send(request);
     }
 
@@ -93,7 +443,7 @@ public class ApiClient {
      * @throws IOException
      */
     public <T> T post(String api, Map<String, Object> body, Class<T> clazz) throws Exception {
-        var request = getBuilder(api).POST(paramFormatter(body)).build();
+        var request = postBuilder(api, body, true).build();
         return send(request, clazz);
     }
 
@@ -109,8 +459,7 @@ public class ApiClient {
      * @throws IOException
      */
     public <T> HttpResponse<String> post(String api, T body) throws Exception {
-        String jsonData = new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(body);
-        var request = getBuilder(api).POST(BodyPublishers.ofString(jsonData)).build();
+        var request = postBuilder(api, body, false).build();
         return send(request);
     }
 
@@ -127,8 +476,7 @@ public class ApiClient {
      * @throws IOException
      */
     public <T, R> R post(String api, T body, Class<R> clazz) throws Exception {
-        String jsonData = new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(body);
-        var request = getBuilder(api).POST(BodyPublishers.ofString(jsonData)).build();
+        var request = postBuilder(api, body, true).build();
         return send(request, clazz);
     }
 
@@ -142,10 +490,153 @@ public class ApiClient {
      * @throws Exception
      */
     public <T> BehaviorSubject<T> getAsync(String api, Class<T> clazz) throws Exception {
-        var request = getBuilder(api).GET().build();
+        var request = typedBuilder(api).GET().build();
+        if (coalescer != null) {
+            return toSubject(coalescedGet(request, clazz));
+        }
         return sendAsync(request, clazz);
     }
 
+    /**
+     * This will do a get on the passed in API. It will then cast the results to the
+     * passed in object. The body is deserialized on the decode executor, so the
+     * http client's threads are never blocked on parsing. The future fails with
+     * the error of the request and cancelling it will discard the response.
+     * 
+     * @param <T>   The object to cast the result as.
+     * @param api   The endpoint to hit.
+     * @param clazz The class to cast it too.
+     * @return {@link CompletableFuture} of the result.
+     */
+    public <T> CompletableFuture<T> getFuture(String api, Class<T> clazz) {
+        var request = typedBuilder(api).GET().build();
+        return coalescer != null ? coalescedGet(request, clazz) : exchange(request, clazz);
+    }
+
+    /**
+     * This will do a post on the passed in API. It will then cast the results to
+     * the passed in object. The body is deserialized on the decode executor. The
+     * future fails with the error of the request and cancelling it will discard
+     * the response.
+     * 
+     * @param <T>   The type of the body.
+     * @param <R>   The object to cast the result as.
+     * @param api   The endpoint to hit.
+     * @param body  The body to pass with the post request.
+     * @param clazz The class to cast it too.
+     * @return {@link CompletableFuture} of the result.
+     */
+    public <T, R> CompletableFuture<R> postFuture(String api, T body, Class<R> clazz) {
+        try {
+            return exchange(postBuilder(api, body, true).build(), clazz);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * This will do a get on the passed in API when subscribed too. The single
+     * emits the result or the error of the request, and unsubscribing will
+     * cancel it.
+     * 
+     * @param <T>   The object to cast the result as.
+     * @param api   The endpoint to hit.
+     * @param clazz The class to cast it too.
+     * @return {@link Single} of the result.
+     */
+    public <T> Single<T> getSingle(String api, Class<T> clazz) {
+        return toSingle(() -> getFuture(api, clazz));
+    }
+
+    /**
+     * This will do a post on the passed in API when subscribed too. The single
+     * emits the result or the error of the request, and unsubscribing will
+     * cancel it.
+     * 
+     * @param <T>   The type of the body.
+     * @param <R>   The object to cast the result as.
+     * @param api   The endpoint to hit.
+     * @param body  The body to pass with the post request.
+     * @param clazz The class to cast it too.
+     * @return {@link Single} of the result.
+     */
+    public <T, R> Single<R> postSingle(String api, T body, Class<R> clazz) {
+        return toSingle(() -> postFuture(api, body, clazz));
+    }
+
+    /**
+     * This will do a get on the passed in API that returns a json array. Each
+     * element of the array is emitted as soon as it has been read, so the full
+     * array is never held in memory. The request is sent on subscribe and
+     * elements are only parsed as they are requested. Unsubscribing will cancel
+     * the request.
+     * 
+     * <blockquote>
+     * 
+     * <pre>
+     * client.stream("/api/user-app/user-profile", User.class)
+     *         .subscribeOn(Schedulers.io())
+     *         .subscribe(user -> {
+     *         });
+     * </pre>
+     * 
+     * </blockquote>
+     * 
+     * @param <T>   The object type of each element.
+     * @param api   The endpoint to hit.
+     * @param clazz The class to cast each element too.
+     * @return {@link Observable} of the array elements.
+     */
+    public <T> Observable<T> stream(String api, Class<T> clazz) {
+        return Observable.create(new JsonArrayOnSubscribe<>(() -> {
+            var request = typedBuilder(api).GET().build();
+            HttpResponse<InputStream> response = execute(request, BodyHandlers.ofInputStream());
+            return Compression.decode(response.body(), Compression.encoding(response.headers()));
+        }, codecs, clazz));
+    }
+
+    /**
+     * This will walk the pages of a paginated endpoint and return a lazy iterator
+     * over their items. While the items of one page are consumed, the next pages
+     * are already fetched up to the prefetch of the pagination, so the network
+     * latency overlaps with the work on each item. Closing the iterator cancels
+     * the pages still being fetched. A failed page is thrown from
+     * {@link Iterator#hasNext()}. Pages are only fetched from the base url, so a
+     * next link to another host fails the page instead of sending the request
+     * headers, and with them the credentials, to that host.
+     * 
+     * @param <T>        The object type of each item.
+     * @param pagination The pagination of the endpoint.
+     * @param clazz      The class to cast each item too.
+     * @return {@link PageIterator} of the items.
+     */
+    public <T> PageIterator<T> iterate(Pagination pagination, Class<T> clazz) {
+        return new PageIterator<>(pagination, target -> {
+            URI uri = resolve(target);
+            if (!sameOrigin(uri)) {
+                return CompletableFuture.failedFuture(
+                        new IOException("Refusing to fetch page from another origin: " + uri));
+            }
+            return dispatch(typedBuilder(uri).GET().build(), new JsonBodyHandler<>(codecs, JsonNode.class));
+        }, codecs, clazz, decodeExecutor);
+    }
+
+    /**
+     * This will walk the pages of a paginated endpoint when subscribed too and
+     * emit their items. The next pages are fetched while the current one is being
+     * emitted, up to the prefetch of the pagination. Unsubscribing will cancel
+     * the pages still being fetched.
+     * 
+     * @param <T>        The object type of each item.
+     * @param pagination The pagination of the endpoint.
+     * @param clazz      The class to cast each item too.
+     * @return {@link Observable} of the items.
+     */
+    public <T> Observable<T> stream(Pagination pagination, Class<T> clazz) {
+        return Observable.using(() -> iterate(pagination, clazz), pages -> Observable.from(() -> pages),
+                PageIterator::close);
+    }
+
     /**
      * This will do a post on the passed in API. It will then cast the results to
      * the passed in object. It will wrap the data returned in a subject to watch
@@ -158,7 +649,7 @@ public class ApiClient {
      * @throws IOException
      */
     public BehaviorSubject<HttpResponse<String>> postAsync(String api, Map<String, Object> body) throws Exception {
-        var request = getBuilder(api).POST(paramFormatter(body)).build();
+        var request = postBuilder(api, body, false).build();
         return sendAsync(request);
     }
 
@@ -176,10 +667,88 @@ public class ApiClient {
      * @throws IOException
      */
     public <T> BehaviorSubject<T> postAsync(String api, Map<String, Object> body, Class<T> clazz) throws Exception {
-        var request = getBuilder(api).POST(paramFormatter(body)).build();
+        var request = postBuilder(api, body, true).build();
         return sendAsync(request, clazz);
     }
 
+    /**
+     * This will do a get on each of the passed in APIs with at most
+     * {@code maxConcurrency} requests in flight at once. The results are returned
+     * in the same order as the APIs. A failed request does not fail the batch,
+     * its error is reported in its {@link BatchResult} instead.
+     * 
+     * @param <T>            The object to cast the results as.
+     * @param apis           The endpoints to hit.
+     * @param clazz          The class to cast each result too.
+     * @param maxConcurrency The max number of requests in flight.
+     * @return {@link CompletableFuture} of the ordered results.
+     */
+    public <T> CompletableFuture<List<BatchResult<T>>> getAll(List<String> apis, Class<T> clazz, int maxConcurrency) {
+        return toFuture(streamAll(apis, clazz, maxConcurrency));
+    }
+
+    /**
+     * This will do a get on each of the passed in APIs with at most
+     * {@code maxConcurrency} requests in flight at once. Each result is emitted
+     * as soon as it and every result before it have completed, so they are
+     * emitted in the same order as the APIs.
+     * 
+     * @param <T>            The object to cast the results as.
+     * @param apis           The endpoints to hit.
+     * @param clazz          The class to cast each result too.
+     * @param maxConcurrency The max number of requests in flight.
+     * @return {@link Observable} of the ordered results.
+     */
+    public <T> Observable<BatchResult<T>> streamAll(List<String> apis, Class<T> clazz, int maxConcurrency) {
+        List<Callable<HttpRequest>> requests = new ArrayList<>(apis.size());
+        for (String api : apis) {
+            requests.add(() -> typedBuilder(api).GET().build());
+        }
+        return batch(requests, clazz, maxConcurrency);
+    }
+
+    /**
+     * This will do a post of each of the passed in bodies to the API with at most
+     * {@code maxConcurrency} requests in flight at once. The results are returned
+     * in the same order as the bodies. A failed request does not fail the batch,
+     * its error is reported in its {@link BatchResult} instead.
+     * 
+     * @param <T>            The type of the bodies.
+     * @param <R>            The object to cast the results as.
+     * @param api            The endpoint to hit.
+     * @param bodies         The bodies to post.
+     * @param clazz          The class to cast each result too.
+     * @param maxConcurrency The max number of requests in flight.
+     * @return {@link CompletableFuture} of the ordered results.
+     */
+    public <T, R> CompletableFuture<List<BatchResult<R>>> postAll(String api, List<T> bodies, Class<R> clazz,
+            int maxConcurrency) {
+        return toFuture(streamPostAll(api, bodies, clazz, maxConcurrency));
+    }
+
+    /**
+     * This will do a post of each of the passed in bodies to the API with at most
+     * {@code maxConcurrency} requests in flight at once. Each result is emitted
+     * as soon as it and every result before it have completed, so they are
+     * emitted in the same order as the bodies.
+     * 
+     * @param <T>            The type of the bodies.
+     * @param <R>            The object to cast the results as.
+     * @param api            The endpoint to hit.
+     * @param bodies         The bodies to post.
+     * @param clazz          The class to cast each result too.
+     * @param maxConcurrency The max number of requests in flight.
+     * @return {@link Observable} of the ordered results.
+     */
+    public <T, R> Observable<BatchResult<R>> streamPostAll(String api, List<T> bodies, Class<R> clazz,
+            int maxConcurrency) {
+        List<Callable<HttpRequest>> requests = new ArrayList<>(bodies.size());
+        for (T body : bodies) {
+            requests.add(() -> postBuilder(api, body, true).build());
+        }
+        return batch(requests, clazz, maxConcurrency);
+    }
+
     /**
      * This will perform the api call to send the request. It will than consume the
      * api and get the response. It will return the {@link HttpResponse} object that
@@ -190,7 +759,16 @@ public class ApiClient {
      * @throws Exception If the request could not be sent.
      */
     public HttpResponse<String> send(HttpRequest req) throws Exception {
-        return httpClient.send(req, BodyHandlers.ofString());
+        RequestTracer traces = tracer;
+        RequestTrace trace = traces != null ? traces.start(req) : null;
+        try {
+            HttpResponse<String> response = execute(req, traced(traces, trace, Compression.ofString()));
+            finish(traces, trace, null);
+            return response;
+        } catch (Exception e) {
+            finish(traces, trace, e);
+            throw e;
+        }
     }
 
     /**
@@ -205,7 +783,17 @@ public class ApiClient {
      * @throws Exception If the request could not be sent.
      */
     public <T> T send(HttpRequest req, Class<T> clazz) throws Exception {
-        return objectMapper.readValue(send(req).body(), clazz);
+        RequestTracer traces = tracer;
+        RequestTrace trace = traces != null ? traces.start(req) : null;
+        try {
+            T result = read(execute(req, traced(traces, trace, new JsonBodyHandler<>(codecs, clazz))).body(), clazz,
+                    trace);
+            finish(traces, trace, null);
+            return result;
+        } catch (Exception e) {
+            finish(traces, trace, e);
+            throw e;
+        }
     }
 
     /**
@@ -219,10 +807,25 @@ public class ApiClient {
      */
     public BehaviorSubject<HttpResponse<String>> sendAsync(HttpRequest req) throws Exception {
         BehaviorSubject<HttpResponse<String>> subject = BehaviorSubject.create();
-        httpClient.sendAsync(req, BodyHandlers.ofString()).whenComplete((response, error) -> subject.onNext(response));
+        dispatch(req, Compression.ofString()).whenComplete((response, error) -> subject.onNext(response));
         return subject;
     }
 
+    /**
+     * This will perform the api call to send the request asynchronously. Once the
+     * response is returned it will be cast to the passed in class data type on the
+     * decode executor. The future fails with the error of the request and
+     * cancelling it will discard the response.
+     * 
+     * @param <T>   The object to cast the result as.
+     * @param req   The request to send.
+     * @param clazz The class object.
+     * @return {@link CompletableFuture} of the result.
+     */
+    public <T> CompletableFuture<T> sendFuture(HttpRequest req, Class<T> clazz) {
+        return exchange(req, clazz);
+    }
+
     /**
      * This will perform the api call to send the request. It will than consume the
      * api and get the response. Once the response is returned it will then cast the
@@ -235,49 +838,883 @@ public class ApiClient {
      * @throws Exception If the request could not be sent.
      */
     public <T> BehaviorSubject<T> sendAsync(HttpRequest req, Class<T> clazz) throws Exception {
-        BehaviorSubject<T> subject = BehaviorSubject.create();
-        httpClient.sendAsync(req, BodyHandlers.ofString()).whenComplete((response, error) -> {
-            if (response != null) {
-                try {
-                    subject.onNext(objectMapper.readValue(response.body(), clazz));
-                } catch (Exception e) {
-                    subject.onNext(null);
-                }
-            } else {
-                subject.onNext(null);
+        return toSubject(exchange(req, clazz));
+    }
+
+    /**
+     * Sends the request and waits for the response. If a concurrency limiter is
+     * set, this will wait for a permit for the host before sending. If a
+     * resilience policy, circuit breaker or token cache is set, the request is
+     * sent through them.
+     * 
+     * @param <T>     The type of the response body.
+     * @param req     The request to send.
+     * @param handler The handler of the response body.
+     * @return {@link HttpResponse} of the request.
+     * @throws Exception If the request could not be sent.
+     */
+    private <T> HttpResponse<T> execute(HttpRequest req, BodyHandler<T> handler) throws Exception {
+        if (resiliencePolicy != null || circuitBreaker != null || tokenCache != null) {
+            return await(dispatch(req, handler));
+        }
+        if (limiter == null) {
+            return transmit(req, handler);
+        }
+
+        ConcurrencyLimiter.Permit permit = await(limiter.acquire(req.uri().getHost()));
+        boolean dropped = true;
+        try {
+            HttpResponse<T> response = transmit(req, handler);
+            dropped = isOverloaded(response);
+            return response;
+        } finally {
+            permit.release(dropped);
+        }
+    }
+
+    /**
+     * Sends the request asynchronously. If a token cache is set, the request is
+     * sent with a valid token and sent once more with a refreshed token if it is
+     * rejected as unauthorized. Requests made by the token provider itself are
+     * sent as is.
+     * 
+     * @param <T>     The type of the response body.
+     * @param req     The request to send.
+     * @param handler The handler of the response body.
+     * @return {@link CompletableFuture} of the response.
+     */
+    private <T> CompletableFuture<HttpResponse<T>> dispatch(HttpRequest req, BodyHandler<T> handler) {
+        TokenCache tokens = tokenCache;
+        if (tokens == null || tokens.isRefreshingThread()) {
+            return attempt(req, handler);
+        }
+
+        CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+        tokens.getToken().whenComplete((token, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+                return;
+            }
+            if (result.isDone()) {
+                return;
+            }
+
+            CompletableFuture<HttpResponse<T>> sent;
+            try {
+                sent = attempt(authorized(req, token), handler);
+            } catch (RuntimeException sendError) {
+                result.completeExceptionally(sendError);
+                return;
             }
+            result.whenComplete((response, e) -> {
+                if (e != null) {
+                    sent.cancel(true);
+                }
+            });
+            sent.whenComplete((response, e) -> {
+                if (e != null) {
+                    result.completeExceptionally(e);
+                } else if (response.statusCode() != 401) {
+                    if (!result.complete(response)) {
+                        close(response.body());
+                    }
+                } else {
+                    close(response.body());
+                    try {
+                        tokens.refresh(token.getValue()).whenComplete((fresh, refreshError) -> {
+                            if (refreshError != null) {
+                                result.completeExceptionally(refreshError);
+                            } else if (!result.isDone()) {
+                                try {
+                                    relay(attempt(authorized(req, fresh), handler), result);
+                                } catch (RuntimeException retryError) {
+                                    result.completeExceptionally(retryError);
+                                }
+                            }
+                        });
+                    } catch (RuntimeException refreshError) {
+                        result.completeExceptionally(refreshError);
+                    }
+                }
+            });
         });
-        return subject;
+        return result;
     }
 
     /**
-     * Get the default base builder object for making a request to the API;
+     * Sends the request asynchronously. If a resilience policy is set, each
+     * attempt of the request is sent through the policy.
      * 
-     * @param api The api to be hit.
-     * @return The builder instance.
+     * @param <T>     The type of the response body.
+     * @param req     The request to send.
+     * @param handler The handler of the response body.
+     * @return {@link CompletableFuture} of the response.
      */
-    private Builder getBuilder(String api) {
-        Builder httpBuilder = HttpRequest
-                .newBuilder(URI.create(BASE_URL + api))
-                .header("Content-Type", "application/json")
-                .header("accept", "application/json");
-        if (AUTH != null && !"".equals(this.AUTH.trim())) {
-            httpBuilder.header("Authorization", this.AUTH);
+    private <T> CompletableFuture<HttpResponse<T>> attempt(HttpRequest req, BodyHandler<T> handler) {
+        if (resiliencePolicy == null) {
+            return guardedSend(req, handler);
         }
-        return httpBuilder;
+        return resiliencePolicy.execute(req, attempt -> guardedSend(attempt, handler));
     }
 
     /**
-     * Format params into a body publisher.
+     * Sends the request asynchronously through the circuit breaker. If the
+     * breaker is open the returned future fails with a
+     * {@link CircuitBreakerOpenException} without sending the request.
      * 
-     * @param data The body to be formatted
-     * @return {@link BodyPublisher}
-     * @throws JsonProcessingException
+     * @param <T>     The type of the response body.
+     * @param req     The request to send.
+     * @param handler The handler of the response body.
+     * @return {@link CompletableFuture} of the response.
      */
-    private BodyPublisher paramFormatter(Map<String, Object> data) throws JsonProcessingException {
-        String requestBody = objectMapper
-                .writerWithDefaultPrettyPrinter()
-                .writeValueAsString(data);
-        return BodyPublishers.ofString(requestBody);
+    private <T> CompletableFuture<HttpResponse<T>> guardedSend(HttpRequest req, BodyHandler<T> handler) {
+        if (circuitBreaker == null) {
+            return limitedSend(req, handler);
+        }
+
+        CircuitBreaker.Permit permit;
+        try {
+            permit = circuitBreaker.acquire(req.uri());
+        } catch (CircuitBreakerOpenException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<HttpResponse<T>> sent = limitedSend(req, handler);
+        sent.whenComplete((response, error) -> {
+            if (sent.isCancelled()) {
+                permit.cancel();
+            } else {
+                permit.release(error != null || response.statusCode() >= 500);
+            }
+        });
+        return sent;
+    }
+
+    /**
+     * Sends the request asynchronously. If a concurrency limiter is set, the
+     * request is only sent once a permit for the host is available.
+     * 
+     * @param <T>     The type of the response body.
+     * @param req     The request to send.
+     * @param handler The handler of the response body.
+     * @return {@link CompletableFuture} of the response.
+     */
+    private <T> CompletableFuture<HttpResponse<T>> limitedSend(HttpRequest req, BodyHandler<T> handler) {
+        if (limiter == null) {
+            return transmitAsync(req, handler);
+        }
+
+        CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+        CompletableFuture<ConcurrencyLimiter.Permit> acquired = limiter.acquire(req.uri().getHost());
+        acquired.whenComplete((permit, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+                return;
+            }
+            if (result.isDone()) {
+                permit.release(false);
+                return;
+            }
+
+            CompletableFuture<HttpResponse<T>> sent;
+            try {
+                sent = transmitAsync(req, handler);
+            } catch (RuntimeException e) {
+                permit.release(true);
+                result.completeExceptionally(e);
+                return;
+            }
+            sent.whenComplete((response, e) -> permit.release(e != null ? !sent.isCancelled() : isOverloaded(response)));
+            relay(sent, result);
+        });
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                acquired.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Sends the request on the http client and waits for the response. The
+     * exchange is recorded to the metrics recorder.
+     * 
+     * @param <T>     The type of the response body.
+     * @param req     The request to send.
+     * @param handler The handler of the response body.
+     * @return {@link HttpResponse} of the request.
+     * @throws Exception If the request could not be sent.
+     */
+    private <T> HttpResponse<T> transmit(HttpRequest req, BodyHandler<T> handler) throws Exception {
+        try {
+            return httpClient.send(req, metered(req, negotiating(req, handler)));
+        } catch (IOException e) {
+            metrics.increment("api.errors " + endpoint(req));
+            throw e;
+        }
+    }
+
+    /**
+     * Sends the request on the http client asynchronously. The exchange is
+     * recorded to the metrics recorder. Cancelling the returned future aborts
+     * the exchange, and a response that still arrives is closed.
+     * 
+     * @param <T>     The type of the response body.
+     * @param req     The request to send.
+     * @param handler The handler of the response body.
+     * @return {@link CompletableFuture} of the response.
+     */
+    private <T> CompletableFuture<HttpResponse<T>> transmitAsync(HttpRequest req, BodyHandler<T> handler) {
+        CompletableFuture<HttpResponse<T>> raw = httpClient.sendAsync(req, metered(req, negotiating(req, handler)));
+        CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+        raw.whenComplete((response, error) -> {
+            if (error == null) {
+                if (!result.complete(response)) {
+                    close(response.body());
+                }
+            } else {
+                if (!result.isCancelled()) {
+                    metrics.increment("api.errors " + endpoint(req));
+                }
+                result.completeExceptionally(error);
+            }
+        });
+        if (ABORTS_EXCHANGE) {
+            result.whenComplete((response, error) -> {
+                if (result.isCancelled()) {
+                    raw.cancel(true);
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Completes the target with the outcome of the source. If the target is
+     * cancelled or fails first, the source is cancelled and a response it still
+     * produces is closed.
+     * 
+     * @param <T>    The type of the response body.
+     * @param source The future of the response.
+     * @param target The future to complete.
+     */
+    private <T> void relay(CompletableFuture<HttpResponse<T>> source, CompletableFuture<HttpResponse<T>> target) {
+        source.whenComplete((response, error) -> {
+            if (error != null) {
+                target.completeExceptionally(error);
+            } else if (!target.complete(response)) {
+                close(response.body());
+            }
+        });
+        target.whenComplete((response, error) -> {
+            if (error != null) {
+                source.cancel(true);
+            }
+        });
+    }
+
+    /**
+     * Wraps the body handler so the latency, status and bytes of the exchange are
+     * recorded. The bytes of the request body are recorded straight away.
+     * 
+     * @param <T>     The type of the response body.
+     * @param req     The request being sent.
+     * @param handler The handler of the response body.
+     * @return The {@link BodyHandler} to send the request with.
+     */
+    private <T> BodyHandler<T> metered(HttpRequest req, BodyHandler<T> handler) {
+        if (metrics == MetricsRecorder.NOOP) {
+            return handler;
+        }
+
+        String endpoint = endpoint(req);
+        long sent = req.bodyPublisher().map(BodyPublisher::contentLength).orElse(0L);
+        if (sent > 0) {
+            metrics.increment("api.bytes.out " + endpoint, sent);
+        }
+        return new MeteredBodyHandler<>(handler, metrics, endpoint);
+    }
+
+    /**
+     * Get the name of the endpoint of the request for metrics.
+     * 
+     * @param req The request.
+     * @return The method and path template of the request.
+     */
+    private String endpoint(HttpRequest req) {
+        return req.method() + " " + PathTemplate.of(req.uri().getPath());
+    }
+
+    /**
+     * Wraps the body handler so the response format is recorded for the host
+     * when binary negotiation is enabled. A host that answers a request accepting
+     * the binary format with binary data will also be sent binary bodies.
+     * 
+     * @param <T>     The type of the response body.
+     * @param req     The request being sent.
+     * @param handler The handler of the response body.
+     * @return The {@link BodyHandler} to send the request with.
+     */
+    private <T> BodyHandler<T> negotiating(HttpRequest req, BodyHandler<T> handler) {
+        if (!binaryFormat || !CodecRegistry.isBinary(req.headers().firstValue("accept").orElse(null))) {
+            return handler;
+        }
+
+        return info -> {
+            if (CodecRegistry.isBinary(info.headers().firstValue("Content-Type").orElse(null))) {
+                binaryHosts.add(req.uri().getHost());
+            } else if (info.statusCode() < 300) {
+                binaryHosts.remove(req.uri().getHost());
+            }
+            return handler.apply(info);
+        };
+    }
+
+    /**
+     * Get the request with the authorization of the token. The request is only
+     * copied if it was built with a different authorization.
+     * 
+     * @param req   The request to authorize.
+     * @param token The token to authorize it with.
+     * @return The authorized {@link HttpRequest}.
+     */
+    private HttpRequest authorized(HttpRequest req, AccessToken token) {
+        String auth = token.getValue();
+        if (auth == null || auth.equals(req.headers().firstValue("Authorization").orElse(null))) {
+            return req;
+        }
+
+        Builder builder = HttpRequest.newBuilder(req.uri())
+                .method(req.method(), req.bodyPublisher().orElse(BodyPublishers.noBody()))
+                .expectContinue(req.expectContinue());
+        req.timeout().ifPresent(builder::timeout);
+        req.version().ifPresent(builder::version);
+        req.headers().map().forEach((name, values) -> {
+            if (!"Authorization".equalsIgnoreCase(name)) {
+                values.forEach(value -> builder.header(name, value));
+            }
+        });
+        return builder.header("Authorization", auth).build();
+    }
+
+    /**
+     * Determines if the server responded that it is overloaded or failing.
+     * 
+     * @param response The response to check.
+     * @return If the status is 429 or a server error.
+     */
+    private boolean isOverloaded(HttpResponse<?> response) {
+        return response.statusCode() == 429 || response.statusCode() >= 500;
+    }
+
+    /**
+     * Sends the request asynchronously and reads the response body as the given
+     * class type on the decode executor once it arrives. Cancelling the returned
+     * future will discard the response, as will a decode executor that rejects
+     * the read.
+     * 
+     * @param <T>   The object to cast the result as.
+     * @param req   The request to send.
+     * @param clazz The class object.
+     * @return {@link CompletableFuture} of the read object.
+     */
+    private <T> CompletableFuture<T> exchange(HttpRequest req, Class<T> clazz) {
+        RequestTracer traces = tracer;
+        RequestTrace trace = traces != null ? traces.start(req) : null;
+        CompletableFuture<HttpResponse<Supplier<T>>> response = dispatch(req,
+                traced(traces, trace, new JsonBodyHandler<>(codecs, clazz)));
+        CompletableFuture<T> result = response.thenApplyAsync(res -> {
+            try {
+                return read(res.body(), clazz, trace);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, decodeExecutor);
+        if (trace != null) {
+            result.whenComplete((value, error) -> finish(traces, trace, error));
+        }
+
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                response.thenAccept(res -> close(res.body()));
+                response.cancel(true);
+            } else if (error != null) {
+                response.thenAccept(res -> close(res.body()));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Wraps the body handler so the arrival of the response headers is recorded
+     * in the trace.
+     * 
+     * @param <T>     The type of the response body.
+     * @param traces  The tracer of the request.
+     * @param trace   The trace of the request or null if it is not traced.
+     * @param handler The handler of the response body.
+     * @return The {@link BodyHandler} to send the request with.
+     */
+    private <T> BodyHandler<T> traced(RequestTracer traces, RequestTrace trace, BodyHandler<T> handler) {
+        if (trace == null) {
+            return handler;
+        }
+        return info -> {
+            traces.received(trace, info.statusCode());
+            return handler.apply(info);
+        };
+    }
+
+    /**
+     * Finishes the trace of a request, if it is traced.
+     * 
+     * @param traces The tracer of the request.
+     * @param trace  The trace of the request or null if it is not traced.
+     * @param error  The error the request failed with or null.
+     */
+    private void finish(RequestTracer traces, RequestTrace trace, Throwable error) {
+        if (trace != null) {
+            traces.finish(trace, error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error);
+        }
+    }
+
+    /**
+     * Closes a response body that will not be read.
+     * 
+     * @param body The body to close.
+     */
+    private void close(Object body) {
+        if (body instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) body).close();
+            } catch (Exception e) {
+                // Body is being thrown away.
+            }
+        }
+    }
+
+    /**
+     * Sends the get request through the in flight table so identical concurrent
+     * gets share one exchange.
+     * 
+     * @param <T>   The object to cast the result as.
+     * @param req   The request to send.
+     * @param clazz The class object.
+     * @return {@link CompletableFuture} of the read object.
+     */
+    private <T> CompletableFuture<T> coalescedGet(HttpRequest req, Class<T> clazz) {
+        String key = String.format("GET %s|%s|%s", req.uri(), authorization(), clazz.getName());
+        return coalescer.execute(key, () -> exchange(req, clazz));
+    }
+
+    /**
+     * Sends the batch of requests with at most {@code maxConcurrency} of them in
+     * flight. Requests are only built once they are about to be sent.
+     * 
+     * @param <T>            The object to cast the results as.
+     * @param requests       The requests to send.
+     * @param clazz          The class to cast each result too.
+     * @param maxConcurrency The max number of requests in flight.
+     * @return {@link Observable} of the ordered results.
+     */
+    private <T> Observable<BatchResult<T>> batch(List<Callable<HttpRequest>> requests, Class<T> clazz,
+            int maxConcurrency) {
+        return Observable.from(requests).concatMapEager(request -> Observable.<BatchResult<T>>create(emitter -> {
+            CompletableFuture<T> future;
+            try {
+                future = exchange(request.call(), clazz);
+            } catch (Exception e) {
+                emitter.onNext(BatchResult.failure(e));
+                emitter.onCompleted();
+                return;
+            }
+            emitter.setCancellation(() -> future.cancel(true));
+            future.whenComplete((result, error) -> {
+                emitter.onNext(error == null ? BatchResult.success(result) : BatchResult.failure(error));
+                emitter.onCompleted();
+            });
+        }, BackpressureMode.BUFFER), Math.max(requests.size(), 1), Math.max(maxConcurrency, 1));
+    }
+
+    /**
+     * Collects every item of the observable into a list.
+     * 
+     * @param <T>        The object type of the items.
+     * @param observable The observable to collect.
+     * @return {@link CompletableFuture} of the collected items.
+     */
+    private <T> CompletableFuture<List<T>> toFuture(Observable<T> observable) {
+        CompletableFuture<List<T>> future = new CompletableFuture<>();
+        observable.toList().subscribe(future::complete, future::completeExceptionally);
+        return future;
+    }
+
+    /**
+     * Creates a single that starts the future when subscribed too. Unsubscribing
+     * before it completes will cancel the future.
+     * 
+     * @param <T>    The object type of the result.
+     * @param future The supplier that starts the future.
+     * @return {@link Single} of the result.
+     */
+    <T> Single<T> toSingle(Supplier<CompletableFuture<T>> future) {
+        return Single.create(subscriber -> {
+            CompletableFuture<T> started = future.get();
+            subscriber.add(Subscriptions.create(() -> started.cancel(true)));
+            started.whenComplete((result, error) -> {
+                if (error != null) {
+                    subscriber.onError(error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause()
+                            : error);
+                } else {
+                    subscriber.onSuccess(result);
+                }
+            });
+        });
+    }
+
+    /**
+     * Wraps the future in a subject. The subject will emit null if the request
+     * fails.
+     * 
+     * @param <T>    The object type of the result.
+     * @param future The future to wrap.
+     * @return {@link BehaviorSubject} of the result.
+     */
+    private <T> BehaviorSubject<T> toSubject(CompletableFuture<T> future) {
+        BehaviorSubject<T> subject = BehaviorSubject.create();
+        future.whenComplete((result, error) -> subject.onNext(error == null ? result : null));
+        return subject;
+    }
+
+    /**
+     * Waits for the future to complete and returns its result. If the future
+     * fails, the cause of the failure is thrown.
+     * 
+     * @param <T>    The object type of the result.
+     * @param future The future to wait on.
+     * @return The result of the future.
+     * @throws Exception If the future failed.
+     */
+    private <T> T await(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof UncheckedIOException ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Performs a get through the response cache. A fresh entry is returned
+     * without going to the server. A stale entry is revalidated with a conditional
+     * request and served again if the server responds with not modified.
+     * 
+     * @param <T>   The object to cast the result as.
+     * @param api   The endpoint to hit.
+     * @param clazz The class to cast it too.
+     * @return The passed in object class.
+     * @throws Exception If the request could not be sent.
+     */
+    private <T> T cachedGet(String api, Class<T> clazz) throws Exception {
+        String key = BASE_URL + api + "|" + authorization();
+        ResponseCache.Entry entry = responseCache.get(key);
+        if (entry != null && entry.isFresh()) {
+            responseCache.recordHit(false);
+            return entry.decode(codecs, clazz);
+        }
+
+        Builder builder = typedBuilder(api).GET();
+        if (entry != null && entry.getETag() != null) {
+            builder.header("If-None-Match", entry.getETag());
+        }
+        if (entry != null && entry.getLastModified() != null) {
+            builder.header("If-Modified-Since", entry.getLastModified());
+        }
+
+        HttpResponse<byte[]> response = execute(builder.build(), BodyHandlers.ofByteArray());
+        if (entry != null && response.statusCode() == 304) {
+            entry.update(response.headers());
+            responseCache.recordHit(true);
+            return entry.decode(codecs, clazz);
+        }
+
+        responseCache.recordMiss();
+        byte[] body = Compression.decode(response.body(), Compression.encoding(response.headers()));
+        ResponseCache.Entry stored = responseCache.store(key, response, body);
+        return stored != null ? stored.decode(codecs, clazz) : codecs.readValue(body, clazz);
+    }
+
+    /**
+     * Reads the deferred response body and records the time it took. Any read
+     * failure is rethrown as the underlying {@link IOException}.
+     * 
+     * @param <T>   The object type of the body.
+     * @param body  The deferred body of the response.
+     * @param clazz The class the body is read as.
+     * @param trace The trace of the request or null if it is not traced.
+     * @return The read object.
+     * @throws IOException If the body could not be read.
+     */
+    private <T> T read(Supplier<T> body, Class<T> clazz, RequestTrace trace) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return body.get();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            metrics.recordTime("api.decode " + clazz.getSimpleName(), elapsed);
+            if (trace != null) {
+                trace.setDeserializeNanos(elapsed);
+            }
+        }
+    }
+
+    /**
+     * Get the authorization to send requests with. The cached token takes
+     * priority over the set authorization.
+     * 
+     * @return The authorization or null if there is none.
+     */
+    private String authorization() {
+        return tokenCache != null ? tokenCache.getAuthorization() : AUTH;
+    }
+
+    /**
+     * Creates the default configuration with the given codec registry.
+     * 
+     * @param codecs The codec registry to use.
+     * @return The {@link ApiClientConfig}.
+     */
+    private static ApiClientConfig codecConfig(CodecRegistry codecs) {
+        ApiClientConfig config = new ApiClientConfig();
+        config.setCodecRegistry(codecs);
+        return config;
+    }
+
+    /**
+     * Get the base url the apis are appended to.
+     * 
+     * @return The base url.
+     */
+    String getBaseUrl() {
+        return BASE_URL;
+    }
+
+    /**
+     * Get the codec registry bodies are read and written with.
+     * 
+     * @return The {@link CodecRegistry} of the client.
+     */
+    CodecRegistry getCodecRegistry() {
+        return codecs;
+    }
+
+    /**
+     * Get the headers every request gets that do not change per request.
+     * 
+     * @param typed If the response will be read as a class type.
+     * @return The names and values of the headers.
+     */
+    String[] prebuiltHeaders(boolean typed) {
+        List<String> headers = new ArrayList<>(List.of("Content-Type", "application/json", "accept",
+                typed && binaryFormat ? BINARY_ACCEPT : "application/json"));
+        if (compression) {
+            headers.add("Accept-Encoding");
+            headers.add(Compression.ACCEPT_ENCODING);
+        }
+        return headers.toArray(new String[0]);
+    }
+
+    /**
+     * Builds the request of a call plan. Only the authorization, timeout and body
+     * are added to the prebuilt headers.
+     * 
+     * @param uri          The filled in uri of the call.
+     * @param method       The http method of the call.
+     * @param headers      The prebuilt headers.
+     * @param body         The body to send.
+     * @param hasBody      If the call sends a body.
+     * @param typed        If the response will be read as a class type.
+     * @param writer       The resolved writer of the body or null.
+     * @param binaryWriter The resolved binary writer of the body or null.
+     * @return The built {@link HttpRequest}.
+     * @throws IOException If the body could not be written.
+     */
+    HttpRequest plannedRequest(URI uri, String method, String[] headers, Object body, boolean hasBody, boolean typed,
+            ObjectWriter writer, ObjectWriter binaryWriter) throws IOException {
+        if (tracer != null) {
+            tracer.begin(uri);
+        }
+        Builder httpBuilder = HttpRequest.newBuilder(uri).headers(headers);
+        String auth = authorization();
+        if (auth != null && !"".equals(auth.trim())) {
+            httpBuilder.header("Authorization", auth);
+        }
+        if (requestTimeout != null) {
+            httpBuilder.timeout(requestTimeout);
+        }
+        if (!hasBody) {
+            return httpBuilder.method(method, BodyPublishers.noBody()).build();
+        }
+        return withBody(httpBuilder, method, uri, body, typed, writer, binaryWriter).build();
+    }
+
+    /**
+     * Resolves the target of a request. Absolute urls are used as is, anything
+     * else is an api of the base url.
+     * 
+     * @param target The api or url to resolve.
+     * @return The {@link URI} of the target.
+     */
+    private URI resolve(String target) {
+        URI uri = URI.create(target);
+        return uri.isAbsolute() ? uri : URI.create(BASE_URL + target);
+    }
+
+    /**
+     * Checks if the uri has the same scheme, host and port as the base url.
+     * 
+     * @param uri The uri to check.
+     * @return True if the uri is on the origin of the base url.
+     */
+    private boolean sameOrigin(URI uri) {
+        URI base = URI.create(BASE_URL);
+        return uri.getScheme().equalsIgnoreCase(String.valueOf(base.getScheme()))
+                && uri.getHost() != null && uri.getHost().equalsIgnoreCase(base.getHost())
+                && port(uri) == port(base);
+    }
+
+    /**
+     * Get the port of the uri, or the default port of its scheme if it has none.
+     * 
+     * @param uri The uri to get the port of.
+     * @return The port of the uri.
+     */
+    private static int port(URI uri) {
+        if (uri.getPort() != -1) {
+            return uri.getPort();
+        }
+        return "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+    }
+
+    /**
+     * Get the default base builder object for making a request to the API;
+     * 
+     * @param api The api to be hit.
+     * @return The builder instance.
+     */
+    private Builder getBuilder(String api) {
+        return getBuilder(URI.create(BASE_URL + api));
+    }
+
+    /**
+     * Get the default base builder object for making a request to the uri.
+     * 
+     * @param uri The uri to be hit.
+     * @return The builder instance.
+     */
+    private Builder getBuilder(URI uri) {
+        if (tracer != null) {
+            tracer.begin(uri);
+        }
+        Builder httpBuilder = HttpRequest
+                .newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .header("accept", "application/json");
+        String auth = authorization();
+        if (auth != null && !"".equals(auth.trim())) {
+            httpBuilder.header("Authorization", auth);
+        }
+        if (compression) {
+            httpBuilder.header("Accept-Encoding", Compression.ACCEPT_ENCODING);
+        }
+        if (requestTimeout != null) {
+            httpBuilder.timeout(requestTimeout);
+        }
+        return httpBuilder;
+    }
+
+    /**
+     * Get the builder for a request whose response is read as a class type. If
+     * binary negotiation is enabled, the request will accept the binary format
+     * ahead of json.
+     * 
+     * @param api The api to be hit.
+     * @return The builder instance.
+     */
+    private Builder typedBuilder(String api) {
+        return typedBuilder(URI.create(BASE_URL + api));
+    }
+
+    /**
+     * Get the builder for a request to the uri whose response is read as a class
+     * type.
+     * 
+     * @param uri The uri to be hit.
+     * @return The builder instance.
+     */
+    private Builder typedBuilder(URI uri) {
+        Builder httpBuilder = getBuilder(uri);
+        if (binaryFormat) {
+            httpBuilder.setHeader("accept", BINARY_ACCEPT);
+        }
+        return httpBuilder;
+    }
+
+    /**
+     * Get the builder for posting the body to the API.
+     * 
+     * @param api   The api to be hit.
+     * @param body  The body to be posted.
+     * @param typed If the response will be read as a class type.
+     * @return The builder instance.
+     * @throws IOException If the body could not be written.
+     */
+    private Builder postBuilder(String api, Object body, boolean typed) throws IOException {
+        URI uri = URI.create(BASE_URL + api);
+        return withBody(typed ? typedBuilder(uri) : getBuilder(uri), "POST", uri, body, typed, null, null);
+    }
+
+    /**
+     * Writes the body of the request. The body is written as compact json, or in
+     * the binary format if the response is typed and the host has answered with
+     * binary data before. It is compressed with gzip if compression is enabled
+     * and the body is over the compression threshold.
+     * 
+     * @param httpBuilder  The builder of the request.
+     * @param method       The http method of the request.
+     * @param uri          The uri of the request.
+     * @param body         The body to write.
+     * @param typed        If the response will be read as a class type.
+     * @param writer       The writer of the body or null to resolve it.
+     * @param binaryWriter The binary writer of the body or null to resolve it.
+     * @return The builder instance.
+     * @throws IOException If the body could not be written.
+     */
+    private Builder withBody(Builder httpBuilder, String method, URI uri, Object body, boolean typed,
+            ObjectWriter writer, ObjectWriter binaryWriter) throws IOException {
+        long start = System.nanoTime();
+        byte[] data;
+        if (typed && binaryFormat && binaryHosts.contains(uri.getHost())) {
+            data = binaryWriter != null ? binaryWriter.writeValueAsBytes(body) : codecs.writeValueAsBinary(body);
+            httpBuilder.setHeader("Content-Type", CodecRegistry.SMILE_CONTENT_TYPE);
+        } else {
+            data = writer != null ? writer.writeValueAsBytes(body) : codecs.writeValueAsBytes(body);
+        }
+
+        if (compression && data.length >= compressionThreshold) {
+            data = Compression.gzip(data);
+            httpBuilder.header("Content-Encoding", "gzip");
+        }
+        if (tracer != null) {
+            tracer.serialized(System.nanoTime() - start);
+        }
+        return httpBuilder.method(method, BodyPublishers.ofByteArray(data));
     }
 }
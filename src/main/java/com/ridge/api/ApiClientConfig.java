@@ -0,0 +1,256 @@
+package com.ridge.api;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpClient.Version;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.ridge.mapper.CodecRegistry;
+
+/**
+ * Configuration of the {@link HttpClient} and codecs used by an
+ * {@link ApiClient}. Any setting that is not set keeps the default of the http
+ * client.
+ *
+ * <blockquote>
+ *
+ * <pre>
+ * ApiClientConfig config = new ApiClientConfig();
+ * config.setConnectTimeout(Duration.ofSeconds(2));
+ * config.setRequestTimeout(Duration.ofSeconds(10));
+ * config.setVirtualThreads(true);
+ * ApiClient client = new ApiClient("https://example.com", config);
+ * </pre>
+ *
+ * </blockquote>
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+public class ApiClientConfig {
+
+    private CodecRegistry codecs = CodecRegistry.getDefault();
+
+    private Version version = Version.HTTP_2;
+
+    private Duration connectTimeout;
+
+    private Duration requestTimeout;
+
+    private Executor executor;
+
+    private boolean virtualThreads;
+
+    private Executor decodeExecutor;
+
+    private int warmUpConnections;
+
+    private Class<?>[] warmUpClasses = new Class<?>[0];
+
+    public CodecRegistry getCodecRegistry() {
+        return codecs;
+    }
+
+    public void setCodecRegistry(CodecRegistry codecs) {
+        this.codecs = codecs;
+    }
+
+    public Version getVersion() {
+        return version;
+    }
+
+    /**
+     * Set the preferred http version. With HTTP/2 many concurrent requests to
+     * the same host are multiplexed over a single connection. The client falls
+     * back to HTTP/1.1 if the server does not support it.
+     *
+     * @param version The preferred version.
+     */
+    public void setVersion(Version version) {
+        this.version = version;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * Set the max time to wait for the response headers of each request.
+     *
+     * @param requestTimeout The request timeout or null for none.
+     */
+    public void setRequestTimeout(Duration requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Set the executor the http client runs async tasks and completions on. This
+     * takes priority over the virtual thread mode.
+     *
+     * @param executor The executor to use.
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Set if the http client should run its tasks on a new virtual thread per
+     * task. This only takes effect on a JDK that supports virtual threads, on
+     * older JDKs the default executor is used.
+     *
+     * @param virtualThreads If virtual threads should be used.
+     */
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Set the connection pool settings of the JDK http client for the whole JVM.
+     * This sets the {@code jdk.httpclient.connectionPoolSize} and
+     * {@code jdk.httpclient.keepalive.timeout} system properties. The JDK reads
+     * them once, when the first http client of the JVM is created, so this must
+     * be called before any http client is built, including ones outside this
+     * library. The values then apply to every http client in the JVM.
+     *
+     * @param maxPooledConnections The max number of idle HTTP/1.1 connections
+     *                             each http client keeps, across all hosts. Zero
+     *                             keeps the JDK default.
+     * @param keepAlive            How long an idle connection is kept for reuse,
+     *                             or null to keep the JDK default.
+     */
+    public static void setGlobalConnectionPool(int maxPooledConnections, Duration keepAlive) {
+        if (maxPooledConnections > 0) {
+            System.setProperty("jdk.httpclient.connectionPoolSize", String.valueOf(maxPooledConnections));
+        }
+        if (keepAlive != null) {
+            System.setProperty("jdk.httpclient.keepalive.timeout", String.valueOf(keepAlive.toSeconds()));
+        }
+    }
+
+    /**
+     * Get the executor response bodies are deserialized on. If none is set, a
+     * shared pool of daemon threads is used. The pool has two threads per
+     * processor, and at least eight, with a bounded queue. Once the queue is
+     * full, further bodies are rejected and their requests fail with a
+     * {@link java.util.concurrent.RejectedExecutionException}, so a body is never
+     * read on the thread that completed its response.
+     *
+     * @return The decode {@link Executor}.
+     */
+    public Executor getDecodeExecutor() {
+        return decodeExecutor != null ? decodeExecutor : DecodePool.INSTANCE;
+    }
+
+    /**
+     * Set the executor response bodies of async requests are deserialized on.
+     * Bodies are parsed as they stream in, so slow or large bodies occupy a
+     * thread of this executor instead of the http client's.
+     *
+     * @param decodeExecutor The executor to decode on.
+     */
+    public void setDecodeExecutor(Executor decodeExecutor) {
+        this.decodeExecutor = decodeExecutor;
+    }
+
+    public int getWarmUpConnections() {
+        return warmUpConnections;
+    }
+
+    public Class<?>[] getWarmUpClasses() {
+        return warmUpClasses;
+    }
+
+    /**
+     * Set the client to warm up as soon as it is created. The connections are
+     * opened to the base url and the readers and writers of the classes are
+     * resolved in the background, see {@link ApiClient#getWarmUp()}.
+     *
+     * @param connections The number of connections to open.
+     * @param classes     The classes that will be read and written.
+     */
+    public void setWarmUp(int connections, Class<?>... classes) {
+        this.warmUpConnections = connections;
+        this.warmUpClasses = classes;
+    }
+
+    /**
+     * Builds the http client from the configuration.
+     *
+     * @return The configured {@link HttpClient}.
+     */
+    HttpClient buildHttpClient() {
+        HttpClient.Builder builder = HttpClient.newBuilder().version(version);
+        if (connectTimeout != null) {
+            builder.connectTimeout(connectTimeout);
+        }
+
+        Executor clientExecutor = executor != null ? executor : virtualThreads ? virtualThreadExecutor() : null;
+        if (clientExecutor != null) {
+            builder.executor(clientExecutor);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates a virtual thread per task executor if the running JDK supports
+     * it.
+     *
+     * @return The {@link ExecutorService} or null if virtual threads are not
+     *         supported.
+     */
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Lazily created default pool for deserializing response bodies. Bodies are
+     * read as they stream in, so the pool is sized above the processor count to
+     * absorb slow bodies, but both its threads and its queue are bounded. Work
+     * that does not fit is rejected instead of blocking the completing thread.
+     */
+    private static class DecodePool {
+        private static final int THREADS = Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+
+        private static final int QUEUE_SIZE = 4096;
+
+        private static final ExecutorService INSTANCE = create();
+
+        private static ExecutorService create() {
+            AtomicInteger count = new AtomicInteger();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(THREADS, THREADS, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(QUEUE_SIZE), r -> {
+                        Thread thread = new Thread(r, "ridge-decode-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }, new ThreadPoolExecutor.AbortPolicy());
+            pool.allowCoreThreadTimeOut(true);
+            return pool;
+        }
+    }
+}
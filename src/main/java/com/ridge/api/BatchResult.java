@@ -0,0 +1,76 @@
+package com.ridge.api;
+
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Result of a single request in a batch. A batch does not fail as a whole, so
+ * each result either holds the read value or the error of its request.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+public class BatchResult<T> {
+
+    private final T value;
+
+    private final Throwable error;
+
+    private BatchResult(T value, Throwable error) {
+        this.value = value;
+        this.error = error;
+    }
+
+    /**
+     * Creates a successful result.
+     *
+     * @param <T>   The object type of the result.
+     * @param value The read value.
+     * @return {@link BatchResult} of the value.
+     */
+    public static <T> BatchResult<T> success(T value) {
+        return new BatchResult<>(value, null);
+    }
+
+    /**
+     * Creates a failed result. Completion wrappers are removed from the error.
+     *
+     * @param <T>   The object type of the result.
+     * @param error The error of the request.
+     * @return {@link BatchResult} of the error.
+     */
+    public static <T> BatchResult<T> failure(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof UncheckedIOException)
+                && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return new BatchResult<>(null, error);
+    }
+
+    /**
+     * Determines if the request completed successfully.
+     *
+     * @return If there is no error.
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * Get the read value of the request.
+     *
+     * @return The value or null if the request failed.
+     */
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * Get the error of the request.
+     *
+     * @return The error or null if the request succeeded.
+     */
+    public Throwable getError() {
+        return error;
+    }
+}
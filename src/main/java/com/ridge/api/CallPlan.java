@@ -0,0 +1,291 @@
+package com.ridge.api;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ridge.api.annotation.Body;
+import com.ridge.api.annotation.DELETE;
+import com.ridge.api.annotation.GET;
+import com.ridge.api.annotation.POST;
+import com.ridge.api.annotation.PUT;
+import com.ridge.api.annotation.Path;
+import com.ridge.api.annotation.Query;
+import com.ridge.mapper.CodecRegistry;
+
+import rx.Single;
+
+/**
+ * Precompiled plan of a single method of a rest interface. The path template is
+ * split into its literal segments once, the headers that do not change per
+ * call are prebuilt and the readers and writers of the body and response are
+ * resolved up front, so a call only fills the template and sends the request.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class CallPlan {
+
+    private enum Result {
+        VALUE, FUTURE, SINGLE, RESPONSE, NONE
+    }
+
+    private final ApiClient client;
+
+    private final String httpMethod;
+
+    private final String[] literals;
+
+    private final int[] pathArgs;
+
+    private final String[] queryNames;
+
+    private final int[] queryArgs;
+
+    private final int bodyArg;
+
+    private final Class<?> bodyClass;
+
+    private final ObjectWriter writer;
+
+    private final ObjectWriter binaryWriter;
+
+    private final Result result;
+
+    private final Class<?> responseClass;
+
+    private final String[] headers;
+
+    /**
+     * Compiles the plan of the interface method.
+     *
+     * @param client The client the calls are sent with.
+     * @param method The annotated interface method.
+     * @throws IllegalArgumentException If the method is not a valid rest method.
+     */
+    CallPlan(ApiClient client, Method method) {
+        this.client = client;
+
+        String template;
+        if (method.isAnnotationPresent(GET.class)) {
+            httpMethod = "GET";
+            template = method.getAnnotation(GET.class).value();
+        } else if (method.isAnnotationPresent(POST.class)) {
+            httpMethod = "POST";
+            template = method.getAnnotation(POST.class).value();
+        } else if (method.isAnnotationPresent(PUT.class)) {
+            httpMethod = "PUT";
+            template = method.getAnnotation(PUT.class).value();
+        } else if (method.isAnnotationPresent(DELETE.class)) {
+            httpMethod = "DELETE";
+            template = method.getAnnotation(DELETE.class).value();
+        } else {
+            throw new IllegalArgumentException("Method '" + method.getName() + "' has no http method annotation");
+        }
+
+        List<String> pathNames = new ArrayList<>();
+        List<Integer> paths = new ArrayList<>();
+        List<String> queries = new ArrayList<>();
+        List<Integer> queryIndexes = new ArrayList<>();
+        int body = -1;
+        Annotation[][] annotations = method.getParameterAnnotations();
+        for (int i = 0; i < annotations.length; i++) {
+            boolean bound = false;
+            for (Annotation annotation : annotations[i]) {
+                if (annotation instanceof Path) {
+                    pathNames.add(((Path) annotation).value());
+                    paths.add(i);
+                    bound = true;
+                } else if (annotation instanceof Query) {
+                    queries.add(URLEncoder.encode(((Query) annotation).value(), StandardCharsets.UTF_8));
+                    queryIndexes.add(i);
+                    bound = true;
+                } else if (annotation instanceof Body) {
+                    if (body >= 0 || "GET".equals(httpMethod)) {
+                        throw new IllegalArgumentException(
+                                "Method '" + method.getName() + "' is a GET or has more than one body");
+                    }
+                    body = i;
+                    bound = true;
+                }
+            }
+            if (!bound) {
+                throw new IllegalArgumentException(
+                        "Parameter " + i + " of method '" + method.getName() + "' is not annotated");
+            }
+        }
+
+        List<String> segments = new ArrayList<>();
+        int[] order = new int[countVariables(template)];
+        int start = 0;
+        for (int v = 0; v < order.length; v++) {
+            int open = template.indexOf('{', start);
+            int close = template.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException(
+                        "Path '" + template + "' of method '" + method.getName() + "' has an unclosed '{'");
+            }
+            segments.add(template.substring(start, open));
+            int index = pathNames.indexOf(template.substring(open + 1, close));
+            if (index < 0) {
+                throw new IllegalArgumentException("Path variable '" + template.substring(open + 1, close)
+                        + "' of method '" + method.getName() + "' has no parameter");
+            }
+            order[v] = paths.get(index);
+            start = close + 1;
+        }
+        segments.add(template.substring(start));
+        segments.set(0, client.getBaseUrl() + segments.get(0));
+
+        this.literals = segments.toArray(new String[0]);
+        this.pathArgs = order;
+        this.queryNames = queries.toArray(new String[0]);
+        this.queryArgs = queryIndexes.stream().mapToInt(Integer::intValue).toArray();
+        this.bodyArg = body;
+
+        Type returnType = method.getGenericReturnType();
+        Class<?> raw = rawClass(returnType);
+        if (raw == void.class || raw == Void.class) {
+            result = Result.NONE;
+            responseClass = null;
+        } else if (raw == HttpResponse.class) {
+            result = Result.RESPONSE;
+            responseClass = null;
+        } else if (raw == CompletableFuture.class || raw == Single.class) {
+            result = raw == Single.class ? Result.SINGLE : Result.FUTURE;
+            responseClass = returnType instanceof ParameterizedType
+                    ? rawClass(((ParameterizedType) returnType).getActualTypeArguments()[0])
+                    : Object.class;
+        } else {
+            result = Result.VALUE;
+            responseClass = raw;
+        }
+
+        CodecRegistry codecs = client.getCodecRegistry();
+        if (responseClass != null) {
+            codecs.reader(responseClass);
+            codecs.binaryReader(responseClass);
+        }
+        this.bodyClass = body >= 0 ? method.getParameterTypes()[body] : null;
+        boolean concrete = bodyClass != null && !bodyClass.isInterface() && bodyClass != Object.class;
+        this.writer = concrete ? codecs.writer(bodyClass) : null;
+        this.binaryWriter = concrete ? codecs.binaryWriter(bodyClass) : null;
+        this.headers = client.prebuiltHeaders(responseClass != null);
+    }
+
+    /**
+     * Sends the call with the given arguments.
+     *
+     * @param args The arguments of the interface method.
+     * @return The result of the call in the declared return type.
+     * @throws Exception If the request could not be sent.
+     */
+    Object invoke(Object[] args) throws Exception {
+        Object body = bodyArg >= 0 ? args[bodyArg] : null;
+        boolean exact = body != null && body.getClass() == bodyClass;
+        HttpRequest request = client.plannedRequest(uri(args), httpMethod, headers, body, bodyArg >= 0,
+                responseClass != null, exact ? writer : null, exact ? binaryWriter : null);
+        switch (result) {
+            case VALUE:
+                return client.send(request, responseClass);
+            case FUTURE:
+                return client.sendFuture(request, responseClass);
+            case SINGLE:
+                return client.toSingle(() -> client.sendFuture(request, responseClass));
+            case RESPONSE:
+                return client.send(request);
+            default:
+                client.send(request);
+                return null;
+        }
+    }
+
+    /**
+     * Fills the template and query parameters with the arguments.
+     *
+     * @param args The arguments of the interface method.
+     * @return The {@link URI} of the call.
+     */
+    private URI uri(Object[] args) {
+        StringBuilder builder = new StringBuilder(literals[0]);
+        for (int i = 0; i < pathArgs.length; i++) {
+            builder.append(URLEncoder.encode(String.valueOf(args[pathArgs[i]]), StandardCharsets.UTF_8)
+                    .replace("+", "%20")).append(literals[i + 1]);
+        }
+
+        char separator = builder.indexOf("?") >= 0 ? '&' : '?';
+        for (int i = 0; i < queryArgs.length; i++) {
+            Object value = args[queryArgs[i]];
+            if (value instanceof Iterable) {
+                for (Object element : (Iterable<?>) value) {
+                    separator = appendQuery(builder, separator, queryNames[i], element);
+                }
+            } else if (value != null && value.getClass().isArray()) {
+                for (int e = 0; e < Array.getLength(value); e++) {
+                    separator = appendQuery(builder, separator, queryNames[i], Array.get(value, e));
+                }
+            } else {
+                separator = appendQuery(builder, separator, queryNames[i], value);
+            }
+        }
+        return URI.create(builder.toString());
+    }
+
+    /**
+     * Appends the query parameter, unless the value is null.
+     *
+     * @param builder   The uri being built.
+     * @param separator The separator before the parameter.
+     * @param name      The encoded name of the parameter.
+     * @param value     The value of the parameter.
+     * @return The separator of the next parameter.
+     */
+    private static char appendQuery(StringBuilder builder, char separator, String name, Object value) {
+        if (value == null) {
+            return separator;
+        }
+        builder.append(separator).append(name).append('=')
+                .append(URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8));
+        return '&';
+    }
+
+    /**
+     * Counts the path variables in the template.
+     *
+     * @param template The path template.
+     * @return The number of variables.
+     */
+    private static int countVariables(String template) {
+        int count = 0;
+        for (int i = template.indexOf('{'); i >= 0; i = template.indexOf('{', i + 1)) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Get the raw class of the type.
+     *
+     * @param type The type.
+     * @return The raw {@link Class}.
+     */
+    private static Class<?> rawClass(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        } else if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        return Object.class;
+    }
+}
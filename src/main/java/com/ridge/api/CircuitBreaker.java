@@ -0,0 +1,385 @@
+package com.ridge.api;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import rx.Observable;
+import rx.subjects.PublishSubject;
+import rx.subjects.SerializedSubject;
+import rx.subjects.Subject;
+
+/**
+ * Circuit breaker that keeps a breaker per host, or per endpoint if enabled.
+ * Each breaker tracks the outcome of its most recent calls in a sliding window.
+ * Once the failure rate or slow call rate of the window passes its threshold
+ * the breaker opens and requests fail straight away with a
+ * {@link CircuitBreakerOpenException}. After the open duration a few trial
+ * requests are let through while half open. If they all succeed the breaker
+ * closes again, otherwise it goes back to open.
+ *
+ * <blockquote>
+ *
+ * <pre>
+ * CircuitBreaker breaker = new CircuitBreaker();
+ * breaker.onStateChange().subscribe(change -> {
+ * });
+ * client.setCircuitBreaker(breaker);
+ * </pre>
+ *
+ * </blockquote>
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+public class CircuitBreaker {
+
+    /**
+     * The states of a breaker.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static final int MAX_BREAKERS = 1024;
+
+    private int windowSize = 20;
+
+    private int minCalls = 10;
+
+    private double failureRateThreshold = 0.5;
+
+    private double slowCallRateThreshold = 1.0;
+
+    private long slowCallNanos = Duration.ofSeconds(5).toNanos();
+
+    private long openNanos = Duration.ofSeconds(30).toNanos();
+
+    private int halfOpenCalls = 3;
+
+    private boolean perEndpoint;
+
+    private final ConcurrentMap<String, Breaker> breakers = new ConcurrentHashMap<>();
+
+    private final Subject<StateChange, StateChange> stateChanges = new SerializedSubject<>(PublishSubject.create());
+
+    /**
+     * Set the number of recent calls the rates are calculated over and the min
+     * number of calls needed before the breaker can open.
+     *
+     * @param windowSize The size of the sliding window.
+     * @param minCalls   The min number of calls in the window.
+     */
+    public void setWindow(int windowSize, int minCalls) {
+        this.windowSize = Math.max(windowSize, 1);
+        this.minCalls = Math.min(Math.max(minCalls, 1), this.windowSize);
+    }
+
+    /**
+     * Set the rate of failed calls in the window that opens the breaker.
+     *
+     * @param failureRateThreshold The rate between 0 and 1.
+     */
+    public void setFailureRateThreshold(double failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+    }
+
+    /**
+     * Set the rate of slow calls in the window that opens the breaker and how
+     * long a call has to take to count as slow.
+     *
+     * @param slowCallRateThreshold The rate between 0 and 1.
+     * @param slowCallDuration      The duration of a slow call.
+     */
+    public void setSlowCallThreshold(double slowCallRateThreshold, Duration slowCallDuration) {
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = slowCallDuration.toNanos();
+    }
+
+    /**
+     * Set how long the breaker stays open before trial calls are let through.
+     *
+     * @param openDuration The open duration.
+     */
+    public void setOpenDuration(Duration openDuration) {
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Set the number of trial calls let through while half open.
+     *
+     * @param halfOpenCalls The number of trial calls.
+     */
+    public void setHalfOpenCalls(int halfOpenCalls) {
+        this.halfOpenCalls = Math.max(halfOpenCalls, 1);
+    }
+
+    /**
+     * Set if a breaker should be kept per endpoint instead of per host. Endpoints
+     * are keyed by host and path template, where path segments that look like
+     * identifiers are ignored, so {@code /users/1} and {@code /users/2} share a
+     * breaker. Once the max number of breakers is reached, new endpoints use the
+     * breaker of their host.
+     *
+     * @param perEndpoint If breakers are kept per endpoint.
+     */
+    public void setPerEndpoint(boolean perEndpoint) {
+        this.perEndpoint = perEndpoint;
+    }
+
+    /**
+     * Acquire a permit to send a request to the given uri.
+     *
+     * @param uri The uri the request is going too.
+     * @return The {@link Permit} to release once the request completes.
+     * @throws CircuitBreakerOpenException If the breaker is open.
+     */
+    public Permit acquire(URI uri) {
+        String key = uri.getHost();
+        if (perEndpoint) {
+            String endpoint = key + PathTemplate.of(uri.getPath());
+            if (breakers.containsKey(endpoint) || breakers.size() < MAX_BREAKERS) {
+                key = endpoint;
+            }
+        }
+        return breakers.computeIfAbsent(key, Breaker::new).acquire();
+    }
+
+    /**
+     * Get the state of the breaker for the given key.
+     *
+     * @param key The host, or host and path template if breakers are kept per
+     *            endpoint.
+     * @return The {@link State} of the breaker.
+     */
+    public State getState(String key) {
+        Breaker breaker = breakers.get(key);
+        return breaker == null ? State.CLOSED : breaker.getState();
+    }
+
+    /**
+     * Get the observable that emits every state change of every breaker.
+     *
+     * @return {@link Observable} of the state changes.
+     */
+    public Observable<StateChange> onStateChange() {
+        return stateChanges.asObservable();
+    }
+
+    /**
+     * A change of state of a single breaker.
+     */
+    public static class StateChange {
+        private final String key;
+
+        private final State from;
+
+        private final State to;
+
+        private StateChange(String key, State from, State to) {
+            this.key = key;
+            this.from = from;
+            this.to = to;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public State getFrom() {
+            return from;
+        }
+
+        public State getTo() {
+            return to;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %s -> %s", key, from, to);
+        }
+    }
+
+    /**
+     * Permit for a single request. It must be released exactly once when the
+     * request completes.
+     */
+    public class Permit {
+        private final Breaker owner;
+
+        private final int generation;
+
+        private final long start = System.nanoTime();
+
+        private boolean released;
+
+        private Permit(Breaker owner, int generation) {
+            this.owner = owner;
+            this.generation = generation;
+        }
+
+        /**
+         * Release the permit and record the outcome of the request.
+         *
+         * @param failed If the request failed.
+         */
+        public void release(boolean failed) {
+            synchronized (this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            owner.record(generation, failed, System.nanoTime() - start > slowCallNanos);
+        }
+
+        /**
+         * Release the permit of a request that was cancelled without recording an
+         * outcome. A cancelled trial call lets another trial call through.
+         */
+        public void cancel() {
+            synchronized (this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            owner.cancel(generation);
+        }
+    }
+
+    /**
+     * Breaker state of a single key.
+     */
+    private class Breaker {
+        private final String key;
+
+        private final byte[] outcomes = new byte[windowSize];
+
+        private int count;
+
+        private int next;
+
+        private int failures;
+
+        private int slowCalls;
+
+        private State state = State.CLOSED;
+
+        private long openedAt;
+
+        private int trialsStarted;
+
+        private int trialsDone;
+
+        private boolean trialFailed;
+
+        private int generation;
+
+        private Breaker(String key) {
+            this.key = key;
+        }
+
+        Permit acquire() {
+            StateChange change = null;
+            int current;
+            synchronized (this) {
+                if (state == State.OPEN) {
+                    if (System.nanoTime() - openedAt < openNanos) {
+                        throw new CircuitBreakerOpenException(key);
+                    }
+                    change = transition(State.HALF_OPEN);
+                }
+                if (state == State.HALF_OPEN) {
+                    if (trialsStarted >= halfOpenCalls) {
+                        publish(change);
+                        throw new CircuitBreakerOpenException(key);
+                    }
+                    trialsStarted++;
+                }
+                current = generation;
+            }
+            publish(change);
+            return new Permit(this, current);
+        }
+
+        void record(int permitGeneration, boolean failed, boolean slow) {
+            StateChange change = null;
+            synchronized (this) {
+                if (permitGeneration != generation) {
+                    return;
+                }
+                if (state == State.HALF_OPEN) {
+                    trialsDone++;
+                    trialFailed |= failed || slow;
+                    if (trialFailed) {
+                        change = transition(State.OPEN);
+                    } else if (trialsDone >= halfOpenCalls) {
+                        change = transition(State.CLOSED);
+                    }
+                } else if (state == State.CLOSED) {
+                    add(failed, slow);
+                    if (count >= minCalls && (failures >= failureRateThreshold * count
+                            || slowCalls >= slowCallRateThreshold * count)) {
+                        change = transition(State.OPEN);
+                    }
+                }
+            }
+            publish(change);
+        }
+
+        synchronized void cancel(int permitGeneration) {
+            if (permitGeneration == generation && state == State.HALF_OPEN) {
+                trialsStarted--;
+            }
+        }
+
+        synchronized State getState() {
+            return state;
+        }
+
+        /**
+         * Adds the outcome to the sliding window, replacing the oldest one once
+         * the window is full.
+         */
+        private void add(boolean failed, boolean slow) {
+            if (count == outcomes.length) {
+                failures -= outcomes[next] & 1;
+                slowCalls -= (outcomes[next] >> 1) & 1;
+            } else {
+                count++;
+            }
+            outcomes[next] = (byte) ((failed ? 1 : 0) | (slow ? 2 : 0));
+            failures += failed ? 1 : 0;
+            slowCalls += slow ? 1 : 0;
+            next = (next + 1) % outcomes.length;
+        }
+
+        /**
+         * Moves the breaker to the given state and resets the state it tracks.
+         * Permits acquired before the change will no longer be recorded. Must be
+         * called while holding the lock.
+         */
+        private StateChange transition(State to) {
+            StateChange change = new StateChange(key, state, to);
+            state = to;
+            generation++;
+            openedAt = System.nanoTime();
+            trialsStarted = 0;
+            trialsDone = 0;
+            trialFailed = false;
+            count = 0;
+            next = 0;
+            failures = 0;
+            slowCalls = 0;
+            return change;
+        }
+
+        private void publish(StateChange change) {
+            if (change != null) {
+                stateChanges.onNext(change);
+            }
+        }
+    }
+}
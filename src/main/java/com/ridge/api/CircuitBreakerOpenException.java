@@ -0,0 +1,21 @@
+package com.ridge.api;
+
+/**
+ * Thrown when a request is rejected because the circuit breaker for its
+ * endpoint is open.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+public class CircuitBreakerOpenException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates the exception for the given breaker key.
+     *
+     * @param key The key of the open breaker.
+     */
+    public CircuitBreakerOpenException(String key) {
+        super(String.format("Circuit breaker for '%s' is open", key));
+    }
+}
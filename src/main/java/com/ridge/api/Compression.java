@@ -0,0 +1,130 @@
+package com.ridge.api;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Helpers for the gzip and deflate content encodings of requests and
+ * responses. Responses are decoded based on their {@code Content-Encoding}
+ * header, so responses that were not compressed pass through untouched.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+public final class Compression {
+
+    /**
+     * The value sent in the {@code Accept-Encoding} header.
+     */
+    public static final String ACCEPT_ENCODING = "gzip, deflate";
+
+    private Compression() {
+    }
+
+    /**
+     * Get the content encoding of a response.
+     *
+     * @param headers The headers of the response.
+     * @return The encoding or null if the body is not encoded.
+     */
+    public static String encoding(HttpHeaders headers) {
+        return headers.firstValue("Content-Encoding").map(v -> v.trim().toLowerCase()).orElse(null);
+    }
+
+    /**
+     * Wraps the stream so it is decompressed as it is read.
+     *
+     * @param in       The stream of the response body.
+     * @param encoding The content encoding of the response.
+     * @return The decoded stream.
+     * @throws IOException If the stream could not be decoded.
+     */
+    public static InputStream decode(InputStream in, String encoding) throws IOException {
+        if ("gzip".equals(encoding) || "x-gzip".equals(encoding)) {
+            return new GZIPInputStream(in, 8192);
+        } else if ("deflate".equals(encoding)) {
+            return new InflaterInputStream(in);
+        }
+        return in;
+    }
+
+    /**
+     * Decompresses the body.
+     *
+     * @param body     The bytes of the response body.
+     * @param encoding The content encoding of the response.
+     * @return The decoded bytes.
+     * @throws IOException If the body could not be decoded.
+     */
+    public static byte[] decode(byte[] body, String encoding) throws IOException {
+        if (encoding == null || "identity".equals(encoding)) {
+            return body;
+        }
+        try (InputStream in = decode(new ByteArrayInputStream(body), encoding)) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Compresses the data with gzip.
+     *
+     * @param data The data to compress.
+     * @return The compressed bytes.
+     * @throws IOException If the data could not be compressed.
+     */
+    public static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(data.length / 4, 64));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Body handler that reads the body as a string, decompressing it first if it
+     * was encoded.
+     *
+     * @return The {@link BodyHandler} of the string body.
+     */
+    public static BodyHandler<String> ofString() {
+        return info -> BodySubscribers.mapping(BodySubscribers.ofByteArray(), body -> {
+            try {
+                return new String(decode(body, encoding(info.headers())), charset(info.headers()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Get the charset of the {@code Content-Type} header.
+     *
+     * @param headers The headers of the response.
+     * @return The charset, or UTF-8 if none is given.
+     */
+    private static Charset charset(HttpHeaders headers) {
+        String type = headers.firstValue("Content-Type").orElse("");
+        for (String param : type.split(";")) {
+            param = param.trim();
+            if (param.toLowerCase().startsWith("charset=")) {
+                try {
+                    return Charset.forName(param.substring(8).replace("\"", ""));
+                } catch (Exception e) {
+                    return StandardCharsets.UTF_8;
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+}
@@ -0,0 +1,222 @@
+package com.ridge.api;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Client side concurrency limiter that adapts the number of requests allowed in
+ * flight per host. The limit grows additively while requests succeed quickly
+ * and shrinks multiplicatively when a request fails or is slower than the slow
+ * call threshold (AIMD). Once a host is at its limit, new requests wait in a
+ * bounded queue and are rejected with a {@link RejectedExecutionException} once
+ * the queue is full.
+ *
+ * <blockquote>
+ *
+ * <pre>
+ * ApiClient client = new ApiClient("https://example.com");
+ * client.setConcurrencyLimiter(new ConcurrencyLimiter(10, 200, Duration.ofSeconds(2), 500));
+ * </pre>
+ *
+ * </blockquote>
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+public class ConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private static final int MIN_LIMIT = 1;
+
+    private final int initialLimit;
+
+    private final int maxLimit;
+
+    private final long slowCallNanos;
+
+    private final int maxQueueSize;
+
+    private final ConcurrentMap<String, HostLimit> hosts = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a limiter that starts at 20 requests per host, can grow to 200,
+     * treats calls slower than 2 seconds as overload and queues up to 1000
+     * requests per host.
+     */
+    public ConcurrencyLimiter() {
+        this(20, 200, Duration.ofSeconds(2), 1000);
+    }
+
+    /**
+     * Creates a limiter with the given settings.
+     *
+     * @param initialLimit      The number of requests allowed per host to start.
+     * @param maxLimit          The max number of requests allowed per host.
+     * @param slowCallThreshold Calls slower than this will shrink the limit.
+     * @param maxQueueSize      The max number of requests waiting per host. Zero
+     *                          will reject requests once the limit is hit.
+     */
+    public ConcurrencyLimiter(int initialLimit, int maxLimit, Duration slowCallThreshold, int maxQueueSize) {
+        this.initialLimit = Math.max(initialLimit, MIN_LIMIT);
+        this.maxLimit = Math.max(maxLimit, this.initialLimit);
+        this.slowCallNanos = slowCallThreshold.toNanos();
+        this.maxQueueSize = maxQueueSize;
+    }
+
+    /**
+     * Acquire a permit to send a request to the given host. The returned future
+     * completes once the request is allowed to be sent. It will fail with a
+     * {@link RejectedExecutionException} if the host is at its limit and its
+     * queue is full.
+     *
+     * @param host The host the request is going too.
+     * @return {@link CompletableFuture} of the permit.
+     */
+    public CompletableFuture<Permit> acquire(String host) {
+        return hosts.computeIfAbsent(host, h -> new HostLimit()).acquire();
+    }
+
+    /**
+     * Get the current limit for the given host.
+     *
+     * @param host The host to check.
+     * @return The number of requests allowed in flight.
+     */
+    public int getLimit(String host) {
+        HostLimit limit = hosts.get(host);
+        return limit == null ? initialLimit : limit.getLimit();
+    }
+
+    /**
+     * Get the number of requests in flight for the given host.
+     *
+     * @param host The host to check.
+     * @return The in flight count.
+     */
+    public int getInFlight(String host) {
+        HostLimit limit = hosts.get(host);
+        return limit == null ? 0 : limit.getInFlight();
+    }
+
+    /**
+     * Get the number of requests waiting for a permit for the given host.
+     *
+     * @param host The host to check.
+     * @return The queue depth.
+     */
+    public int getQueueDepth(String host) {
+        HostLimit limit = hosts.get(host);
+        return limit == null ? 0 : limit.getQueueDepth();
+    }
+
+    /**
+     * Permit for a single request. It must be released exactly once when the
+     * request completes.
+     */
+    public class Permit {
+        private final HostLimit owner;
+
+        private final long start = System.nanoTime();
+
+        private boolean released;
+
+        private Permit(HostLimit owner) {
+            this.owner = owner;
+        }
+
+        /**
+         * Release the permit and feed the outcome of the request into the limit.
+         *
+         * @param dropped If the request failed or was rejected by the server.
+         */
+        public void release(boolean dropped) {
+            synchronized (this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            owner.release(System.nanoTime() - start, dropped);
+        }
+    }
+
+    /**
+     * Limit state of a single host.
+     */
+    private class HostLimit {
+        private final Queue<CompletableFuture<Permit>> waiting = new ArrayDeque<>();
+
+        private double limit = initialLimit;
+
+        private int inFlight;
+
+        CompletableFuture<Permit> acquire() {
+            CompletableFuture<Permit> permit = new CompletableFuture<>();
+            synchronized (this) {
+                if (inFlight < (int) limit) {
+                    inFlight++;
+                } else if (waiting.size() < maxQueueSize) {
+                    waiting.add(permit);
+                    return permit;
+                } else {
+                    permit.completeExceptionally(new RejectedExecutionException(
+                            String.format("Concurrency limit of %d reached with %d queued", (int) limit, waiting.size())));
+                    return permit;
+                }
+            }
+            permit.complete(new Permit(this));
+            return permit;
+        }
+
+        void release(long latencyNanos, boolean dropped) {
+            synchronized (this) {
+                if (dropped || latencyNanos > slowCallNanos) {
+                    limit = Math.max(MIN_LIMIT, limit * BACKOFF_RATIO);
+                } else if (inFlight * 2 >= limit) {
+                    limit = Math.min(maxLimit, limit + 1 / limit);
+                }
+            }
+            handOff();
+        }
+
+        /**
+         * Frees the slot of a finished request and hands it to the next waiting
+         * request if the limit allows it. Waiters that were cancelled while queued
+         * are skipped.
+         */
+        private void handOff() {
+            CompletableFuture<Permit> next;
+            synchronized (this) {
+                inFlight--;
+                do {
+                    next = inFlight < (int) limit ? waiting.poll() : null;
+                } while (next != null && next.isDone());
+                if (next != null) {
+                    inFlight++;
+                }
+            }
+
+            if (next != null && !next.complete(new Permit(this))) {
+                handOff();
+            }
+        }
+
+        synchronized int getLimit() {
+            return (int) limit;
+        }
+
+        synchronized int getInFlight() {
+            return inFlight;
+        }
+
+        synchronized int getQueueDepth() {
+            return waiting.size();
+        }
+    }
+}
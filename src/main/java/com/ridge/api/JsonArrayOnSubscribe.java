@@ -0,0 +1,109 @@
+package com.ridge.api;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Callable;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.format.DataFormatDetector;
+import com.fasterxml.jackson.core.format.DataFormatMatcher;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.ridge.mapper.CodecRegistry;
+
+import rx.Observer;
+import rx.exceptions.Exceptions;
+import rx.observables.SyncOnSubscribe;
+
+/**
+ * On subscribe handler that reads a json array one element at a time from a
+ * response stream. Elements are only parsed when the subscriber requests them,
+ * so memory stays constant regardless of the size of the array. Unsubscribing
+ * closes the parser and the underlying stream, which cancels the exchange. The
+ * stream may be json or the binary Smile format, which is detected from its
+ * first bytes.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+public class JsonArrayOnSubscribe<T> extends SyncOnSubscribe<JsonParser, T> {
+
+    private final Callable<InputStream> opener;
+
+    private final CodecRegistry codecs;
+
+    private final ObjectReader reader;
+
+    /**
+     * Constructor for streaming the elements of the opened stream as the given
+     * class type.
+     *
+     * @param opener The callable that opens the response stream.
+     * @param codecs The codec registry to parse the stream with.
+     * @param clazz  The class type of each element.
+     */
+    public JsonArrayOnSubscribe(Callable<InputStream> opener, CodecRegistry codecs, Class<T> clazz) {
+        this.opener = opener;
+        this.codecs = codecs;
+        this.reader = codecs.reader(clazz);
+    }
+
+    @Override
+    protected JsonParser generateState() {
+        InputStream in = null;
+        JsonParser parser = null;
+        try {
+            in = opener.call();
+            DataFormatMatcher match = new DataFormatDetector(codecs.getMapper().getFactory(),
+                    codecs.getBinaryMapper().getFactory()).findFormat(in);
+            parser = match.hasMatch() ? match.createParserWithMatch()
+                    : codecs.getMapper().getFactory().createParser(match.getDataStream());
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new JsonMappingException("Expected a json array but found '" + parser.getCurrentToken() + "'");
+            }
+            return parser;
+        } catch (Exception e) {
+            close(parser);
+            close(in);
+            throw Exceptions.propagate(e);
+        }
+    }
+
+    @Override
+    protected JsonParser next(JsonParser parser, Observer<? super T> observer) {
+        try {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                observer.onCompleted();
+            } else {
+                observer.onNext(reader.<T>readValue(parser));
+            }
+        } catch (IOException e) {
+            observer.onError(e);
+        }
+        return parser;
+    }
+
+    @Override
+    protected void onUnsubscribe(JsonParser parser) {
+        close(parser);
+    }
+
+    /**
+     * Closes the parser or stream, if it was opened.
+     *
+     * @param closeable The parser or stream to close.
+     */
+    private static void close(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // Stream is already being torn down.
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.ridge.api;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.util.function.Supplier;
+
+import com.ridge.mapper.CodecRegistry;
+
+/**
+ * Body handler that binds the response body straight from the byte stream into
+ * the desired class type. The body is never collected into a {@link String}.
+ * Reading the stream is deferred until {@link Supplier#get()} is called so the
+ * blocking parse does not happen on the http client's executor. The supplied
+ * body is also {@link Closeable} so a response can be discarded unread.
+ * Responses with the binary Smile content type are read with the binary mapper.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+public class JsonBodyHandler<T> implements BodyHandler<Supplier<T>> {
+
+    private final CodecRegistry codecs;
+
+    private final Class<T> clazz;
+
+    /**
+     * Constructor for mapping the response body to the given class type.
+     *
+     * @param codecs The codec registry to read the body with.
+     * @param clazz  The class to cast the body too.
+     */
+    public JsonBodyHandler(CodecRegistry codecs, Class<T> clazz) {
+        this.codecs = codecs;
+        this.clazz = clazz;
+    }
+
+    @Override
+    public BodySubscriber<Supplier<T>> apply(ResponseInfo responseInfo) {
+        String encoding = Compression.encoding(responseInfo.headers());
+        boolean binary = CodecRegistry.isBinary(responseInfo.headers().firstValue("Content-Type").orElse(null));
+        return BodySubscribers.mapping(BodySubscribers.ofInputStream(), in -> new StreamBody(in, encoding, binary));
+    }
+
+    /**
+     * Deferred body that reads the stream once it is requested. It can be closed
+     * without being read if the response is discarded.
+     */
+    private class StreamBody implements Supplier<T>, Closeable {
+        private final InputStream in;
+
+        private final String encoding;
+
+        private final boolean binary;
+
+        private StreamBody(InputStream in, String encoding, boolean binary) {
+            this.in = in;
+            this.encoding = encoding;
+            this.binary = binary;
+        }
+
+        /**
+         * Reads the stream into the class type and closes it once done. Encoded
+         * bodies are decompressed as they are read and binary bodies are read with
+         * the binary mapper.
+         *
+         * @return The read object.
+         */
+        @Override
+        public T get() {
+            try (in) {
+                InputStream decoded = Compression.decode(in, encoding);
+                return binary ? codecs.readBinary(decoded, clazz) : codecs.readValue(decoded, clazz);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
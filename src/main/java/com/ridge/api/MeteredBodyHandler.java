@@ -0,0 +1,95 @@
+package com.ridge.api;
+
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+import com.ridge.metrics.MetricsRecorder;
+
+/**
+ * Body handler that records the latency, status and received bytes of a
+ * response before handing it to the wrapped handler. The latency is measured
+ * from the creation of the handler until the response headers arrive. The bytes
+ * are counted as they come off the wire, so compressed bodies count their
+ * compressed size.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+public class MeteredBodyHandler<T> implements BodyHandler<T> {
+
+    private final BodyHandler<T> handler;
+
+    private final MetricsRecorder metrics;
+
+    private final String endpoint;
+
+    private final long start = System.nanoTime();
+
+    /**
+     * Constructor for metering the responses of the endpoint.
+     *
+     * @param handler  The handler of the response body.
+     * @param metrics  The recorder to record to.
+     * @param endpoint The method and path template of the request.
+     */
+    public MeteredBodyHandler(BodyHandler<T> handler, MetricsRecorder metrics, String endpoint) {
+        this.handler = handler;
+        this.metrics = metrics;
+        this.endpoint = endpoint;
+    }
+
+    @Override
+    public BodySubscriber<T> apply(ResponseInfo responseInfo) {
+        metrics.recordTime("api.latency " + endpoint, System.nanoTime() - start);
+        metrics.increment("api.status " + endpoint + " " + responseInfo.statusCode());
+        return new CountingSubscriber(handler.apply(responseInfo));
+    }
+
+    /**
+     * Subscriber that counts the bytes passed to the wrapped subscriber.
+     */
+    private class CountingSubscriber implements BodySubscriber<T> {
+        private final BodySubscriber<T> subscriber;
+
+        private long bytes;
+
+        private CountingSubscriber(BodySubscriber<T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return subscriber.getBody();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscriber.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> item) {
+            for (ByteBuffer buffer : item) {
+                bytes += buffer.remaining();
+            }
+            subscriber.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            metrics.increment("api.bytes.in " + endpoint, bytes);
+            subscriber.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            metrics.increment("api.bytes.in " + endpoint, bytes);
+            subscriber.onComplete();
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.ridge.api;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.ridge.mapper.CodecRegistry;
+
+/**
+ * Lazy iterator over the items of a paginated endpoint. While the items of one
+ * page are being consumed, the pages after it are already being fetched and
+ * read, up to the prefetch of the {@link Pagination}. Closing the iterator
+ * cancels the pages that are still being fetched and aborts their requests.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+public class PageIterator<T> implements Iterator<T>, Closeable {
+
+    private final Pagination pagination;
+
+    private final Function<String, CompletableFuture<HttpResponse<Supplier<JsonNode>>>> sender;
+
+    private final ObjectReader reader;
+
+    private final Executor decodeExecutor;
+
+    private final Deque<CompletableFuture<Page<T>>> pages = new ArrayDeque<>();
+
+    private CompletableFuture<Page<T>> tail;
+
+    private Iterator<T> current = Collections.emptyIterator();
+
+    private boolean closed;
+
+    /**
+     * Constructor for iterating the pages of the pagination.
+     *
+     * @param pagination     The pagination of the endpoint.
+     * @param sender         The function that sends the get of a page target.
+     * @param codecs         The codec registry to read the items with.
+     * @param clazz          The class type of each item.
+     * @param decodeExecutor The executor pages are read on.
+     */
+    PageIterator(Pagination pagination, Function<String, CompletableFuture<HttpResponse<Supplier<JsonNode>>>> sender,
+            CodecRegistry codecs, Class<T> clazz, Executor decodeExecutor) {
+        this.pagination = pagination;
+        this.sender = sender;
+        this.reader = codecs.reader(clazz);
+        this.decodeExecutor = decodeExecutor;
+        fetch(pagination.first(), 0);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            CompletableFuture<Page<T>> next = poll();
+            if (next == null) {
+                return false;
+            }
+            current = await(next).items.iterator();
+            fill(false);
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    /**
+     * Cancels the pages that are still being fetched.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        pages.forEach(page -> page.cancel(true));
+        pages.clear();
+    }
+
+    /**
+     * Takes the next page to consume. If none has been prefetched, the page after
+     * the last one is fetched now.
+     *
+     * @return The next page or null if there are no more pages.
+     */
+    private synchronized CompletableFuture<Page<T>> poll() {
+        if (pages.isEmpty()) {
+            fill(true);
+        }
+        return pages.poll();
+    }
+
+    /**
+     * Starts fetching the page after the last fetched one, if it is known and
+     * fewer than the prefetch of pages are waiting to be consumed.
+     *
+     * @param demand If the page is needed now regardless of the prefetch.
+     */
+    private synchronized void fill(boolean demand) {
+        if (closed || tail == null || !tail.isDone() || tail.isCompletedExceptionally()
+                || (!demand && pages.size() >= pagination.getPrefetch())) {
+            return;
+        }
+        Page<T> page = tail.join();
+        if (page.next != null) {
+            fetch(page.next, page.index + 1);
+        }
+    }
+
+    /**
+     * Starts fetching the page. Once it has been read the page after it is
+     * prefetched if there is room.
+     *
+     * @param target The api or url of the page.
+     * @param index  The index of the page.
+     */
+    private synchronized void fetch(String target, int index) {
+        CompletableFuture<HttpResponse<Supplier<JsonNode>>> response = sender.apply(target);
+        CompletableFuture<Page<T>> page = response.thenApplyAsync(res -> read(res, index), decodeExecutor);
+        pages.add(page);
+        tail = page;
+        page.whenComplete((result, error) -> {
+            if (page.isCancelled()) {
+                response.thenAccept(res -> close(res.body()));
+                response.cancel(true);
+            } else if (error != null) {
+                response.thenAccept(res -> close(res.body()));
+            } else {
+                fill(false);
+            }
+        });
+    }
+
+    /**
+     * Reads the items and the next target of the page response.
+     *
+     * @param response The response of the page.
+     * @param index    The index of the page.
+     * @return The read {@link Page}.
+     */
+    private Page<T> read(HttpResponse<Supplier<JsonNode>> response, int index) {
+        if (response.statusCode() >= 300) {
+            close(response.body());
+            throw new CompletionException(
+                    new IOException("Page request to " + response.uri() + " failed with status " + response.statusCode()));
+        }
+
+        try {
+            JsonNode body = response.body().get();
+            JsonNode items = pagination.items(body);
+            if (!items.isArray()) {
+                throw new IOException("Expected a json array of items but found " + items.getNodeType());
+            }
+            List<T> values = new ArrayList<>(items.size());
+            for (JsonNode item : items) {
+                values.add(reader.readValue(item));
+            }
+            return new Page<>(values, pagination.next(index, body, values.size(), response.headers()), index);
+        } catch (UncheckedIOException e) {
+            throw new CompletionException(e.getCause());
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Waits for the page. If it failed, the cause of the failure is rethrown
+     * unchecked.
+     *
+     * @param page The page to wait on.
+     * @return The read {@link Page}.
+     */
+    private Page<T> await(CompletableFuture<Page<T>> page) {
+        try {
+            return page.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new CompletionException(e);
+        } catch (ExecutionException e) {
+            close();
+            Throwable cause = e.getCause() instanceof UncheckedIOException ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof IOException) {
+                throw new UncheckedIOException((IOException) cause);
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+
+    /**
+     * Closes a response body that will not be read.
+     *
+     * @param body The body to close.
+     */
+    private static void close(Object body) {
+        if (body instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) body).close();
+            } catch (Exception e) {
+                // Body is being thrown away.
+            }
+        }
+    }
+
+    /**
+     * Read page of items and the target of the page after it.
+     */
+    private static class Page<T> {
+        private final List<T> items;
+
+        private final String next;
+
+        private final int index;
+
+        private Page(List<T> items, String next, int index) {
+            this.items = items;
+            this.next = next;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.ridge.api;
+
+import java.net.URLEncoder;
+import java.net.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Describes how a paginated endpoint is walked by
+ * {@link ApiClient#iterate(Pagination, Class)}. Pages can be addressed by
+ * offset and limit, by page number, by a cursor returned in the body or by the
+ * {@code next} link of the {@code Link} header.
+ *
+ * <blockquote>
+ *
+ * <pre>
+ * Pagination pages = Pagination.offset("/api/user-app/user-profile", 100);
+ * pages.setPrefetch(2);
+ * client.stream(pages, User.class).subscribe(user -> {
+ * });
+ * </pre>
+ *
+ * </blockquote>
+ *
+ * Pages are expected to be a json array, unless an items field is set, in which
+ * case the items are read from that field of the page object.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+public class Pagination {
+
+    private enum Style {
+        OFFSET, PAGE, CURSOR, LINK
+    }
+
+    private final Style style;
+
+    private final String api;
+
+    private final int size;
+
+    private String itemsField;
+
+    private String cursorField;
+
+    private String offsetParam = "offset";
+
+    private String limitParam = "limit";
+
+    private String pageParam = "page";
+
+    private String sizeParam = "size";
+
+    private String cursorParam = "cursor";
+
+    private int firstPage = 1;
+
+    private int prefetch = 1;
+
+    private Pagination(Style style, String api, int size) {
+        this.style = style;
+        this.api = api;
+        this.size = size;
+    }
+
+    /**
+     * Pages addressed by the {@code offset} and {@code limit} query parameters.
+     * The last page is the first one with fewer items than the limit.
+     *
+     * @param api   The endpoint to hit.
+     * @param limit The number of items per page.
+     * @return {@link Pagination} of the endpoint.
+     */
+    public static Pagination offset(String api, int limit) {
+        return new Pagination(Style.OFFSET, api, limit);
+    }
+
+    /**
+     * Pages addressed by the {@code page} and {@code size} query parameters. The
+     * last page is the first one with fewer items than the size.
+     *
+     * @param api  The endpoint to hit.
+     * @param size The number of items per page.
+     * @return {@link Pagination} of the endpoint.
+     */
+    public static Pagination pages(String api, int size) {
+        return new Pagination(Style.PAGE, api, size);
+    }
+
+    /**
+     * Pages addressed by a cursor. Each page is an object holding its items and
+     * the cursor of the next page, which is sent back in the {@code cursor} query
+     * parameter. The last page has no cursor.
+     *
+     * @param api         The endpoint to hit.
+     * @param itemsField  The field of the page holding the items.
+     * @param cursorField The field of the page holding the next cursor.
+     * @return {@link Pagination} of the endpoint.
+     */
+    public static Pagination cursor(String api, String itemsField, String cursorField) {
+        Pagination pagination = new Pagination(Style.CURSOR, api, 0);
+        pagination.itemsField = itemsField;
+        pagination.cursorField = cursorField;
+        return pagination;
+    }
+
+    /**
+     * Pages linked by the {@code next} relation of the {@code Link} header. The
+     * last page has no next link.
+     *
+     * @param api The endpoint of the first page.
+     * @return {@link Pagination} of the endpoint.
+     */
+    public static Pagination links(String api) {
+        return new Pagination(Style.LINK, api, 0);
+    }
+
+    /**
+     * Set the field of the page object the items are read from. If none is set
+     * the page itself must be the array of items.
+     *
+     * @param itemsField The field holding the items.
+     */
+    public void setItemsField(String itemsField) {
+        this.itemsField = itemsField;
+    }
+
+    /**
+     * Set the names of the offset and limit query parameters.
+     *
+     * @param offsetParam The name of the offset parameter.
+     * @param limitParam  The name of the limit parameter.
+     */
+    public void setOffsetParams(String offsetParam, String limitParam) {
+        this.offsetParam = offsetParam;
+        this.limitParam = limitParam;
+    }
+
+    /**
+     * Set the names of the page number and page size query parameters.
+     *
+     * @param pageParam The name of the page number parameter.
+     * @param sizeParam The name of the page size parameter.
+     */
+    public void setPageParams(String pageParam, String sizeParam) {
+        this.pageParam = pageParam;
+        this.sizeParam = sizeParam;
+    }
+
+    /**
+     * Set the name of the query parameter the cursor is sent in.
+     *
+     * @param cursorParam The name of the cursor parameter.
+     */
+    public void setCursorParam(String cursorParam) {
+        this.cursorParam = cursorParam;
+    }
+
+    /**
+     * Set the number of the first page. Defaults to 1.
+     *
+     * @param firstPage The number of the first page.
+     */
+    public void setFirstPage(int firstPage) {
+        this.firstPage = firstPage;
+    }
+
+    public int getPrefetch() {
+        return prefetch;
+    }
+
+    /**
+     * Set how many pages are fetched ahead of the page being consumed. Zero will
+     * only fetch a page once the one before it has been consumed.
+     *
+     * @param prefetch The number of pages to fetch ahead.
+     */
+    public void setPrefetch(int prefetch) {
+        this.prefetch = Math.max(prefetch, 0);
+    }
+
+    /**
+     * Get the target of the first page.
+     *
+     * @return The api of the first page.
+     */
+    String first() {
+        switch (style) {
+            case OFFSET:
+                return query(api, offsetParam, "0", limitParam, String.valueOf(size));
+            case PAGE:
+                return query(api, pageParam, String.valueOf(firstPage), sizeParam, String.valueOf(size));
+            default:
+                return api;
+        }
+    }
+
+    /**
+     * Get the target of the page after the given one.
+     *
+     * @param index   The index of the page, starting at zero.
+     * @param body    The body of the page.
+     * @param count   The number of items on the page.
+     * @param headers The headers of the page response.
+     * @return The api or url of the next page, or null if it was the last page.
+     */
+    String next(int index, JsonNode body, int count, HttpHeaders headers) {
+        switch (style) {
+            case OFFSET:
+                return count < size ? null
+                        : query(api, offsetParam, String.valueOf((long) (index + 1) * size), limitParam,
+                                String.valueOf(size));
+            case PAGE:
+                return count < size ? null
+                        : query(api, pageParam, String.valueOf(firstPage + index + 1), sizeParam, String.valueOf(size));
+            case CURSOR:
+                JsonNode cursor = body.path(cursorField);
+                return cursor.isNull() || cursor.isMissingNode() || cursor.asText().isEmpty() ? null
+                        : query(api, cursorParam, cursor.asText());
+            default:
+                return nextLink(headers);
+        }
+    }
+
+    /**
+     * Get the items of the page.
+     *
+     * @param body The body of the page.
+     * @return The {@link JsonNode} array of the items.
+     */
+    JsonNode items(JsonNode body) {
+        return itemsField == null ? body : body.path(itemsField);
+    }
+
+    /**
+     * Finds the url of the {@code next} relation in the {@code Link} headers.
+     *
+     * @param headers The headers of the page response.
+     * @return The next url or null if there is none.
+     */
+    private static String nextLink(HttpHeaders headers) {
+        for (String header : headers.allValues("Link")) {
+            for (String link : header.split(",")) {
+                int start = link.indexOf('<');
+                int end = link.indexOf('>');
+                if (start < 0 || end < start) {
+                    continue;
+                }
+                for (String param : link.substring(end + 1).split(";")) {
+                    String[] pair = param.trim().split("=", 2);
+                    if (pair.length == 2 && "rel".equalsIgnoreCase(pair[0].trim())) {
+                        for (String rel : pair[1].replace("\"", "").trim().split("\\s+")) {
+                            if ("next".equalsIgnoreCase(rel)) {
+                                return link.substring(start + 1, end).trim();
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Appends the query parameters to the api.
+     *
+     * @param api    The api to append to.
+     * @param params The names and values of the parameters.
+     * @return The api with the query parameters.
+     */
+    private static String query(String api, String... params) {
+        StringBuilder builder = new StringBuilder(api);
+        char separator = api.contains("?") ? '&' : '?';
+        for (int i = 0; i < params.length; i += 2) {
+            builder.append(separator).append(URLEncoder.encode(params[i], StandardCharsets.UTF_8)).append('=')
+                    .append(URLEncoder.encode(params[i + 1], StandardCharsets.UTF_8));
+            separator = '&';
+        }
+        return builder.toString();
+    }
+}
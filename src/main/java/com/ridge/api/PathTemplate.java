@@ -0,0 +1,66 @@
+package com.ridge.api;
+
+/**
+ * Reduces request paths to a template by replacing the segments that look like
+ * identifiers with {@code {}}, so {@code /users/123/orders} and
+ * {@code /users/456/orders} share the template {@code /users/{}/orders}. A
+ * segment is treated as an identifier if it is numeric, or if it contains a
+ * digit and is at least 8 characters long, which covers uuids and hashes.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+final class PathTemplate {
+
+    private static final int MIN_ID_LENGTH = 8;
+
+    private PathTemplate() {
+    }
+
+    /**
+     * Get the template of the path.
+     *
+     * @param path The path of a request.
+     * @return The path with its identifier segments replaced.
+     */
+    static String of(String path) {
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+
+        StringBuilder template = new StringBuilder(path.length());
+        int start = 0;
+        while (start <= path.length()) {
+            int end = path.indexOf('/', start);
+            end = end < 0 ? path.length() : end;
+            String segment = path.substring(start, end);
+            template.append(isIdentifier(segment) ? "{}" : segment);
+            if (end < path.length()) {
+                template.append('/');
+            }
+            start = end + 1;
+        }
+        return template.toString();
+    }
+
+    /**
+     * Determines if the path segment looks like an identifier.
+     *
+     * @param segment The path segment.
+     * @return If the segment should be replaced in the template.
+     */
+    private static boolean isIdentifier(String segment) {
+        if (segment.isEmpty()) {
+            return false;
+        }
+
+        boolean digit = false;
+        boolean numeric = true;
+        for (int i = 0; i < segment.length(); i++) {
+            boolean isDigit = Character.isDigit(segment.charAt(i));
+            digit |= isDigit;
+            numeric &= isDigit;
+        }
+        return numeric || (digit && segment.length() >= MIN_ID_LENGTH);
+    }
+}
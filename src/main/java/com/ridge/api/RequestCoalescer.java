@@ -0,0 +1,134 @@
+package com.ridge.api;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * In flight request table that lets concurrent identical requests share a
+ * single exchange. The first caller for a key starts the exchange and every
+ * caller that arrives while it is still running gets the same future. The entry
+ * is dropped as soon as the exchange completes, so later calls go to the server
+ * again. Each caller gets its own copy of the shared future, so one caller
+ * completing or cancelling it does not affect the others. Once every caller
+ * has cancelled its copy the exchange itself is cancelled, and the next call
+ * for the key starts a new one.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+public class RequestCoalescer {
+
+    private final ConcurrentMap<String, InFlight<?>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Joins the in flight exchange for the given key or starts a new one with the
+     * passed in supplier if there is none.
+     *
+     * @param <T>      The result type of the exchange.
+     * @param key      The key identifying the request.
+     * @param exchange The supplier that starts the exchange.
+     * @return {@link CompletableFuture} completed by the shared exchange.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> execute(String key, Supplier<CompletableFuture<T>> exchange) {
+        InFlight<T> entry = new InFlight<>();
+        while (true) {
+            InFlight<T> existing = (InFlight<T>) inFlight.putIfAbsent(key, entry);
+            if (existing == null) {
+                break;
+            }
+            if (existing.join()) {
+                return existing.copy(key);
+            }
+            inFlight.remove(key, existing);
+        }
+
+        entry.join();
+        try {
+            entry.exchange = exchange.get();
+            entry.exchange.whenComplete((result, error) -> {
+                inFlight.remove(key, entry);
+                if (error != null) {
+                    entry.promise.completeExceptionally(error);
+                } else {
+                    entry.promise.complete(result);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, entry);
+            entry.promise.completeExceptionally(e);
+        }
+        return entry.copy(key);
+    }
+
+    /**
+     * Get the number of exchanges that are currently in flight.
+     *
+     * @return The in flight count.
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Shared exchange of a key and the number of callers still waiting on it.
+     *
+     * @param <T> The result type of the exchange.
+     */
+    private class InFlight<T> {
+        private final CompletableFuture<T> promise = new CompletableFuture<>();
+
+        private volatile CompletableFuture<T> exchange;
+
+        private int callers;
+
+        private boolean abandoned;
+
+        /**
+         * Adds a caller, unless every earlier caller has already cancelled.
+         *
+         * @return True if the caller was added.
+         */
+        private synchronized boolean join() {
+            if (abandoned) {
+                return false;
+            }
+            callers++;
+            return true;
+        }
+
+        /**
+         * Hands a caller its own copy of the shared future. Cancelling the last
+         * copy that is still waiting cancels the exchange.
+         *
+         * @param key The key of the exchange.
+         * @return The copy of the caller.
+         */
+        private CompletableFuture<T> copy(String key) {
+            CompletableFuture<T> copy = promise.copy();
+            copy.whenComplete((result, error) -> {
+                if (copy.isCancelled() && leave()) {
+                    inFlight.remove(key, this);
+                    promise.cancel(true);
+                    if (exchange != null) {
+                        exchange.cancel(true);
+                    }
+                }
+            });
+            return copy;
+        }
+
+        /**
+         * Removes a caller that cancelled its copy.
+         *
+         * @return True if it was the last caller.
+         */
+        private synchronized boolean leave() {
+            callers--;
+            abandoned = callers == 0 && !promise.isDone();
+            return abandoned;
+        }
+    }
+}
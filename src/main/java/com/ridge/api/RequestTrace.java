@@ -0,0 +1,170 @@
+package com.ridge.api;
+
+import java.time.Instant;
+
+/**
+ * Timings of the phases of a single traced request. Durations are in
+ * nanoseconds. A phase the request did not go through has a duration of zero,
+ * for example the serialize phase of a get.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+public class RequestTrace {
+
+    private final String method;
+
+    private final String uri;
+
+    private final Instant startedAt;
+
+    private final long buildStart;
+
+    private long networkStart;
+
+    private long buildNanos;
+
+    private long serializeNanos;
+
+    private long networkNanos;
+
+    private long deserializeNanos;
+
+    private long totalNanos;
+
+    private int status;
+
+    private Throwable error;
+
+    RequestTrace(String method, String uri, Instant startedAt, long buildStart) {
+        this.method = method;
+        this.uri = uri;
+        this.startedAt = startedAt;
+        this.buildStart = buildStart;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * Get the time spent building the request, not counting serializing the
+     * body.
+     *
+     * @return The build time in nanoseconds.
+     */
+    public long getBuildNanos() {
+        return buildNanos;
+    }
+
+    /**
+     * Get the time spent writing the request body.
+     *
+     * @return The serialize time in nanoseconds.
+     */
+    public long getSerializeNanos() {
+        return serializeNanos;
+    }
+
+    /**
+     * Get the time from handing the request to the http client until the
+     * response headers arrived. This includes waiting on the concurrency limiter
+     * and any retries.
+     *
+     * @return The network time in nanoseconds.
+     */
+    public long getNetworkNanos() {
+        return networkNanos;
+    }
+
+    /**
+     * Get the time spent reading the response body into the result.
+     *
+     * @return The deserialize time in nanoseconds.
+     */
+    public long getDeserializeNanos() {
+        return deserializeNanos;
+    }
+
+    /**
+     * Get the time from building the request until the result was read.
+     *
+     * @return The total time in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Get the status of the response.
+     *
+     * @return The status, or zero if no response was received.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Get the error the request failed with.
+     *
+     * @return The error or null if the request succeeded.
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    long getBuildStart() {
+        return buildStart;
+    }
+
+    long getNetworkStart() {
+        return networkStart;
+    }
+
+    void setNetworkStart(long networkStart) {
+        this.networkStart = networkStart;
+    }
+
+    void setBuildNanos(long buildNanos) {
+        this.buildNanos = buildNanos;
+    }
+
+    void setSerializeNanos(long serializeNanos) {
+        this.serializeNanos = serializeNanos;
+    }
+
+    void setNetworkNanos(long networkNanos) {
+        this.networkNanos = networkNanos;
+    }
+
+    void setDeserializeNanos(long deserializeNanos) {
+        this.deserializeNanos = deserializeNanos;
+    }
+
+    void setTotalNanos(long totalNanos) {
+        this.totalNanos = totalNanos;
+    }
+
+    void setStatus(int status) {
+        this.status = status;
+    }
+
+    void setError(Throwable error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s status=%d build=%.3fms serialize=%.3fms network=%.3fms deserialize=%.3fms "
+                + "total=%.3fms%s", method, uri, status, buildNanos / 1e6, serializeNanos / 1e6, networkNanos / 1e6,
+                deserializeNanos / 1e6, totalNanos / 1e6, error != null ? " error=" + error : "");
+    }
+}
@@ -0,0 +1,200 @@
+package com.ridge.api;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Records the time each phase of sampled requests takes: building the request,
+ * serializing its body, waiting on the network and deserializing the response.
+ * The most recent traces are kept in a lock free ring buffer and every trace is
+ * passed to the listener, if one is set.
+ *
+ * <blockquote>
+ *
+ * <pre>
+ * RequestTracer tracer = new RequestTracer(512, 0.01);
+ * tracer.setListener(trace -> {
+ *     if (trace.getTotalNanos() > 500_000_000) {
+ *         LOGGER.warn("Slow request {}", trace);
+ *     }
+ * });
+ * client.setRequestTracer(tracer);
+ * </pre>
+ *
+ * </blockquote>
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+public class RequestTracer {
+
+    private final ThreadLocal<Pending> pending = new ThreadLocal<>();
+
+    private final AtomicReferenceArray<RequestTrace> traces;
+
+    private final AtomicLong next = new AtomicLong();
+
+    private final double sampleRate;
+
+    private volatile Consumer<RequestTrace> listener;
+
+    /**
+     * Creates a tracer that traces every request and keeps the last 256.
+     */
+    public RequestTracer() {
+        this(256, 1);
+    }
+
+    /**
+     * Creates a tracer that traces the given fraction of requests.
+     *
+     * @param capacity   The number of recent traces to keep.
+     * @param sampleRate The fraction of requests to trace, between 0 and 1.
+     */
+    public RequestTracer(int capacity, double sampleRate) {
+        this.traces = new AtomicReferenceArray<>(Math.max(capacity, 1));
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Set the listener that is called with every finished trace. It is called on
+     * the thread that finished the request, so it should not block.
+     *
+     * @param listener The listener to call or null for none.
+     */
+    public void setListener(Consumer<RequestTrace> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Get the most recent traces, newest first.
+     *
+     * @return List of the recent traces.
+     */
+    public List<RequestTrace> getRecentTraces() {
+        long end = next.get();
+        int capacity = traces.length();
+        List<RequestTrace> recent = new ArrayList<>(capacity);
+        for (long i = end - 1; i >= 0 && i >= end - capacity; i--) {
+            RequestTrace trace = traces.get((int) (i % capacity));
+            if (trace != null) {
+                recent.add(trace);
+            }
+        }
+        return recent;
+    }
+
+    /**
+     * Marks the start of building a request on the current thread and decides if
+     * it will be traced.
+     *
+     * @param uri The uri of the request being built.
+     */
+    void begin(URI uri) {
+        pending.set(new Pending(uri, System.nanoTime(), sample()));
+    }
+
+    /**
+     * Adds time spent serializing the body of the request being built on the
+     * current thread.
+     *
+     * @param nanos The serialize time in nanoseconds.
+     */
+    void serialized(long nanos) {
+        Pending building = pending.get();
+        if (building != null) {
+            building.serializeNanos += nanos;
+        }
+    }
+
+    /**
+     * Starts the trace of a built request that is about to be sent. The build
+     * timings of the current thread are taken over if they are of the same uri. A
+     * request that was not built by the client is sampled here.
+     *
+     * @param req The request being sent.
+     * @return The {@link RequestTrace} or null if the request is not traced.
+     */
+    RequestTrace start(HttpRequest req) {
+        Pending building = pending.get();
+        pending.remove();
+        long now = System.nanoTime();
+        if (building == null || !building.uri.equals(req.uri())) {
+            building = new Pending(req.uri(), now, sample());
+        }
+        if (!building.sampled) {
+            return null;
+        }
+
+        RequestTrace trace = new RequestTrace(req.method(), req.uri().toString(),
+                Instant.now().minusNanos(now - building.start), building.start);
+        trace.setSerializeNanos(building.serializeNanos);
+        trace.setBuildNanos(now - building.start - building.serializeNanos);
+        trace.setNetworkStart(now);
+        return trace;
+    }
+
+    /**
+     * Marks the response headers of the traced request as received.
+     *
+     * @param trace  The trace of the request.
+     * @param status The status of the response.
+     */
+    void received(RequestTrace trace, int status) {
+        trace.setStatus(status);
+        trace.setNetworkNanos(System.nanoTime() - trace.getNetworkStart());
+    }
+
+    /**
+     * Finishes the trace and records it.
+     *
+     * @param trace The trace of the request or null if it is not traced.
+     * @param error The error the request failed with or null.
+     */
+    void finish(RequestTrace trace, Throwable error) {
+        if (trace == null) {
+            return;
+        }
+        if (trace.getStatus() == 0) {
+            trace.setNetworkNanos(System.nanoTime() - trace.getNetworkStart());
+        }
+        trace.setError(error);
+        trace.setTotalNanos(System.nanoTime() - trace.getBuildStart());
+
+        traces.set((int) (next.getAndIncrement() % traces.length()), trace);
+        Consumer<RequestTrace> callback = listener;
+        if (callback != null) {
+            callback.accept(trace);
+        }
+    }
+
+    private boolean sample() {
+        return sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    /**
+     * Build timings of the request being built on a thread.
+     */
+    private static class Pending {
+        private final URI uri;
+
+        private final long start;
+
+        private final boolean sampled;
+
+        private long serializeNanos;
+
+        private Pending(URI uri, long start, boolean sampled) {
+            this.uri = uri;
+            this.start = start;
+            this.sampled = sampled;
+        }
+    }
+}
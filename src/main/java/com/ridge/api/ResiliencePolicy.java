@@ -0,0 +1,392 @@
+package com.ridge.api;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Resilience policy for the requests of an {@link ApiClient}. It will retry
+ * idempotent requests that fail with an I/O error or a 429, 502, 503 or 504
+ * status, waiting an exponential backoff with full jitter between attempts. A
+ * deadline bounds the total time of a request including its retries. Gets can
+ * also be hedged: if a get has not completed after the configured percentile of
+ * recent latencies, a duplicate is sent and whichever response arrives first is
+ * used. Latencies are kept per method, host and path template, where path
+ * segments that look like identifiers are ignored, so a slow endpoint does not
+ * delay the hedges of a fast one.
+ * <p>
+ * Attempts that are no longer needed are cancelled: the loser of a hedge once
+ * the other response arrives, and every attempt still in flight when the
+ * deadline passes or the returned future is cancelled. Cancelling an attempt
+ * aborts its exchange and releases its permits. A response that arrived before
+ * the cancel has its body closed instead.
+ *
+ * <blockquote>
+ *
+ * <pre>
+ * ResiliencePolicy policy = new ResiliencePolicy();
+ * policy.setMaxRetries(3);
+ * policy.setDeadline(Duration.ofSeconds(10));
+ * policy.setHedgePercentile(0.95);
+ * client.setResiliencePolicy(policy);
+ * </pre>
+ *
+ * </blockquote>
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+public class ResiliencePolicy {
+
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "PUT", "DELETE", "OPTIONS", "TRACE");
+
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(429, 502, 503, 504);
+
+    private static final int LATENCY_WINDOW = 256;
+
+    private static final int MAX_LATENCY_WINDOWS = 1024;
+
+    private static final String SHARED_WINDOW = "*";
+
+    private static final int MIN_HEDGE_SAMPLES = 20;
+
+    private int maxRetries = 2;
+
+    private Duration baseBackoff = Duration.ofMillis(100);
+
+    private Duration maxBackoff = Duration.ofSeconds(5);
+
+    private Duration deadline;
+
+    private double hedgePercentile;
+
+    private Duration minHedgeDelay = Duration.ofMillis(50);
+
+    private final ConcurrentMap<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    /**
+     * Set the max number of times an idempotent request will be retried.
+     *
+     * @param maxRetries The number of retries. Zero disables retries.
+     */
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    /**
+     * Set the backoff before the first retry. Each retry after doubles it up to
+     * the max backoff, and the actual wait is a random time up to that value.
+     *
+     * @param baseBackoff The base backoff.
+     * @param maxBackoff  The max backoff.
+     */
+    public void setBackoff(Duration baseBackoff, Duration maxBackoff) {
+        this.baseBackoff = baseBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    /**
+     * Set the max total time of a request including its retries. Once it passes
+     * the request fails with a {@link java.util.concurrent.TimeoutException} and
+     * the attempts still in flight are cancelled.
+     *
+     * @param deadline The deadline or null for none.
+     */
+    public void setDeadline(Duration deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Set the latency percentile after which a duplicate get is sent. The delay
+     * will never be shorter than the min hedge delay.
+     *
+     * @param hedgePercentile The percentile between 0 and 1. Zero disables
+     *                        hedging.
+     */
+    public void setHedgePercentile(double hedgePercentile) {
+        this.hedgePercentile = hedgePercentile;
+    }
+
+    /**
+     * Set the min time to wait before a duplicate get is sent.
+     *
+     * @param minHedgeDelay The min hedge delay.
+     */
+    public void setMinHedgeDelay(Duration minHedgeDelay) {
+        this.minHedgeDelay = minHedgeDelay;
+    }
+
+    /**
+     * Executes the request with the policy. Each attempt is sent with the passed
+     * in sender. Cancelling the returned future stops any further retries or
+     * hedges and cancels the attempts still in flight.
+     *
+     * @param <T>    The type of the response body.
+     * @param req    The request to send.
+     * @param sender The function that sends a single attempt.
+     * @return {@link CompletableFuture} of the final response.
+     */
+    public <T> CompletableFuture<HttpResponse<T>> execute(HttpRequest req,
+            Function<HttpRequest, CompletableFuture<HttpResponse<T>>> sender) {
+        CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+        if (deadline != null) {
+            result.orTimeout(deadline.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+        result.whenComplete((response, error) -> inFlight.forEach(call -> call.cancel(true)));
+        attempt(req, call -> track(sender.apply(call), inFlight, result), 0, result);
+        return result;
+    }
+
+    /**
+     * Keeps the attempt in the in flight set until it completes. An attempt sent
+     * after the result completed is cancelled straight away.
+     *
+     * @param <T>      The type of the response body.
+     * @param call     The future of the attempt.
+     * @param inFlight The attempts of the request that have not completed.
+     * @param result   The future of the final response.
+     * @return The future of the attempt.
+     */
+    private <T> CompletableFuture<HttpResponse<T>> track(CompletableFuture<HttpResponse<T>> call,
+            Set<CompletableFuture<?>> inFlight, CompletableFuture<HttpResponse<T>> result) {
+        inFlight.add(call);
+        call.whenComplete((response, error) -> inFlight.remove(call));
+        if (result.isDone()) {
+            call.cancel(true);
+        }
+        return call;
+    }
+
+    /**
+     * Sends a single attempt of the request and schedules a retry if it fails
+     * and can be retried.
+     *
+     * @param <T>     The type of the response body.
+     * @param req     The request to send.
+     * @param sender  The function that sends a single attempt.
+     * @param attempt The number of the attempt starting at zero.
+     * @param result  The future of the final response.
+     */
+    private <T> void attempt(HttpRequest req, Function<HttpRequest, CompletableFuture<HttpResponse<T>>> sender,
+            int attempt, CompletableFuture<HttpResponse<T>> result) {
+        if (result.isDone()) {
+            return;
+        }
+
+        LatencyWindow window = window(req);
+        CompletableFuture<HttpResponse<T>> call = isHedged(req, window) ? hedged(req, sender, window)
+                : timed(req, sender, window);
+        call.whenComplete((response, error) -> {
+            boolean canRetry = attempt < maxRetries && IDEMPOTENT_METHODS.contains(req.method()) && !result.isDone();
+            if (error == null && !(canRetry && RETRYABLE_STATUSES.contains(response.statusCode()))) {
+                if (!result.complete(response)) {
+                    discard(response);
+                }
+            } else if (error != null && !(canRetry && isRetryable(error))) {
+                result.completeExceptionally(error);
+            } else {
+                if (response != null) {
+                    discard(response);
+                }
+                CompletableFuture.delayedExecutor(backoff(attempt), TimeUnit.MILLISECONDS)
+                        .execute(() -> attempt(req, sender, attempt + 1, result));
+            }
+        });
+    }
+
+    /**
+     * Sends the request and a duplicate of it if the first has not completed
+     * after the hedge delay. The first successful response wins and the other
+     * request is cancelled. The call only fails if every sent request fails.
+     *
+     * @param <T>    The type of the response body.
+     * @param req    The request to send.
+     * @param sender The function that sends a single attempt.
+     * @param window The latency window of the endpoint.
+     * @return {@link CompletableFuture} of the first response.
+     */
+    private <T> CompletableFuture<HttpResponse<T>> hedged(HttpRequest req,
+            Function<HttpRequest, CompletableFuture<HttpResponse<T>>> sender, LatencyWindow window) {
+        CompletableFuture<HttpResponse<T>> winner = new CompletableFuture<>();
+        AtomicBoolean hedgeClaimed = new AtomicBoolean();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        Set<CompletableFuture<?>> sent = ConcurrentHashMap.newKeySet();
+        winner.whenComplete((response, error) -> sent.forEach(call -> call.cancel(true)));
+
+        Consumer<CompletableFuture<HttpResponse<T>>> track = call -> {
+            sent.add(call);
+            if (winner.isDone()) {
+                call.cancel(true);
+            }
+            call.whenComplete((response, error) -> {
+                if (error == null) {
+                    if (!winner.complete(response)) {
+                        discard(response);
+                    }
+                } else if (!hedgeClaimed.getAndSet(true) || outstanding.decrementAndGet() == 0) {
+                    winner.completeExceptionally(error);
+                }
+            });
+        };
+
+        track.accept(timed(req, sender, window));
+        CompletableFuture.delayedExecutor(window.hedgeDelay(), TimeUnit.MILLISECONDS).execute(() -> {
+            outstanding.incrementAndGet();
+            if (winner.isDone() || hedgeClaimed.getAndSet(true)) {
+                outstanding.decrementAndGet();
+                return;
+            }
+            track.accept(timed(req, sender, window));
+        });
+        return winner;
+    }
+
+    /**
+     * Sends a single request and records its latency if it succeeds.
+     *
+     * @param <T>    The type of the response body.
+     * @param req    The request to send.
+     * @param sender The function that sends a single attempt.
+     * @param window The latency window of the endpoint.
+     * @return {@link CompletableFuture} of the response.
+     */
+    private <T> CompletableFuture<HttpResponse<T>> timed(HttpRequest req,
+            Function<HttpRequest, CompletableFuture<HttpResponse<T>>> sender, LatencyWindow window) {
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<T>> call = sender.apply(req);
+        call.whenComplete((response, error) -> {
+            if (error == null) {
+                window.record(System.nanoTime() - start);
+            }
+        });
+        return call;
+    }
+
+    /**
+     * Determines if the request should be hedged. Only gets are hedged and only
+     * once enough latencies have been recorded for the endpoint to pick a delay.
+     *
+     * @param req    The request to check.
+     * @param window The latency window of the endpoint.
+     * @return If the request should be hedged.
+     */
+    private boolean isHedged(HttpRequest req, LatencyWindow window) {
+        return hedgePercentile > 0 && "GET".equals(req.method()) && window.samples() >= MIN_HEDGE_SAMPLES;
+    }
+
+    /**
+     * Get the latency window of the endpoint of the request. Once the max number
+     * of windows is reached, new endpoints share a single window.
+     *
+     * @param req The request.
+     * @return The {@link LatencyWindow} of the endpoint.
+     */
+    private LatencyWindow window(HttpRequest req) {
+        String key = req.method() + " " + req.uri().getHost() + PathTemplate.of(req.uri().getPath());
+        LatencyWindow window = latencies.get(key);
+        if (window != null) {
+            return window;
+        }
+        if (latencies.size() >= MAX_LATENCY_WINDOWS) {
+            key = SHARED_WINDOW;
+        }
+        return latencies.computeIfAbsent(key, k -> new LatencyWindow());
+    }
+
+    /**
+     * Get the wait before the next retry using exponential backoff with full
+     * jitter.
+     *
+     * @param attempt The number of the attempt that failed.
+     * @return The backoff in millis.
+     */
+    private long backoff(int attempt) {
+        long cap = Math.min(maxBackoff.toMillis(), baseBackoff.toMillis() << Math.min(attempt, 30));
+        return ThreadLocalRandom.current().nextLong(Math.max(cap, 1));
+    }
+
+    /**
+     * Determines if the error is a transient failure worth retrying.
+     *
+     * @param error The error of the attempt.
+     * @return If the error is an I/O error.
+     */
+    private boolean isRetryable(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error instanceof IOException;
+    }
+
+    /**
+     * Closes the body of a response that will not be used.
+     *
+     * @param response The response to discard.
+     */
+    private void discard(HttpResponse<?> response) {
+        if (response.body() instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) response.body()).close();
+            } catch (Exception e) {
+                // Body is being thrown away.
+            }
+        }
+    }
+
+    /**
+     * Window of the most recent latencies of one endpoint.
+     */
+    private class LatencyWindow {
+        private final long[] latencies = new long[LATENCY_WINDOW];
+
+        private long count;
+
+        /**
+         * Records the latency of a successful request.
+         *
+         * @param nanos The latency in nanos.
+         */
+        synchronized void record(long nanos) {
+            latencies[(int) (count++ % LATENCY_WINDOW)] = nanos;
+        }
+
+        /**
+         * Get the number of latencies in the window.
+         *
+         * @return The sample count.
+         */
+        synchronized int samples() {
+            return (int) Math.min(count, LATENCY_WINDOW);
+        }
+
+        /**
+         * Get the delay before a duplicate request is sent.
+         *
+         * @return The hedge delay in millis.
+         */
+        long hedgeDelay() {
+            long[] sorted;
+            synchronized (this) {
+                sorted = Arrays.copyOf(latencies, samples());
+            }
+            Arrays.sort(sorted);
+            int index = (int) Math.min(sorted.length - 1, Math.ceil(hedgePercentile * sorted.length) - 1);
+            long delay = TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(index, 0)]);
+            return Math.max(delay, minHedgeDelay.toMillis());
+        }
+    }
+}
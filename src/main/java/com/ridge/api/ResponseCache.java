@@ -0,0 +1,311 @@
+package com.ridge.api;
+
+import java.io.IOException;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.ridge.mapper.CodecRegistry;
+
+/**
+ * Bounded in memory cache of get responses. Entries are evicted least recently
+ * used first once the total size of the cached bodies passes the byte limit.
+ * Freshness follows the {@code Cache-Control} max-age and {@code Expires}
+ * headers of the response. Stale entries that have an {@code ETag} or
+ * {@code Last-Modified} validator are revalidated with a conditional request.
+ *
+ * <blockquote>
+ *
+ * <pre>
+ * ApiClient client = new ApiClient("https://example.com");
+ * client.setResponseCache(new ResponseCache(10 * 1024 * 1024));
+ * </pre>
+ *
+ * </blockquote>
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+public class ResponseCache {
+
+    private final long maxBytes;
+
+    private final boolean cacheDecoded;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long size;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong revalidations = new AtomicLong();
+
+    /**
+     * Creates a cache that holds up to the given number of body bytes.
+     *
+     * @param maxBytes The max total size of the cached bodies.
+     */
+    public ResponseCache(long maxBytes) {
+        this(maxBytes, false);
+    }
+
+    /**
+     * Creates a cache that holds up to the given number of body bytes. If
+     * {@code cacheDecoded} is set, the deserialized object is kept per class so
+     * cache hits skip parsing. The same instance is then handed to every caller,
+     * so cached objects should be treated as read only.
+     *
+     * @param maxBytes     The max total size of the cached bodies.
+     * @param cacheDecoded If the deserialized objects should be cached.
+     */
+    public ResponseCache(long maxBytes, boolean cacheDecoded) {
+        this.maxBytes = maxBytes;
+        this.cacheDecoded = cacheDecoded;
+    }
+
+    /**
+     * Get the cached entry for the given key.
+     *
+     * @param key The key of the request.
+     * @return The cached {@link Entry} or null if there is none.
+     */
+    public synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Stores the response for the given key if it is cacheable. Only successful
+     * responses that have a freshness lifetime or a validator are stored.
+     *
+     * @param key      The key of the request.
+     * @param response The response to store.
+     * @param body     The decoded body of the response.
+     * @return The stored {@link Entry} or null if the response is not cacheable.
+     */
+    public Entry store(String key, HttpResponse<?> response, byte[] body) {
+        HttpHeaders headers = response.headers();
+        String cacheControl = headers.firstValue("Cache-Control").orElse("").toLowerCase();
+        if (response.statusCode() != 200 || cacheControl.contains("no-store") || body.length > maxBytes) {
+            return null;
+        }
+
+        Entry entry = new Entry(body, CodecRegistry.isBinary(headers.firstValue("Content-Type").orElse(null)));
+        entry.update(headers);
+        if (!entry.isFresh() && entry.etag == null && entry.lastModified == null) {
+            return null;
+        }
+
+        synchronized (this) {
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                size -= previous.body.length;
+            }
+            size += entry.body.length;
+
+            Iterator<Entry> it = entries.values().iterator();
+            while (size > maxBytes && it.hasNext()) {
+                size -= it.next().body.length;
+                it.remove();
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Removes all the entries from the cache.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        size = 0;
+    }
+
+    /**
+     * Get the number of requests served from the cache, including the ones that
+     * were revalidated with the server.
+     *
+     * @return The hit count.
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Get the number of requests that had to be fetched from the server.
+     *
+     * @return The miss count.
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Get the number of stale entries that the server confirmed were unchanged.
+     *
+     * @return The revalidation count.
+     */
+    public long getRevalidationCount() {
+        return revalidations.get();
+    }
+
+    /**
+     * Get the total size of the cached bodies.
+     *
+     * @return The size in bytes.
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Records that a request was served from the cache.
+     *
+     * @param revalidated If the entry was revalidated with the server first.
+     */
+    void recordHit(boolean revalidated) {
+        hits.incrementAndGet();
+        if (revalidated) {
+            revalidations.incrementAndGet();
+        }
+    }
+
+    /**
+     * Records that a request had to be fetched from the server.
+     */
+    void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    /**
+     * A cached response body with its validators and freshness lifetime.
+     */
+    public class Entry {
+        private final byte[] body;
+
+        private final boolean binary;
+
+        private final ConcurrentMap<Class<?>, Object> decoded = new ConcurrentHashMap<>();
+
+        private volatile String etag;
+
+        private volatile String lastModified;
+
+        private volatile long expiresAt;
+
+        private Entry(byte[] body, boolean binary) {
+            this.body = body;
+            this.binary = binary;
+        }
+
+        /**
+         * Determines if the entry can be served without going to the server.
+         *
+         * @return If the entry is still fresh.
+         */
+        public boolean isFresh() {
+            return System.currentTimeMillis() < expiresAt;
+        }
+
+        /**
+         * Get the validator of the entry.
+         *
+         * @return The {@code ETag} of the response or null.
+         */
+        public String getETag() {
+            return etag;
+        }
+
+        /**
+         * Get the last modified date of the entry.
+         *
+         * @return The {@code Last-Modified} header of the response or null.
+         */
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * Reads the cached body as the given class type. If decoded objects are
+         * being cached the same instance is returned on every call.
+         *
+         * @param <T>    The object type of the body.
+         * @param codecs The codec registry to read the body with.
+         * @param clazz  The class to cast the body too.
+         * @return The read object.
+         * @throws IOException If the body could not be read.
+         */
+        public <T> T decode(CodecRegistry codecs, Class<T> clazz) throws IOException {
+            if (!cacheDecoded) {
+                return read(codecs, clazz);
+            }
+
+            Object value = decoded.get(clazz);
+            if (value == null) {
+                value = read(codecs, clazz);
+                Object existing = decoded.putIfAbsent(clazz, value);
+                value = existing == null ? value : existing;
+            }
+            return clazz.cast(value);
+        }
+
+        /**
+         * Reads the cached body with the mapper of its format.
+         */
+        private <T> T read(CodecRegistry codecs, Class<T> clazz) throws IOException {
+            return binary ? codecs.readBinary(body, clazz) : codecs.readValue(body, clazz);
+        }
+
+        /**
+         * Updates the validators and freshness lifetime of the entry from the
+         * headers of a response.
+         *
+         * @param headers The headers of the response.
+         */
+        void update(HttpHeaders headers) {
+            headers.firstValue("ETag").ifPresent(v -> this.etag = v);
+            headers.firstValue("Last-Modified").ifPresent(v -> this.lastModified = v);
+            this.expiresAt = expiresAt(headers);
+        }
+
+        /**
+         * Get the time the response expires based on the {@code Cache-Control}
+         * and {@code Expires} headers.
+         *
+         * @param headers The headers of the response.
+         * @return The time in millis the response expires.
+         */
+        private long expiresAt(HttpHeaders headers) {
+            long now = System.currentTimeMillis();
+            String cacheControl = headers.firstValue("Cache-Control").orElse("").toLowerCase();
+            if (cacheControl.contains("no-cache")) {
+                return now;
+            }
+
+            for (String directive : cacheControl.split(",")) {
+                directive = directive.trim();
+                if (directive.startsWith("max-age=")) {
+                    try {
+                        return now + Long.parseLong(directive.substring(8).trim()) * 1000;
+                    } catch (NumberFormatException e) {
+                        return now;
+                    }
+                }
+            }
+
+            return headers.firstValue("Expires").map(v -> {
+                try {
+                    return ZonedDateTime.parse(v, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+                } catch (Exception e) {
+                    return now;
+                }
+            }).orElse(now);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.ridge.api;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Invocation handler behind the proxies created by
+ * {@link ApiClient#create(Class)}. Every abstract method of the interface is
+ * compiled into a {@link CallPlan} when the proxy is created, so invalid
+ * declarations fail straight away and calls only look up their plan. Default
+ * methods run their own body, and {@code equals}, {@code hashCode} and
+ * {@code toString} are answered by the proxy itself.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class RestProxy implements InvocationHandler {
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final Class<?> service;
+
+    private final Map<Method, CallPlan> plans = new HashMap<>();
+
+    private final Map<Method, MethodHandle> defaults = new HashMap<>();
+
+    /**
+     * Compiles the plans of every method of the interface.
+     *
+     * @param client  The client the calls are sent with.
+     * @param service The annotated rest interface.
+     * @throws IllegalArgumentException If a method of the interface is not a
+     *                                  valid rest method.
+     */
+    RestProxy(ApiClient client, Class<?> service) {
+        this.service = service;
+        for (Method method : service.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers()) || isObjectMethod(method)) {
+                continue;
+            }
+            if (method.isDefault()) {
+                defaults.put(method, defaultHandle(method));
+            } else {
+                plans.put(method, new CallPlan(client, method));
+            }
+        }
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        Object[] arguments = args == null ? NO_ARGS : args;
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == arguments[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return service.getSimpleName() + " proxy";
+            }
+        }
+
+        MethodHandle handle = defaults.get(method);
+        if (handle != null) {
+            return handle.bindTo(proxy).invokeWithArguments(arguments);
+        }
+        return plans.get(method).invoke(arguments);
+    }
+
+    /**
+     * Determines if the method redeclares a public method of {@link Object}.
+     * The proxy answers those itself, so they are never rest methods.
+     *
+     * @param method The interface method.
+     * @return If the method is declared by {@link Object} as well.
+     */
+    private static boolean isObjectMethod(Method method) {
+        try {
+            Object.class.getMethod(method.getName(), method.getParameterTypes());
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Get the handle that runs the body of the default method.
+     *
+     * @param method The default method.
+     * @return The unbound {@link MethodHandle} of the body.
+     * @throws IllegalArgumentException If the body can not be accessed.
+     */
+    private MethodHandle defaultHandle(Method method) {
+        Class<?> declaring = method.getDeclaringClass();
+        try {
+            return MethodHandles.privateLookupIn(declaring, MethodHandles.lookup()).unreflectSpecial(method,
+                    declaring);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException(
+                    "Default method '" + method.getName() + "' of '" + declaring.getName() + "' is not accessible",
+                    e);
+        }
+    }
+}
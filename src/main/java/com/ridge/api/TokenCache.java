@@ -0,0 +1,206 @@
+package com.ridge.api;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the access token of a {@link TokenProvider} and refreshes it in the
+ * background before it expires, so requests do not wait on a login. Callers
+ * that need a token while a refresh is running all share that one refresh.
+ * The provider may use the same {@link ApiClient} the cache is set on, the
+ * requests it makes are sent without the cached token.
+ *
+ * <blockquote>
+ *
+ * <pre>
+ * client.setTokenCache(new TokenCache(() -> {
+ *     AuthToken auth = loginClient.post("/authenticate", credentials, AuthToken.class);
+ *     return new AccessToken("Bearer " + auth.getToken(), auth.getExpireDate().toInstant());
+ * }));
+ * </pre>
+ *
+ * </blockquote>
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+public class TokenCache {
+
+    private static final ThreadLocal<Boolean> REFRESHING = ThreadLocal.withInitial(() -> false);
+
+    private final TokenProvider provider;
+
+    private final long refreshAheadMillis;
+
+    private final ScheduledExecutorService scheduler;
+
+    private volatile AccessToken token;
+
+    private CompletableFuture<AccessToken> refreshing;
+
+    private ScheduledFuture<?> scheduled;
+
+    /**
+     * Creates a cache that refreshes the token a minute before it expires.
+     *
+     * @param provider The provider of the tokens.
+     */
+    public TokenCache(TokenProvider provider) {
+        this(provider, Duration.ofMinutes(1));
+    }
+
+    /**
+     * Creates a cache that refreshes the token the given time before it expires.
+     *
+     * @param provider     The provider of the tokens.
+     * @param refreshAhead How long before the expire time to refresh.
+     */
+    public TokenCache(TokenProvider provider, Duration refreshAhead) {
+        this.provider = provider;
+        this.refreshAheadMillis = refreshAhead.toMillis();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "ridge-token-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Get the authorization value of the cached token without waiting for a
+     * refresh. Called from within the provider this returns null, so requests the
+     * provider makes are sent without the token.
+     *
+     * @return The authorization value or null if there is none.
+     */
+    public String getAuthorization() {
+        AccessToken current = token;
+        return current == null || isRefreshingThread() ? null : current.getValue();
+    }
+
+    /**
+     * Get a valid token. If the cached token is still valid it is returned
+     * straight away, otherwise the shared refresh is returned.
+     *
+     * @return {@link CompletableFuture} of the token.
+     */
+    public CompletableFuture<AccessToken> getToken() {
+        AccessToken current = token;
+        if (current != null && !current.isExpired(0)) {
+            return CompletableFuture.completedFuture(current);
+        }
+        return refresh(current == null ? null : current.getValue());
+    }
+
+    /**
+     * Refresh the token. If a refresh is already running its future is returned
+     * instead of starting another. Once the cache is closed the returned future
+     * fails with an {@link IllegalStateException}.
+     *
+     * @return {@link CompletableFuture} of the new token.
+     */
+    public synchronized CompletableFuture<AccessToken> refresh() {
+        if (refreshing == null) {
+            CompletableFuture<AccessToken> future = new CompletableFuture<>();
+            try {
+                scheduler.execute(() -> fetch(future));
+            } catch (RejectedExecutionException e) {
+                future.completeExceptionally(new IllegalStateException("Token cache is closed", e));
+                return future;
+            }
+            refreshing = future;
+        }
+        return refreshing;
+    }
+
+    /**
+     * Refresh the token if the given value is still the current one. If another
+     * caller has already replaced it, the current token is returned instead.
+     *
+     * @param stale The authorization value that was rejected or expired.
+     * @return {@link CompletableFuture} of the token to use.
+     */
+    public synchronized CompletableFuture<AccessToken> refresh(String stale) {
+        AccessToken current = token;
+        if (current != null && !Objects.equals(current.getValue(), stale) && !current.isExpired(0)) {
+            return CompletableFuture.completedFuture(current);
+        }
+        return refresh();
+    }
+
+    /**
+     * Stops background refreshes. Refreshes requested after this fail.
+     */
+    public synchronized void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Determines if the current thread is running the provider.
+     *
+     * @return If a refresh is running on this thread.
+     */
+    boolean isRefreshingThread() {
+        return REFRESHING.get();
+    }
+
+    /**
+     * Fetch a token from the provider, store it and schedule the next refresh.
+     *
+     * @param future The future of the refresh.
+     */
+    private void fetch(CompletableFuture<AccessToken> future) {
+        AccessToken fetched = null;
+        Exception error = null;
+        REFRESHING.set(true);
+        try {
+            fetched = provider.fetchToken();
+        } catch (Exception e) {
+            error = e;
+        } finally {
+            REFRESHING.set(false);
+        }
+
+        synchronized (this) {
+            refreshing = null;
+            if (fetched != null) {
+                token = fetched;
+                schedule(fetched);
+            }
+        }
+
+        if (fetched != null) {
+            future.complete(fetched);
+        } else {
+            future.completeExceptionally(error != null ? error : new IllegalStateException("No token was provided"));
+        }
+    }
+
+    /**
+     * Schedules a background refresh ahead of the expire time of the token. Short
+     * lived tokens are refreshed no sooner than half way through their life. Must
+     * be called while holding the lock.
+     *
+     * @param fetched The token that was fetched.
+     */
+    private void schedule(AccessToken fetched) {
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+        if (fetched.getExpiresAt() != null && !scheduler.isShutdown()) {
+            long remaining = fetched.getExpiresAt().toEpochMilli() - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return;
+            }
+            long delay = Math.max(remaining - refreshAheadMillis, remaining / 2);
+            scheduled = scheduler.schedule(() -> {
+                refresh();
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.ridge.api;
+
+/**
+ * Provider of access tokens for an {@link ApiClient}, for example by calling an
+ * authenticate endpoint. It is only called by a {@link TokenCache} when a token
+ * is needed, never by several threads at once.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+@FunctionalInterface
+public interface TokenProvider {
+
+    /**
+     * Fetch a new access token.
+     *
+     * @return The new {@link AccessToken}.
+     * @throws Exception If the token could not be fetched.
+     */
+    AccessToken fetchToken() throws Exception;
+}
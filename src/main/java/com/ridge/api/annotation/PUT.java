@@ -0,0 +1,28 @@
+package com.ridge.api.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a method of a rest interface as a PUT request to the path template.
+ * Path variables are written as {@code {name}} and filled from the parameters
+ * annotated with {@link Path}.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PUT {
+
+    /**
+     * The path template of the endpoint, relative to the base url.
+     *
+     * @return The path template.
+     */
+    String value();
+}
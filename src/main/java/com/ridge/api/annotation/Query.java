@@ -0,0 +1,27 @@
+package com.ridge.api.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sends the parameter as a query parameter. Null values are left out and each
+ * element of an array or {@link Iterable} is sent as its own parameter.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+@Documented
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Query {
+
+    /**
+     * The name of the query parameter.
+     *
+     * @return The parameter name.
+     */
+    String value();
+}
@@ -0,0 +1,327 @@
+package com.ridge.mapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Shared codec registry that owns a single configured {@link ObjectMapper} and
+ * caches an {@link ObjectReader} and {@link ObjectWriter} per class. Readers
+ * and writers are immutable and thread safe, so once resolved they can be
+ * reused by every component in the library without paying for mapper
+ * construction or cold serializer caches again.
+ *
+ * <blockquote>
+ *
+ * <pre>
+ * CodecRegistry codecs = CodecRegistry.getDefault();
+ * User user = codecs.reader(User.class).readValue(json);
+ * byte[] data = codecs.writeValueAsBytes(user);
+ * </pre>
+ *
+ * </blockquote>
+ *
+ * The registry also holds a mapper for the binary Smile format, which encodes
+ * the same data model as json in fewer bytes and parses faster. It is
+ * configured the same way as the json mapper, so the domain classes do not
+ * change.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+public class CodecRegistry {
+    public static final String SMILE_CONTENT_TYPE = "application/x-jackson-smile";
+
+    private static volatile CodecRegistry DEFAULT = new CodecRegistry();
+
+    private final ObjectMapper mapper;
+
+    private final ObjectMapper binaryMapper;
+
+    private final ConcurrentMap<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Class<?>, ObjectReader> binaryReaders = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Class<?>, ObjectWriter> binaryWriters = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a registry with the default mapper configuration. The mappers will
+     * have the {@link JavaTimeModule} registered and write compact output.
+     */
+    public CodecRegistry() {
+        this(defaultMapper(new ObjectMapper()));
+    }
+
+    /**
+     * Creates a registry around the given json mapper. The binary mapper will
+     * use the default configuration. The mapper should be fully configured before
+     * it is passed in, as readers and writers capture the configuration at the
+     * time they are resolved.
+     *
+     * @param mapper The mapper to build readers and writers from.
+     */
+    public CodecRegistry(ObjectMapper mapper) {
+        this(mapper, defaultMapper(new ObjectMapper(new SmileFactory())));
+    }
+
+    /**
+     * Creates a registry around the given json and binary mappers. The binary
+     * mapper must be built on a {@link SmileFactory} and should be configured the
+     * same way as the json mapper.
+     *
+     * @param mapper       The mapper to build json readers and writers from.
+     * @param binaryMapper The mapper to build binary readers and writers from.
+     */
+    public CodecRegistry(ObjectMapper mapper, ObjectMapper binaryMapper) {
+        this.mapper = mapper;
+        this.binaryMapper = binaryMapper;
+    }
+
+    /**
+     * Get the library wide registry shared by the api client, the json mapper and
+     * the socket frame handlers.
+     *
+     * @return The default {@link CodecRegistry}.
+     */
+    public static CodecRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Replace the library wide registry. Components that were already created
+     * keep the registry they were built with.
+     *
+     * @param registry The registry to use as the default.
+     */
+    public static void setDefault(CodecRegistry registry) {
+        DEFAULT = registry;
+    }
+
+    /**
+     * Get the cached reader for the given class type.
+     *
+     * @param <T>   The type being read.
+     * @param clazz The class to read the data as.
+     * @return {@link ObjectReader} for the class.
+     */
+    public <T> ObjectReader reader(Class<T> clazz) {
+        return readers.computeIfAbsent(clazz, mapper::readerFor);
+    }
+
+    /**
+     * Get the cached writer for the given class type.
+     *
+     * @param clazz The class of the data being written.
+     * @return {@link ObjectWriter} for the class.
+     */
+    public ObjectWriter writer(Class<?> clazz) {
+        return writers.computeIfAbsent(clazz, mapper::writerFor);
+    }
+
+    /**
+     * Read the given json string as the passed in class type.
+     *
+     * @param <T>   The type being read.
+     * @param json  The json string.
+     * @param clazz The class to read the data as.
+     * @return The read object.
+     * @throws IOException If the data could not be read.
+     */
+    public <T> T readValue(String json, Class<T> clazz) throws IOException {
+        return reader(clazz).readValue(json);
+    }
+
+    /**
+     * Read the given json bytes as the passed in class type.
+     *
+     * @param <T>   The type being read.
+     * @param data  The json bytes.
+     * @param clazz The class to read the data as.
+     * @return The read object.
+     * @throws IOException If the data could not be read.
+     */
+    public <T> T readValue(byte[] data, Class<T> clazz) throws IOException {
+        return reader(clazz).readValue(data);
+    }
+
+    /**
+     * Read the given json stream as the passed in class type.
+     *
+     * @param <T>   The type being read.
+     * @param in    The stream of json data.
+     * @param clazz The class to read the data as.
+     * @return The read object.
+     * @throws IOException If the data could not be read.
+     */
+    public <T> T readValue(InputStream in, Class<T> clazz) throws IOException {
+        return reader(clazz).readValue(in);
+    }
+
+    /**
+     * Write the given object as a compact json string.
+     *
+     * @param data The data to write.
+     * @return {@link String} of the json data.
+     * @throws JsonProcessingException If the data could not be written.
+     */
+    public String writeValueAsString(Object data) throws JsonProcessingException {
+        return writerFor(data).writeValueAsString(data);
+    }
+
+    /**
+     * Write the given object as compact json bytes.
+     *
+     * @param data The data to write.
+     * @return The UTF-8 encoded json data.
+     * @throws JsonProcessingException If the data could not be written.
+     */
+    public byte[] writeValueAsBytes(Object data) throws JsonProcessingException {
+        return writerFor(data).writeValueAsBytes(data);
+    }
+
+    /**
+     * Converts the given value to the passed in class type. If the value is
+     * already an instance of the class it will be returned as is.
+     *
+     * @param <T>   The type to convert too.
+     * @param value The value to convert.
+     * @param clazz The class to convert the value too.
+     * @return The converted object.
+     */
+    public <T> T convertValue(Object value, Class<T> clazz) {
+        if (clazz.isInstance(value)) {
+            return clazz.cast(value);
+        }
+        return mapper.convertValue(value, clazz);
+    }
+
+    /**
+     * Get the cached binary reader for the given class type.
+     *
+     * @param <T>   The type being read.
+     * @param clazz The class to read the data as.
+     * @return {@link ObjectReader} for the class.
+     */
+    public <T> ObjectReader binaryReader(Class<T> clazz) {
+        return binaryReaders.computeIfAbsent(clazz, binaryMapper::readerFor);
+    }
+
+    /**
+     * Get the cached binary writer for the given class type.
+     *
+     * @param clazz The class of the data being written.
+     * @return {@link ObjectWriter} for the class.
+     */
+    public ObjectWriter binaryWriter(Class<?> clazz) {
+        return binaryWriters.computeIfAbsent(clazz, binaryMapper::writerFor);
+    }
+
+    /**
+     * Read the given binary data as the passed in class type.
+     *
+     * @param <T>   The type being read.
+     * @param data  The binary data.
+     * @param clazz The class to read the data as.
+     * @return The read object.
+     * @throws IOException If the data could not be read.
+     */
+    public <T> T readBinary(byte[] data, Class<T> clazz) throws IOException {
+        return binaryReader(clazz).readValue(data);
+    }
+
+    /**
+     * Read the given binary stream as the passed in class type.
+     *
+     * @param <T>   The type being read.
+     * @param in    The stream of binary data.
+     * @param clazz The class to read the data as.
+     * @return The read object.
+     * @throws IOException If the data could not be read.
+     */
+    public <T> T readBinary(InputStream in, Class<T> clazz) throws IOException {
+        return binaryReader(clazz).readValue(in);
+    }
+
+    /**
+     * Write the given object in the binary format.
+     *
+     * @param data The data to write.
+     * @return The binary data.
+     * @throws JsonProcessingException If the data could not be written.
+     */
+    public byte[] writeValueAsBinary(Object data) throws JsonProcessingException {
+        return (data == null ? binaryMapper.writer() : binaryWriter(data.getClass())).writeValueAsBytes(data);
+    }
+
+    /**
+     * Determines if the data is in the binary format by checking for the header
+     * the binary format starts with.
+     *
+     * @param data The data to check.
+     * @return If the data is binary.
+     */
+    public static boolean isBinary(byte[] data) {
+        return data.length >= 3 && data[0] == ':' && data[1] == ')' && data[2] == '\n';
+    }
+
+    /**
+     * Determines if the content type is the binary format.
+     *
+     * @param contentType The content type to check.
+     * @return If the content type is binary.
+     */
+    public static boolean isBinary(String contentType) {
+        return contentType != null && contentType.toLowerCase().startsWith(SMILE_CONTENT_TYPE);
+    }
+
+    /**
+     * Get the underlying binary mapper for the registry. The mapper is shared, so
+     * it should not be reconfigured once readers or writers have been resolved.
+     *
+     * @return {@link ObjectMapper} object.
+     */
+    public ObjectMapper getBinaryMapper() {
+        return binaryMapper;
+    }
+
+    /**
+     * Get the underlying mapper for the registry. The mapper is shared, so it
+     * should not be reconfigured once readers or writers have been resolved.
+     *
+     * @return {@link ObjectMapper} object.
+     */
+    public ObjectMapper getMapper() {
+        return mapper;
+    }
+
+    /**
+     * Get the writer to use for the given value.
+     *
+     * @param data The data to write.
+     * @return {@link ObjectWriter} for the value.
+     */
+    private ObjectWriter writerFor(Object data) {
+        return data == null ? mapper.writer() : writer(data.getClass());
+    }
+
+    /**
+     * Applies the default configuration to the mapper.
+     *
+     * @param mapper The mapper to configure.
+     * @return {@link ObjectMapper} object.
+     */
+    private static ObjectMapper defaultMapper(ObjectMapper mapper) {
+        mapper.registerModule(new JavaTimeModule());
+        return mapper;
+    }
+}
@@ -2,7 +2,6 @@ package com.ridge.mapper;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,7 +26,7 @@ public class JSONMapper {
      */
     public static <T> String mapObjectToJsonString(T data) {
         try {
-            return getMapper().writeValueAsString(data);
+            return CodecRegistry.getDefault().writeValueAsString(data);
         } catch (JsonProcessingException e) {
             return null;
         }
@@ -44,22 +43,67 @@ public class JSONMapper {
      */
     public static <T> T convert(String jsonString, Class<T> clazz) {
         try {
-            return getMapper().readValue(jsonString, clazz);
+            return CodecRegistry.getDefault().readValue(jsonString, clazz);
         } catch (Exception e) {
-            LOGGER.warn("Could not convert JSON string '{}' to '{}' data type.", jsonString, clazz.getSimpleName());
-            System.out.println(e);
+            LOGGER.warn("Could not convert JSON string '{}' to '{}' data type.", jsonString, clazz.getSimpleName(), e);
             return null;
         }
     }
 
     /**
-     * Get the default mapper for the instance.
+     * Will take in a custom object that will be mapped to the binary Smile
+     * format. If an exception occurs mapping the object it will return null.
+     * 
+     * @param <T>  The type of the object.
+     * @param data The data to be mapped to binary.
+     * @return The binary data.
+     */
+    public static <T> byte[] mapObjectToBytes(T data) {
+        try {
+            return CodecRegistry.getDefault().writeValueAsBinary(data);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    /**
+     * This will take in binary Smile or UTF-8 json data and cast it to the
+     * corresponding class type that was passed in. The format is detected from the
+     * header of the data. If an error occurs in the casting, it will return null.
+     * 
+     * @param <T>   The generic type of the data.
+     * @param data  The data to convert to an object.
+     * @param clazz The class to cast the data too.
+     * @return The casted object.
+     */
+    public static <T> T convert(byte[] data, Class<T> clazz) {
+        try {
+            CodecRegistry codecs = CodecRegistry.getDefault();
+            return CodecRegistry.isBinary(data) ? codecs.readBinary(data, clazz) : codecs.readValue(data, clazz);
+        } catch (Exception e) {
+            LOGGER.warn("Could not convert {} bytes to '{}' data type.", data.length, clazz.getSimpleName(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Get a new mapper with the configuration of the default
+     * {@link CodecRegistry}. The mapper is a copy, so it can be reconfigured
+     * without changing how the rest of the library maps data.
      * 
      * @return {@link ObjectMapper} object.
      */
     public static ObjectMapper getMapper() {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());
-        return mapper;
+        return CodecRegistry.getDefault().getMapper().copy();
+    }
+
+    /**
+     * Get the mapper shared by the default {@link CodecRegistry}. Readers and
+     * writers are cached from it, so it should not be reconfigured.
+     * 
+     * @return {@link ObjectMapper} object.
+     */
+    public static ObjectMapper getSharedMapper() {
+        return CodecRegistry.getDefault().getMapper();
     }
 }
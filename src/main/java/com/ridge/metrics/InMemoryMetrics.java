@@ -0,0 +1,101 @@
+package com.ridge.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Metrics recorder that keeps a {@link Histogram} per timer and a counter per
+ * counter name in memory. It can be registered with the platform MBean server
+ * to inspect the metrics of a running application.
+ *
+ * <blockquote>
+ *
+ * <pre>
+ * InMemoryMetrics metrics = new InMemoryMetrics();
+ * metrics.register("api");
+ * client.setMetricsRecorder(metrics);
+ * </pre>
+ *
+ * </blockquote>
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+public class InMemoryMetrics implements MetricsRecorder, InMemoryMetricsMXBean {
+
+    private final ConcurrentMap<String, Histogram> timers = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public void recordTime(String name, long nanos) {
+        getTimer(name).record(nanos);
+    }
+
+    @Override
+    public void increment(String name, long amount) {
+        counters.computeIfAbsent(name, k -> new LongAdder()).add(amount);
+    }
+
+    /**
+     * Get the histogram of the timer, creating it if it does not exist yet.
+     *
+     * @param name The name of the timer.
+     * @return The {@link Histogram} of nanosecond durations.
+     */
+    public Histogram getTimer(String name) {
+        return timers.computeIfAbsent(name, k -> new Histogram());
+    }
+
+    /**
+     * Get the value of the counter.
+     *
+     * @param name The name of the counter.
+     * @return The value, or zero if it was never incremented.
+     */
+    public long getCounter(String name) {
+        LongAdder counter = counters.get(name);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    @Override
+    public Map<String, TimerSnapshot> getTimers() {
+        Map<String, TimerSnapshot> snapshots = new TreeMap<>();
+        timers.forEach((name, histogram) -> snapshots.put(name, TimerSnapshot.of(histogram)));
+        return snapshots;
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.sum()));
+        return values;
+    }
+
+    @Override
+    public void reset() {
+        timers.values().forEach(Histogram::reset);
+        counters.values().forEach(LongAdder::reset);
+    }
+
+    /**
+     * Register the metrics with the platform MBean server under
+     * {@code com.ridge:type=Metrics,name=<name>}.
+     *
+     * @param name The name to register the metrics under.
+     * @return The {@link ObjectName} the metrics were registered as.
+     * @throws JMException If the metrics could not be registered.
+     */
+    public ObjectName register(String name) throws JMException {
+        ObjectName objectName = ObjectName.getInstance("com.ridge:type=Metrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+}
@@ -0,0 +1,32 @@
+package com.ridge.metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link InMemoryMetrics}, so the recorded metrics can
+ * be browsed with any JMX console.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+public interface InMemoryMetricsMXBean {
+
+    /**
+     * Get the summary of every timer by name.
+     *
+     * @return Map of the timer summaries.
+     */
+    Map<String, TimerSnapshot> getTimers();
+
+    /**
+     * Get the value of every counter by name.
+     *
+     * @return Map of the counter values.
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * Clears every timer and counter.
+     */
+    void reset();
+}
@@ -0,0 +1,54 @@
+package com.ridge.metrics;
+
+/**
+ * Receives the timings and counts recorded by the api and socket clients.
+ * Implementations are called on the request and message paths, so they must be
+ * thread safe and should not block.
+ *
+ * Metric names start with the component they come from, followed by what they
+ * describe, for example {@code "api.latency GET /api/users"} or
+ * {@code "socket.messages /topic/updates"}.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+public interface MetricsRecorder {
+
+    /**
+     * Recorder that ignores everything, used when no recorder is set.
+     */
+    MetricsRecorder NOOP = new MetricsRecorder() {
+        @Override
+        public void recordTime(String name, long nanos) {
+        }
+
+        @Override
+        public void increment(String name, long amount) {
+        }
+    };
+
+    /**
+     * Record a duration for the timer with the given name.
+     *
+     * @param name  The name of the timer.
+     * @param nanos The duration in nanoseconds.
+     */
+    void recordTime(String name, long nanos);
+
+    /**
+     * Add the amount to the counter with the given name.
+     *
+     * @param name   The name of the counter.
+     * @param amount The amount to add.
+     */
+    void increment(String name, long amount);
+
+    /**
+     * Add one to the counter with the given name.
+     *
+     * @param name The name of the counter.
+     */
+    default void increment(String name) {
+        increment(name, 1);
+    }
+}
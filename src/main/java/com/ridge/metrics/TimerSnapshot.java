@@ -0,0 +1,80 @@
+package com.ridge.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Point in time summary of a timer. Durations are in milliseconds.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+public class TimerSnapshot {
+
+    private final long count;
+
+    private final double mean;
+
+    private final double p50;
+
+    private final double p90;
+
+    private final double p99;
+
+    private final double max;
+
+    @ConstructorProperties({ "count", "mean", "p50", "p90", "p99", "max" })
+    public TimerSnapshot(long count, double mean, double p50, double p90, double p99, double max) {
+        this.count = count;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.max = max;
+    }
+
+    /**
+     * Creates the summary of the histogram of nanosecond durations.
+     *
+     * @param histogram The histogram to summarize.
+     * @return {@link TimerSnapshot} of the histogram.
+     */
+    public static TimerSnapshot of(Histogram histogram) {
+        return new TimerSnapshot(histogram.getCount(), millis(histogram.getMean()),
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getMax()));
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getP50() {
+        return p50;
+    }
+
+    public double getP90() {
+        return p90;
+    }
+
+    public double getP99() {
+        return p99;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%.3fms p50=%.3fms p90=%.3fms p99=%.3fms max=%.3fms", count, mean, p50,
+                p90, p99, max);
+    }
+
+    private static double millis(double nanos) {
+        return nanos / 1_000_000d;
+    }
+}
@@ -0,0 +1,191 @@
+package com.ridge.socket;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import rx.Observable.Operator;
+import rx.Scheduler;
+import rx.Subscriber;
+import rx.functions.Action0;
+
+/**
+ * Operator that keeps only the latest pending value per key and delivers the
+ * pending values on a scheduler as fast as the subscriber requests them. A
+ * value that arrives while an older value of the same key is still pending
+ * replaces it in place, so a burst of updates to the same entities costs one
+ * delivery per entity. Keys are delivered in the order they became pending.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class KeyedConflation<T, K> implements Operator<T, T> {
+
+    private static final Object NULL_KEY = new Object();
+
+    private final Function<? super T, ? extends K> keyExtractor;
+
+    private final Scheduler scheduler;
+
+    private final Runnable onConflate;
+
+    /**
+     * Creates the operator.
+     *
+     * @param keyExtractor Function that gets the key of a value.
+     * @param scheduler    The scheduler to deliver the values on.
+     * @param onConflate   Called every time a pending value is replaced.
+     */
+    KeyedConflation(Function<? super T, ? extends K> keyExtractor, Scheduler scheduler, Runnable onConflate) {
+        this.keyExtractor = keyExtractor;
+        this.scheduler = scheduler;
+        this.onConflate = onConflate;
+    }
+
+    @Override
+    public Subscriber<? super T> call(Subscriber<? super T> child) {
+        Scheduler.Worker worker = scheduler.createWorker();
+        ConflatingSubscriber parent = new ConflatingSubscriber(child, worker);
+        child.add(worker);
+        child.add(parent);
+        child.setProducer(parent::demand);
+        return parent;
+    }
+
+    /**
+     * Subscriber of the upstream values of one downstream subscriber.
+     */
+    private class ConflatingSubscriber extends Subscriber<T> implements Action0 {
+        private final Subscriber<? super T> child;
+
+        private final Scheduler.Worker worker;
+
+        private final Map<Object, T> pending = new ConcurrentHashMap<>();
+
+        private final Queue<Object> order = new ConcurrentLinkedQueue<>();
+
+        private final AtomicLong requested = new AtomicLong();
+
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile boolean done;
+
+        private Throwable error;
+
+        private ConflatingSubscriber(Subscriber<? super T> child, Scheduler.Worker worker) {
+            this.child = child;
+            this.worker = worker;
+        }
+
+        @Override
+        public void onStart() {
+            request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(T value) {
+            Object key;
+            try {
+                key = keyExtractor.apply(value);
+            } catch (RuntimeException e) {
+                unsubscribe();
+                onError(e);
+                return;
+            }
+            key = key == null ? NULL_KEY : key;
+
+            if (pending.put(key, value) == null) {
+                order.offer(key);
+            } else {
+                onConflate.run();
+            }
+            schedule();
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            error = e;
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void onCompleted() {
+            done = true;
+            schedule();
+        }
+
+        /**
+         * Adds downstream demand.
+         *
+         * @param n The number of values requested.
+         */
+        private void demand(long n) {
+            if (n <= 0) {
+                return;
+            }
+            long current;
+            long next;
+            do {
+                current = requested.get();
+                next = current + n < 0 ? Long.MAX_VALUE : current + n;
+            } while (!requested.compareAndSet(current, next));
+            schedule();
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                worker.schedule(this);
+            }
+        }
+
+        /**
+         * Delivers pending values while there is demand.
+         */
+        @Override
+        public void call() {
+            int missed = 1;
+            do {
+                long demand = requested.get();
+                long emitted = 0;
+                while (emitted != demand) {
+                    if (child.isUnsubscribed()) {
+                        return;
+                    }
+                    boolean terminated = done;
+                    Object key = order.poll();
+                    if (key == null) {
+                        if (terminated) {
+                            terminate();
+                            return;
+                        }
+                        break;
+                    }
+                    child.onNext(pending.remove(key));
+                    emitted++;
+                }
+
+                if (emitted == demand && done && order.isEmpty()) {
+                    terminate();
+                    return;
+                }
+                if (emitted != 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void terminate() {
+            if (error != null) {
+                child.onError(error);
+            } else {
+                child.onCompleted();
+            }
+        }
+    }
+}
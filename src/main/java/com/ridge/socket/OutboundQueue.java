@@ -0,0 +1,287 @@
+package com.ridge.socket;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Supplier;
+
+import com.ridge.metrics.MetricsRecorder;
+import com.ridge.socket.WebSocketClient.PublishPolicy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Bounded queue of serialized messages that a single writer thread sends to the
+ * session, so publishing threads never block on the transport. The writer is
+ * started once a session is connected and waits while the session is lost.
+ * When batching is enabled the queued messages of a destination are sent as
+ * one json array, and when coalescing is enabled only the newest queued message
+ * of a destination is sent. The writer is stopped with the session, and
+ * messages still queued, including a batch the writer had already taken, are
+ * sent in order once a session connects again.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class OutboundQueue {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutboundQueue.class);
+
+    private final BlockingQueue<Outbound> queue;
+
+    private final Supplier<StompSession> session;
+
+    private final Supplier<MetricsRecorder> metrics;
+
+    private volatile PublishPolicy policy;
+
+    private volatile int batchSize;
+
+    private volatile boolean coalesce;
+
+    private final List<Outbound> pending = new ArrayList<>();
+
+    private Thread writer;
+
+    private Thread stopped;
+
+    /**
+     * Creates the queue. The writer thread is started once messages are queued
+     * and a session is connected.
+     *
+     * @param capacity  The maximum number of queued messages.
+     * @param policy    What to do when the queue is full.
+     * @param batchSize The maximum number of messages of a destination sent as
+     *                  one array, or 1 to send every message on its own.
+     * @param coalesce  If only the newest queued message of a destination is sent.
+     * @param session   Supplier of the current session.
+     * @param metrics   Supplier of the current metrics recorder.
+     */
+    OutboundQueue(int capacity, PublishPolicy policy, int batchSize, boolean coalesce,
+            Supplier<StompSession> session, Supplier<MetricsRecorder> metrics) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(capacity, 1));
+        this.policy = policy;
+        this.batchSize = Math.max(batchSize, 1);
+        this.coalesce = coalesce;
+        this.session = session;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Queues the serialized message for the destination.
+     *
+     * @param destination The destination to send to.
+     * @param payload     The json payload.
+     * @return True if the message was queued, false if it was dropped.
+     * @throws IllegalStateException If the queue is full and the policy is FAIL.
+     * @throws InterruptedException  If interrupted while waiting for space.
+     */
+    boolean offer(String destination, byte[] payload) throws InterruptedException {
+        Outbound message = new Outbound(destination, payload);
+        switch (policy) {
+            case BLOCK:
+                queue.put(message);
+                break;
+            case FAIL:
+                if (!queue.offer(message)) {
+                    metrics.get().increment("socket.publish.rejected " + destination);
+                    throw new IllegalStateException("Publish queue is full");
+                }
+                break;
+            default:
+                if (!queue.offer(message)) {
+                    metrics.get().increment("socket.publish.dropped " + destination);
+                    return false;
+                }
+        }
+
+        StompSession current = session.get();
+        if (current != null && current.isConnected()) {
+            start();
+        }
+        return true;
+    }
+
+    /**
+     * Wakes the writer after a session is connected, starting a new one if
+     * messages were queued while it was stopped.
+     */
+    synchronized void connected() {
+        if (!queue.isEmpty() || stopped != null) {
+            start();
+        }
+        notifyAll();
+    }
+
+    /**
+     * Stops the writer thread. Messages that are still queued are kept, as is the
+     * batch the writer had taken but not sent yet.
+     */
+    synchronized void stop() {
+        if (writer != null) {
+            writer.interrupt();
+            stopped = writer;
+            writer = null;
+        }
+    }
+
+    int size() {
+        return queue.size();
+    }
+
+    void setPolicy(PublishPolicy policy) {
+        this.policy = policy;
+    }
+
+    void setBatchSize(int batchSize) {
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    void setCoalesce(boolean coalesce) {
+        this.coalesce = coalesce;
+    }
+
+    private synchronized void start() {
+        if (writer == null) {
+            Thread previous = stopped;
+            stopped = null;
+            writer = new Thread(() -> write(previous), "ridge-socket-writer");
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+
+    /**
+     * Loop of the writer thread. It first waits for the stopped writer before it
+     * to exit, and sends the batch that writer left behind. Every pass takes what
+     * is queued, up to the batch size, or everything when coalescing, and sends
+     * it per destination.
+     *
+     * @param previous The stopped writer, or null if there is none.
+     */
+    private void write(Thread previous) {
+        try {
+            if (previous != null) {
+                previous.join();
+            }
+            while (true) {
+                if (pending.isEmpty()) {
+                    pending.add(queue.take());
+                    queue.drainTo(pending, coalesce ? Integer.MAX_VALUE : batchSize - 1);
+                }
+                StompSession current = awaitSession();
+
+                Map<String, List<byte[]>> grouped = new LinkedHashMap<>();
+                for (Outbound message : pending) {
+                    List<byte[]> payloads = grouped.computeIfAbsent(message.destination, k -> new ArrayList<>());
+                    if (coalesce) {
+                        payloads.clear();
+                    }
+                    payloads.add(message.payload);
+                }
+                grouped.forEach((destination, payloads) -> send(current, destination, payloads));
+                pending.clear();
+            }
+        } catch (InterruptedException e) {
+            LOGGER.info("Socket writer stopped, {} queued messages not sent", queue.size() + pending.size());
+        }
+    }
+
+    /**
+     * Sends the payloads of the destination, as arrays of up to the batch size.
+     *
+     * @param current     The session to send with.
+     * @param destination The destination to send to.
+     * @param payloads    The json payloads.
+     */
+    private void send(StompSession current, String destination, List<byte[]> payloads) {
+        StompHeaders headers = new StompHeaders();
+        headers.setDestination(destination);
+        headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+
+        MetricsRecorder recorder = metrics.get();
+        int size = batchSize;
+        for (int i = 0; i < payloads.size(); i += size) {
+            List<byte[]> batch = payloads.subList(i, Math.min(i + size, payloads.size()));
+            try {
+                current.send(headers, new Encoded(batch.size() == 1 ? batch.get(0) : array(batch)));
+                recorder.increment("socket.publish.sent " + destination, batch.size());
+            } catch (Exception e) {
+                recorder.increment("socket.publish.failures " + destination, batch.size());
+                LOGGER.warn("Could not publish {} messages to '{}'", batch.size(), destination, e);
+            }
+        }
+    }
+
+    /**
+     * Waits until the session is connected.
+     *
+     * @return The connected session.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    private synchronized StompSession awaitSession() throws InterruptedException {
+        StompSession current = session.get();
+        while (current == null || !current.isConnected()) {
+            wait(1000);
+            current = session.get();
+        }
+        return current;
+    }
+
+    /**
+     * Joins the json payloads into one json array.
+     *
+     * @param payloads The json payloads.
+     * @return The json array.
+     */
+    private static byte[] array(List<byte[]> payloads) {
+        int length = payloads.size() + 1;
+        for (byte[] payload : payloads) {
+            length += payload.length;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length);
+        out.write('[');
+        for (int i = 0; i < payloads.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(payloads.get(i), 0, payloads.get(i).length);
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+
+    /**
+     * Payload that is already serialized as json. The message converter of the
+     * client sends it as is, while other payloads are serialized by it.
+     */
+    static class Encoded {
+        final byte[] json;
+
+        private Encoded(byte[] json) {
+            this.json = json;
+        }
+    }
+
+    /**
+     * Serialized message waiting to be sent.
+     */
+    private static class Outbound {
+        private final String destination;
+
+        private final byte[] payload;
+
+        private Outbound(String destination, byte[] payload) {
+            this.destination = destination;
+            this.payload = payload;
+        }
+    }
+}
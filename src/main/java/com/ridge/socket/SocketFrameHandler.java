@@ -2,11 +2,13 @@ package com.ridge.socket;
 
 import java.lang.reflect.Type;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ridge.mapper.CodecRegistry;
+import com.ridge.metrics.MetricsRecorder;
 
 import org.springframework.messaging.simp.stomp.StompFrameHandler;
 import org.springframework.messaging.simp.stomp.StompHeaders;
 
+import rx.Observer;
 import rx.subjects.BehaviorSubject;
 
 /**
@@ -20,9 +22,13 @@ public class SocketFrameHandler<T> implements StompFrameHandler {
 
     private Class<T> clazz;
 
-    private BehaviorSubject<T> subject;
+    private Observer<? super T> subject;
 
-    private ObjectMapper objectMapper;
+    private CodecRegistry codecs;
+
+    private MetricsRecorder metrics = MetricsRecorder.NOOP;
+
+    private String messageMetric;
 
     /**
      * Constructor for handling async calls with a subject and mapping the request
@@ -32,9 +38,56 @@ public class SocketFrameHandler<T> implements StompFrameHandler {
      * @param subject The subject handler.
      */
     public SocketFrameHandler(Class<T> clazz, BehaviorSubject<T> subject) {
+        this(clazz, subject, CodecRegistry.getDefault());
+    }
+
+    /**
+     * Constructor for handling async calls with a subject and mapping the request
+     * payload to the desired class type using the given codec registry.
+     * 
+     * @param clazz   The Object the payload should be mapped too.
+     * @param subject The subject handler.
+     * @param codecs  The codec registry to map the payload with.
+     */
+    public SocketFrameHandler(Class<T> clazz, BehaviorSubject<T> subject, CodecRegistry codecs) {
         this.clazz = clazz;
         this.subject = subject;
-        this.objectMapper = new ObjectMapper();
+        this.codecs = codecs;
+    }
+
+    /**
+     * Constructor for passing the mapped payloads to any observer. Every frame
+     * received on the topic is counted to the metrics recorder.
+     * 
+     * @param clazz    The Object the payload should be mapped too.
+     * @param observer The observer of the payloads.
+     * @param codecs   The codec registry to map the payload with.
+     * @param metrics  The recorder to count frames to.
+     * @param topic    The topic the frames are received on.
+     */
+    public SocketFrameHandler(Class<T> clazz, Observer<? super T> observer, CodecRegistry codecs,
+            MetricsRecorder metrics, String topic) {
+        this.clazz = clazz;
+        this.subject = observer;
+        this.codecs = codecs;
+        this.metrics = metrics;
+        this.messageMetric = "socket.messages " + topic;
+    }
+
+    /**
+     * Constructor for handling async calls with a subject and mapping the request
+     * payload to the desired class type using the given codec registry. Every
+     * frame received on the topic is counted to the metrics recorder.
+     * 
+     * @param clazz   The Object the payload should be mapped too.
+     * @param subject The subject handler.
+     * @param codecs  The codec registry to map the payload with.
+     * @param metrics The recorder to count frames to.
+     * @param topic   The topic the frames are received on.
+     */
+    public SocketFrameHandler(Class<T> clazz, BehaviorSubject<T> subject, CodecRegistry codecs,
+            MetricsRecorder metrics, String topic) {
+        this(clazz, (Observer<? super T>) subject, codecs, metrics, topic);
     }
 
     @Override
@@ -44,7 +97,10 @@ public class SocketFrameHandler<T> implements StompFrameHandler {
 
     @Override
     public void handleFrame(StompHeaders headers, Object payload) {
-        T data = this.objectMapper.convertValue(payload, this.clazz);
+        if (this.messageMetric != null) {
+            this.metrics.increment(this.messageMetric);
+        }
+        T data = this.codecs.convertValue(payload, this.clazz);
         this.subject.onNext(data);
     }
 
@@ -1,6 +1,7 @@
 package com.ridge.socket;
 
 import java.lang.reflect.Type;
+import java.util.function.Consumer;
 
 import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaders;
@@ -8,32 +9,73 @@ import org.springframework.messaging.simp.stomp.StompSession;
 import org.springframework.messaging.simp.stomp.StompSessionHandler;
 
 /**
- * Default Stomp session handler.
- * 
+ * Default Stomp session handler. It can also wrap another handler, passing
+ * every callback on to it, and report when the connection of the session is
+ * lost. The session reports a lost connection as a transport error after it
+ * has already marked itself as disconnected.
+ *
  * @author Sam Butler
  * @since March 30, 2022
  */
 public class SocketSessionHandler implements StompSessionHandler {
 
+    private final StompSessionHandler delegate;
+
+    private final Consumer<StompSession> connectionLostListener;
+
+    /**
+     * Default handler that ignores every callback.
+     */
+    public SocketSessionHandler() {
+        this(null, null);
+    }
+
+    /**
+     * Handler that passes every callback on to the delegate and calls the
+     * listener once the connection of the session is lost.
+     *
+     * @param delegate               The handler to pass callbacks on to, or null.
+     * @param connectionLostListener The listener of lost connections, or null.
+     */
+    public SocketSessionHandler(StompSessionHandler delegate, Consumer<StompSession> connectionLostListener) {
+        this.delegate = delegate;
+        this.connectionLostListener = connectionLostListener;
+    }
+
     @Override
     public void afterConnected(StompSession session, StompHeaders headers) {
+        if (delegate != null) {
+            delegate.afterConnected(session, headers);
+        }
     }
 
     @Override
     public void handleFrame(StompHeaders headers, Object payload) {
+        if (delegate != null) {
+            delegate.handleFrame(headers, payload);
+        }
     }
 
     @Override
     public Type getPayloadType(StompHeaders headers) {
-        return null;
+        return delegate != null ? delegate.getPayloadType(headers) : null;
     }
 
     @Override
     public void handleException(StompSession session, StompCommand command, StompHeaders headers, byte[] payload,
             Throwable exception) {
+        if (delegate != null) {
+            delegate.handleException(session, command, headers, payload, exception);
+        }
     }
 
     @Override
     public void handleTransportError(StompSession session, Throwable exception) {
+        if (delegate != null) {
+            delegate.handleTransportError(session, exception);
+        }
+        if (connectionLostListener != null && !session.isConnected()) {
+            connectionLostListener.accept(session);
+        }
     }
 }
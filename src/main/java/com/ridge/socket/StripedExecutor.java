@@ -0,0 +1,210 @@
+package com.ridge.socket;
+
+import java.io.Closeable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.ridge.metrics.MetricsRecorder;
+
+/**
+ * Executor with a fixed number of single threaded stripes. Every task is run on
+ * the stripe its key hashes to, so tasks with the same key run one after the
+ * other in the order they were submitted while tasks with different keys run
+ * in parallel. The queue of a stripe is bounded. By default a task that does
+ * not fit waits for room, so no task is lost and the order per key is kept,
+ * while {@link OverflowPolicy#DROP} drops and counts it instead. Tasks
+ * submitted after the executor is closed are always dropped and counted.
+ *
+ * <blockquote>
+ *
+ * <pre>
+ * StripedExecutor dispatcher = new StripedExecutor(8);
+ * client.listen("/topic/update-system", CurrentSystemSettings.class, dispatcher, CurrentSystemSettings::getId,
+ *         res -> apply(res));
+ * </pre>
+ *
+ * </blockquote>
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+public class StripedExecutor implements Closeable {
+
+    /**
+     * What {@link StripedExecutor#execute(Object, Runnable)} does when the queue
+     * of the stripe is full.
+     */
+    public enum OverflowPolicy {
+        /** Wait for room in the queue of the stripe. */
+        BLOCK,
+        /** Drop the task and count it. */
+        DROP
+    }
+
+    private final ThreadPoolExecutor[] stripes;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile MetricsRecorder metrics = MetricsRecorder.NOOP;
+
+    /**
+     * Creates an executor with a stripe per available processor.
+     */
+    public StripedExecutor() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an executor with the given number of stripes, each queueing up to
+     * 1024 tasks.
+     *
+     * @param stripes The number of stripes.
+     */
+    public StripedExecutor(int stripes) {
+        this(stripes, 1024);
+    }
+
+    /**
+     * Creates an executor with the given number of stripes and queue capacity
+     * per stripe. Tasks that do not fit wait for room.
+     *
+     * @param stripes  The number of stripes.
+     * @param capacity The maximum number of tasks waiting on a stripe.
+     */
+    public StripedExecutor(int stripes, int capacity) {
+        this(stripes, capacity, OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * Creates an executor with the given number of stripes, queue capacity per
+     * stripe and what to do with tasks that do not fit.
+     *
+     * @param stripes  The number of stripes.
+     * @param capacity The maximum number of tasks waiting on a stripe.
+     * @param overflow What to do when the queue of a stripe is full.
+     */
+    public StripedExecutor(int stripes, int capacity, OverflowPolicy overflow) {
+        this.stripes = new ThreadPoolExecutor[Math.max(stripes, 1)];
+        for (int i = 0; i < this.stripes.length; i++) {
+            String name = "ridge-stripe-" + i;
+            String dropMetric = "socket.stripe.dropped " + i;
+            this.stripes[i] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(capacity, 1)), task -> {
+                        Thread thread = new Thread(task, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    }, (task, executor) -> {
+                        if (overflow == OverflowPolicy.BLOCK && !executor.isShutdown()) {
+                            try {
+                                executor.getQueue().put(task);
+                                return;
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        }
+                        dropped.incrementAndGet();
+                        metrics.increment(dropMetric);
+                    });
+        }
+    }
+
+    /**
+     * Runs the task on the stripe of the key. If the queue of the stripe is full
+     * this waits for room, or drops the task with {@link OverflowPolicy#DROP}.
+     * The task is dropped if the executor is closed or the wait is interrupted.
+     *
+     * @param key  The key of the task, tasks with equal keys run in order.
+     * @param task The task to run.
+     */
+    public void execute(Object key, Runnable task) {
+        int stripe = stripeOf(key);
+        MetricsRecorder recorder = metrics;
+        if (recorder == MetricsRecorder.NOOP) {
+            stripes[stripe].execute(task);
+            return;
+        }
+
+        String waitMetric = "socket.stripe.wait " + stripe;
+        long queued = System.nanoTime();
+        stripes[stripe].execute(() -> {
+            recorder.recordTime(waitMetric, System.nanoTime() - queued);
+            task.run();
+        });
+    }
+
+    /**
+     * Get the stripe the key is run on.
+     *
+     * @param key The key of a task.
+     * @return The index of the stripe.
+     */
+    public int stripeOf(Object key) {
+        int hash = key == null ? 0 : key.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), stripes.length);
+    }
+
+    /**
+     * Get the number of stripes.
+     *
+     * @return The number of stripes.
+     */
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * Get the number of tasks waiting on the stripe.
+     *
+     * @param stripe The index of the stripe.
+     * @return The depth of the queue of the stripe.
+     */
+    public int getQueueDepth(int stripe) {
+        return stripes[stripe].getQueue().size();
+    }
+
+    /**
+     * Get the number of tasks waiting on every stripe.
+     *
+     * @return The queue depths by stripe index.
+     */
+    public int[] getQueueDepths() {
+        int[] depths = new int[stripes.length];
+        for (int i = 0; i < stripes.length; i++) {
+            depths[i] = stripes[i].getQueue().size();
+        }
+        return depths;
+    }
+
+    /**
+     * Get the number of tasks dropped because the queue of their stripe was full
+     * with {@link OverflowPolicy#DROP}, or the executor was closed.
+     *
+     * @return The number of dropped tasks.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Set the recorder that the time tasks wait in the queue of each stripe and
+     * the dropped tasks are recorded to. Passing null will stop recording.
+     *
+     * @param metrics The metrics recorder to use.
+     */
+    public void setMetricsRecorder(MetricsRecorder metrics) {
+        this.metrics = metrics != null ? metrics : MetricsRecorder.NOOP;
+    }
+
+    /**
+     * Stops the stripes after the queued tasks have run. Tasks submitted after
+     * this are dropped.
+     */
+    @Override
+    public void close() {
+        for (ThreadPoolExecutor stripe : stripes) {
+            stripe.shutdown();
+        }
+    }
+}
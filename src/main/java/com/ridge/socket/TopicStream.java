@@ -0,0 +1,91 @@
+package com.ridge.socket;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import rx.Observable;
+import rx.Subscription;
+
+/**
+ * Observable of the payloads of a socket topic that is delivered off the
+ * transport thread. Each subscriber has its own bounded buffer, and payloads
+ * that do not fit are dropped according to the overflow strategy the topic was
+ * listened to with. Drops are counted per subscription, so a subscriber that
+ * falls behind can be told apart from the others, and in total. The topic is
+ * subscribed to when the first subscriber subscribes and unsubscribed from when
+ * the last one unsubscribes.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+public class TopicStream<T> extends Observable<T> {
+
+    private final String topic;
+
+    private final AtomicLong dropped;
+
+    private final Map<Subscription, AtomicLong> subscriptions;
+
+    /**
+     * Creates the stream of the topic.
+     *
+     * @param topic  The topic the payloads are received on.
+     * @param source Function that creates the buffered stream of a subscriber,
+     *               given the action its buffer calls for every drop.
+     */
+    TopicStream(String topic, Function<Runnable, Observable<T>> source) {
+        this(topic, source, new AtomicLong(), Collections.synchronizedMap(new WeakHashMap<>()));
+    }
+
+    private TopicStream(String topic, Function<Runnable, Observable<T>> source, AtomicLong dropped,
+            Map<Subscription, AtomicLong> subscriptions) {
+        super(subscriber -> {
+            AtomicLong subscriberDropped = new AtomicLong();
+            subscriptions.put(subscriber, subscriberDropped);
+            source.apply(() -> {
+                subscriberDropped.incrementAndGet();
+                dropped.incrementAndGet();
+            }).unsafeSubscribe(subscriber);
+        });
+        this.topic = topic;
+        this.dropped = dropped;
+        this.subscriptions = subscriptions;
+    }
+
+    /**
+     * Get the topic the payloads are received on.
+     *
+     * @return The URL of the topic.
+     */
+    public String getTopic() {
+        return topic;
+    }
+
+    /**
+     * Get the number of payloads dropped because a subscriber could not keep up,
+     * summed over every subscription of the stream.
+     *
+     * @return The number of dropped payloads.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Get the number of payloads dropped because the subscriber of the given
+     * subscription could not keep up. The count is kept for as long as the
+     * subscription is referenced.
+     *
+     * @param subscription The subscription returned when subscribing to this
+     *                     stream.
+     * @return The number of dropped payloads, or 0 if the subscription is not
+     *         one of this stream.
+     */
+    public long getDroppedCount(Subscription subscription) {
+        AtomicLong count = subscriptions.get(subscription);
+        return count == null ? 0 : count.get();
+    }
+}
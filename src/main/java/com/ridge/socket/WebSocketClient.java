@@ -1,8 +1,23 @@
 package com.ridge.socket;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.ridge.mapper.CodecRegistry;
+import com.ridge.metrics.MetricsRecorder;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
 import org.springframework.messaging.simp.stomp.StompSession;
 import org.springframework.messaging.simp.stomp.StompSessionHandler;
 import org.springframework.scheduling.TaskScheduler;
@@ -11,6 +26,12 @@ import org.springframework.util.concurrent.ListenableFuture;
 import org.springframework.web.socket.client.standard.StandardWebSocketClient;
 import org.springframework.web.socket.messaging.WebSocketStompClient;
 
+import rx.BackpressureOverflow;
+import rx.Observable;
+import rx.Scheduler;
+import rx.Subscription;
+import rx.observers.Observers;
+import rx.schedulers.Schedulers;
 import rx.subjects.BehaviorSubject;
 
 /**
@@ -23,25 +44,78 @@ import rx.subjects.BehaviorSubject;
  */
 public class WebSocketClient {
 
-    private final int RECONNECT_DELAY = 5000;
+    /**
+     * What {@link #publish(String, Object)} does when the outbound queue is full.
+     */
+    public enum PublishPolicy {
+        /** Wait for space in the queue. */
+        BLOCK,
+        /** Drop the message and return false. */
+        DROP,
+        /** Throw an {@link IllegalStateException}. */
+        FAIL
+    }
+
+    /**
+     * What a buffered listener does with payloads its subscriber can not keep up
+     * with.
+     */
+    public enum Overflow {
+        /** Buffer up to the buffer size and fail the stream when it overflows. */
+        BUFFER,
+        /** Drop the oldest buffered payload to make room for the new one. */
+        DROP_OLDEST,
+        /** Drop the new payload while the buffer is full. */
+        DROP_NEWEST,
+        /** Keep only the latest payload. */
+        LATEST
+    }
 
     private final Logger LOGGER = LoggerFactory.getLogger(WebSocketClient.class);
 
     private WebSocketStompClient stompClient;
 
-    private StompSession session;
+    private volatile StompSession session;
 
     private StompSessionHandler handler;
 
     private String url;
 
+    private CodecRegistry codecs = CodecRegistry.getDefault();
+
+    private final MeteredMessageConverter converter = new MeteredMessageConverter();
+
+    private volatile MetricsRecorder metrics = MetricsRecorder.NOOP;
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean resubscribeOnReconnect = false;
+
+    private volatile long reconnectDelay = 250;
+
+    private volatile long maxReconnectDelay = 30000;
+
+    private int publishCapacity = 1024;
+
+    private PublishPolicy publishPolicy = PublishPolicy.BLOCK;
+
+    private int publishBatchSize = 1;
+
+    private boolean publishCoalesce;
+
+    private OutboundQueue outbound;
+
     private boolean isAsync = false;
 
-    private boolean isForceDisconnect = false;
+    private volatile boolean isForceDisconnect = false;
+
+    private final AtomicBoolean connecting = new AtomicBoolean();
+
+    private Subscription reconnectWatch;
 
     private BehaviorSubject<StompSession> CONNECT_SUBJECT;
 
-    private BehaviorSubject<Void> DISCONNECT_SUBJECT;
+    private volatile BehaviorSubject<Void> DISCONNECT_SUBJECT;
 
     /**
      * Default empty constructor to initializing the object.
@@ -192,15 +266,47 @@ public class WebSocketClient {
      * @return {@link BehaviorSubject} of the connection status
      */
     public BehaviorSubject<StompSession> connectAsync() {
+        return connectAsync(false);
+    }
+
+    /**
+     * Starts the async connection on a seperate thread.
+     * 
+     * @param reconnecting If the connection was lost and is being reestablished.
+     * @return {@link BehaviorSubject} of the connection status
+     */
+    private BehaviorSubject<StompSession> connectAsync(boolean reconnecting) {
         this.isAsync = true;
+        if (!this.connecting.compareAndSet(false, true)) {
+            return this.CONNECT_SUBJECT;
+        }
         new Thread(() -> {
-            connect();
+            try {
+                connect(reconnecting);
+            } finally {
+                this.connecting.set(false);
+            }
             this.CONNECT_SUBJECT.onNext(this.session);
-            this.onDisconnect().filter(res -> !this.isForceDisconnect).switchMap(res -> this.reconnect()).subscribe();
+            watchDisconnect();
         }).start();
         return this.CONNECT_SUBJECT;
     }
 
+    /**
+     * Reconnects once the current session is lost, unless the client was
+     * disconnected on purpose. Each session gets its own disconnect subject and
+     * the watch of the previous session is unsubscribed first, so a lost session
+     * starts exactly one reconnect.
+     */
+    private synchronized void watchDisconnect() {
+        if (this.reconnectWatch != null) {
+            this.reconnectWatch.unsubscribe();
+        }
+        this.DISCONNECT_SUBJECT = BehaviorSubject.create();
+        this.reconnectWatch = this.onDisconnect().filter(res -> !this.isForceDisconnect).first()
+                .subscribe(res -> this.reconnect());
+    }
+
     /**
      * Establish a connection for the given url. The synchronous connect will not
      * handle reconnections to the server if it disconnects.
@@ -247,32 +353,57 @@ public class WebSocketClient {
      * the url is already set and the the desired handler is set. If not handler is
      * set it will use the default stomp session handler for the connection. The
      * synchronous connect will not handle reconnections to the server if it
-     * disconnects.
+     * disconnects. Failed attempts are retried with an exponential backoff and
+     * topics listened to before the client connected are subscribed to on the new
+     * session.
      * 
      * @throws InterruptedException If the connection could not be established.
      */
     public void connect() {
+        connect(false);
+    }
+
+    /**
+     * Connects with the socket, retrying with an exponential backoff. When the
+     * connection is being reestablished the first attempt is also delayed by a
+     * random part of the initial delay, so clients that lost their connection at
+     * the same time do not all reconnect at once.
+     * 
+     * @param reconnecting If the connection was lost and is being reestablished.
+     */
+    private void connect(boolean reconnecting) {
         this.isForceDisconnect = false;
         this.handler = this.handler == null ? new SocketSessionHandler() : this.handler;
 
+        if (reconnecting) {
+            sleep(ThreadLocalRandom.current().nextLong(this.reconnectDelay + 1));
+        }
+
+        int attempt = 0;
         do {
             LOGGER.info("Connecting to Socket url '{}'...", this.url);
+            long start = System.nanoTime();
             try {
-                ListenableFuture<StompSession> futureClient = stompClient.connect(this.url, this.handler);
+                ListenableFuture<StompSession> futureClient = stompClient.connect(this.url,
+                        new SocketSessionHandler(this.handler, this::connectionLost));
                 this.session = futureClient.get();
+                this.metrics.recordTime("socket.connect", System.nanoTime() - start);
                 break;
             } catch (Exception e) {
-                LOGGER.info("Could not establish connection. Reconnecting in {} seconds...", RECONNECT_DELAY / 1000);
-            }
-
-            try {
-                Thread.sleep(RECONNECT_DELAY);
-            } catch (InterruptedException e) {
-                LOGGER.info("Could not trigger thread to sleep.");
+                this.metrics.increment("socket.connect.failures");
+                long delay = backoff(attempt++);
+                LOGGER.info("Could not establish connection. Reconnecting in {} ms...", delay);
+                sleep(delay);
             }
         } while (this.session == null || !this.session.isConnected());
 
         LOGGER.info("Connection established with session id: '{}'", session.getSessionId());
+        resubscribe();
+        synchronized (this) {
+            if (this.outbound != null) {
+                this.outbound.connected();
+            }
+        }
     }
 
     /**
@@ -283,12 +414,13 @@ public class WebSocketClient {
      */
     public BehaviorSubject<StompSession> reconnect() {
         LOGGER.warn("Attempting reconnect...");
+        this.metrics.increment("socket.reconnects");
 
         if (this.session != null && !this.session.isConnected()) {
             if (this.isAsync) {
-                return this.connectAsync();
+                return this.connectAsync(true);
             } else {
-                this.connect();
+                this.connect(true);
                 this.onDisconnect();
                 return BehaviorSubject.create(this.session);
             }
@@ -299,7 +431,11 @@ public class WebSocketClient {
     /**
      * Listen to a socket topic and get the returned behavior subject of the
      * listner. This will take in the topic URL to listen too and the class type of
-     * the data being returned in the payload of the listener.
+     * the data being returned in the payload of the listener. If the client is not
+     * connected yet it is subscribed to once the connection is established. The
+     * subscription ends with the session, unless
+     * {@link #setResubscribeOnReconnect(boolean)} is enabled, in which case the
+     * topic is subscribed to again on reconnect, feeding the same subject.
      * 
      * <blockquote>
      * 
@@ -319,48 +455,421 @@ public class WebSocketClient {
      * @return {@link BehaviorSubject} of the listner.
      */
     public <T> BehaviorSubject<T> listen(String url, Class<T> clazz) {
+        return listen(url, clazz, false);
+    }
+
+    /**
+     * Listen to a socket topic, feeding the payloads to a new subject.
+     * 
+     * @param <T>        The class type of the payload.
+     * @param url        The URL to subscribe the socket too.
+     * @param clazz      The class type of the data.
+     * @param persistent If the topic is subscribed to again on reconnect even
+     *                   when resubscribing is disabled.
+     * @return {@link BehaviorSubject} of the listner.
+     */
+    private <T> BehaviorSubject<T> listen(String url, Class<T> clazz, boolean persistent) {
         BehaviorSubject<T> subject = BehaviorSubject.create();
-        this.session.subscribe(url, new SocketFrameHandler<T>(clazz, subject));
+        register(url, subject, persistent, new SocketFrameHandler<T>(clazz, subject, this.codecs, this.metrics, url));
         LOGGER.info("Listening to '{}'...", url);
         return subject;
     }
 
     /**
-     * Method that watches when the session connection is disconnected. Once it is
-     * it will submit the disconnect as a behavior subject.
+     * Listen to a socket topic with a bounded buffer per subscriber. Payloads are
+     * delivered on the io scheduler, so a slow subscriber does not hold up the
+     * connection, and payloads it can not keep up with are handled by the
+     * overflow strategy. The topic is subscribed to while the stream has
+     * subscribers.
      * 
-     * @return {@link BehaviorSubject} of the data.
+     * <blockquote>
+     * 
+     * <pre>
+     * TopicStream<CustomClass> stream = client.listen("/topic", CustomClass.class, Overflow.DROP_OLDEST, 256);
+     * stream.subscribe(res -> {
+     * });
+     * </pre>
+     * 
+     * </blockquote>
+     * 
+     * @param <T>        The class type of the payload.
+     * @param url        The URL to subscribe the socket too.
+     * @param clazz      The class type of the data.
+     * @param overflow   What to do with payloads that do not fit the buffer.
+     * @param bufferSize The number of payloads buffered per subscriber.
+     * @return {@link TopicStream} of the payloads.
      */
-    public BehaviorSubject<Void> onDisconnect() {
-        if (this.isAsync) {
-            this.DISCONNECT_SUBJECT = BehaviorSubject.create();
+    public <T> TopicStream<T> listen(String url, Class<T> clazz, Overflow overflow, int bufferSize) {
+        return listen(url, clazz, overflow, bufferSize, Schedulers.io());
+    }
+
+    /**
+     * Listen to a socket topic with a bounded buffer per subscriber, delivering
+     * the payloads on the given scheduler. Payloads that do not fit the buffer
+     * are handled by the overflow strategy and counted as dropped on the stream
+     * and to the metrics recorder.
+     * 
+     * @param <T>        The class type of the payload.
+     * @param url        The URL to subscribe the socket too.
+     * @param clazz      The class type of the data.
+     * @param overflow   What to do with payloads that do not fit the buffer.
+     * @param bufferSize The number of payloads buffered per subscriber.
+     * @param scheduler  The scheduler to deliver the payloads on.
+     * @return {@link TopicStream} of the payloads.
+     */
+    public <T> TopicStream<T> listen(String url, Class<T> clazz, Overflow overflow, int bufferSize,
+            Scheduler scheduler) {
+        MetricsRecorder recorder = this.metrics;
+        String dropMetric = "socket.dropped " + url;
+
+        long capacity = Math.max(bufferSize, 1);
+        BackpressureOverflow.Strategy strategy;
+        switch (overflow) {
+            case BUFFER:
+                strategy = BackpressureOverflow.ON_OVERFLOW_ERROR;
+                break;
+            case DROP_NEWEST:
+                strategy = BackpressureOverflow.ON_OVERFLOW_DROP_LATEST;
+                break;
+            case LATEST:
+                capacity = 1;
+                strategy = BackpressureOverflow.ON_OVERFLOW_DROP_OLDEST;
+                break;
+            default:
+                strategy = BackpressureOverflow.ON_OVERFLOW_DROP_OLDEST;
         }
 
-        new Thread(() -> {
-            while (this.session.isConnected()) {
+        long size = capacity;
+        Observable<T> shared = topic(url, clazz);
+        return new TopicStream<>(url, onDrop -> shared.onBackpressureBuffer(size, () -> {
+            onDrop.run();
+            recorder.increment(dropMetric);
+        }, strategy).observeOn(scheduler, 1));
+    }
+
+    /**
+     * Get the payloads of the topic, subscribed to while there are subscribers.
+     * The first subscriber listens to the topic, and the listener and its
+     * subscription are removed once the last subscriber unsubscribes. The topic
+     * is subscribed to again on reconnect, as the subscribers can not listen
+     * again themselves.
+     * 
+     * @param <T>   The class type of the payload.
+     * @param url   The URL to subscribe the socket too.
+     * @param clazz The class type of the data.
+     * @return Shared {@link Observable} of the payloads.
+     */
+    private <T> Observable<T> topic(String url, Class<T> clazz) {
+        return Observable.defer(() -> {
+            BehaviorSubject<T> subject = listen(url, clazz, true);
+            return subject.doOnUnsubscribe(() -> stopListening(url, subject));
+        }).share();
+    }
+
+    /**
+     * Listen to a socket topic of state snapshots, delivering only the latest
+     * value per key. Values that arrive while an older value of the same key is
+     * still waiting to be delivered replace it, so a subscriber that falls behind
+     * catches up with one value per key instead of every update. Payloads are
+     * delivered on the io scheduler, and the topic is subscribed to while the
+     * stream has subscribers.
+     * 
+     * <blockquote>
+     * 
+     * <pre>
+     * client.listenConflated("/topic/update-system", CurrentSystemSettings.class, CurrentSystemSettings::getId)
+     *         .subscribe(res -> {
+     *         });
+     * </pre>
+     * 
+     * </blockquote>
+     * 
+     * @param <T>          The class type of the payload.
+     * @param <K>          The type of the key.
+     * @param url          The URL to subscribe the socket too.
+     * @param clazz        The class type of the data.
+     * @param keyExtractor Function that gets the key of a payload.
+     * @return {@link TopicStream} of the payloads, counting replaced values as
+     *         dropped.
+     */
+    public <T, K> TopicStream<T> listenConflated(String url, Class<T> clazz,
+            Function<? super T, ? extends K> keyExtractor) {
+        return listenConflated(url, clazz, keyExtractor, Schedulers.io());
+    }
+
+    /**
+     * Listen to a socket topic of state snapshots, delivering only the latest
+     * value per key on the given scheduler. Replaced values are counted as
+     * dropped on the stream and to the metrics recorder.
+     * 
+     * @param <T>          The class type of the payload.
+     * @param <K>          The type of the key.
+     * @param url          The URL to subscribe the socket too.
+     * @param clazz        The class type of the data.
+     * @param keyExtractor Function that gets the key of a payload.
+     * @param scheduler    The scheduler to deliver the payloads on.
+     * @return {@link TopicStream} of the payloads.
+     */
+    public <T, K> TopicStream<T> listenConflated(String url, Class<T> clazz,
+            Function<? super T, ? extends K> keyExtractor, Scheduler scheduler) {
+        MetricsRecorder recorder = this.metrics;
+        String conflateMetric = "socket.conflated " + url;
+
+        Observable<T> shared = topic(url, clazz);
+        return new TopicStream<>(url, onConflate -> shared.lift(new KeyedConflation<T, K>(keyExtractor, scheduler,
+                () -> {
+                    onConflate.run();
+                    recorder.increment(conflateMetric);
+                })));
+    }
+
+    /**
+     * Listen to a socket topic, handling the payloads on the stripes of the
+     * dispatcher instead of the transport thread. Payloads with the same key are
+     * handled in the order they arrived, while payloads with different keys are
+     * handled in parallel, so the handler has to be thread safe. When the queue of
+     * a stripe is full the transport thread waits for room, so no payload is
+     * lost. A dispatcher created with {@link StripedExecutor.OverflowPolicy#DROP}
+     * drops those payloads and counts them instead.
+     * The topic is subscribed to again on reconnect, so listen only once.
+     * 
+     * <blockquote>
+     * 
+     * <pre>
+     * StripedExecutor dispatcher = new StripedExecutor();
+     * client.listen("/topic", CustomClass.class, dispatcher, CustomClass::getId, res -> {
+     * });
+     * </pre>
+     * 
+     * </blockquote>
+     * 
+     * @param <T>        The class type of the payload.
+     * @param url        The URL to subscribe the socket too.
+     * @param clazz      The class type of the data.
+     * @param dispatcher The executor to handle the payloads on.
+     * @param key        Function that gets the key of a payload.
+     * @param handler    The handler of the payloads.
+     */
+    public <T> void listen(String url, Class<T> clazz, StripedExecutor dispatcher, Function<? super T, ?> key,
+            Consumer<? super T> handler) {
+        register(url, handler, true, new SocketFrameHandler<T>(clazz, Observers.<T>create(data -> {
+            dispatcher.execute(key.apply(data), () -> {
                 try {
-                    Thread.sleep(1000);
+                    handler.accept(data);
                 } catch (Exception e) {
-                    LOGGER.info("Could not trigger thread to sleep.");
+                    LOGGER.warn("Listener of '{}' failed", url, e);
+                }
+            });
+        }), this.codecs, this.metrics, url));
+        LOGGER.info("Listening to '{}' on {} stripes...", url, dispatcher.getStripeCount());
+    }
+
+    /**
+     * Stop one listener of the topic. Only the listener that feeds the given
+     * subject or handler is unsubscribed, other listeners of the same topic keep
+     * receiving data. It will no longer be subscribed to on reconnect.
+     * 
+     * @param url    The URL of the topic to stop listening too.
+     * @param target The subject returned by {@link #listen(String, Class)} or the
+     *               handler passed to a listen call.
+     */
+    public void stopListening(String url, Object target) {
+        synchronized (this.listeners) {
+            for (Listener listener : this.listeners) {
+                if (listener.destination.equals(url) && listener.target == target) {
+                    this.listeners.remove(listener);
+                    listener.unsubscribe();
                 }
             }
-            LOGGER.warn("Socket disconnected from session id '{}'", this.session.getSessionId());
-            this.DISCONNECT_SUBJECT.onNext(null);
-        }).start();
+        }
+        LOGGER.info("Stopped listening to '{}'", url);
+    }
 
-        return this.DISCONNECT_SUBJECT;
+    /**
+     * Publish the payload to the destination. The payload is serialized as json
+     * on the calling thread and queued, and a single writer thread sends the
+     * queued messages once the session is connected. When the queue is full the
+     * publish policy decides if this call waits, drops the message or fails.
+     * 
+     * <blockquote>
+     * 
+     * <pre>
+     * WebSocketClient client = new WebSocketClient();
+     * client.setPublishQueue(4096, PublishPolicy.DROP);
+     * client.connectAsync("/api/websocket");
+     * client.publish("/app/lights", new LightUpdate(1, true));
+     * </pre>
+     * 
+     * </blockquote>
+     * 
+     * @param destination The destination to send the payload to.
+     * @param payload     The payload to send.
+     * @return True if the message was queued, false if it was dropped.
+     * @throws IllegalStateException If the queue is full and the policy is FAIL.
+     * @throws IllegalArgumentException If the payload could not be serialized.
+     */
+    public boolean publish(String destination, Object payload) {
+        byte[] json;
+        try {
+            json = this.codecs.writeValueAsBytes(payload);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Could not serialize payload for '" + destination + "'", e);
+        }
+
+        try {
+            return outbound().offer(destination, json);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Get the number of published messages waiting to be sent.
+     * 
+     * @return The depth of the outbound queue.
+     */
+    public int getPublishQueueDepth() {
+        OutboundQueue queue;
+        synchronized (this) {
+            queue = this.outbound;
+        }
+        return queue == null ? 0 : queue.size();
+    }
+
+    /**
+     * Method that watches when the session connection is disconnected. Once it is
+     * it will submit the disconnect as a behavior subject. The disconnect is
+     * reported by the session as soon as its transport closes, so no thread is
+     * kept watching the connection. When connected asynchronously every session
+     * has its own subject.
+     * 
+     * @return {@link BehaviorSubject} of the data.
+     */
+    public BehaviorSubject<Void> onDisconnect() {
+        BehaviorSubject<Void> subject = this.DISCONNECT_SUBJECT;
+        if (this.session != null && !this.session.isConnected() && !this.isForceDisconnect) {
+            subject.onNext(null);
+        }
+        return subject;
     }
 
     /**
-     * Close the current session.
+     * Close the current session and stop the writer of published messages.
      */
     public void disconnect() {
         LOGGER.info("Disconnecting websocket...");
         this.isForceDisconnect = true;
+        synchronized (this) {
+            if (this.reconnectWatch != null) {
+                this.reconnectWatch.unsubscribe();
+                this.reconnectWatch = null;
+            }
+            if (this.outbound != null) {
+                this.outbound.stop();
+            }
+        }
         this.session.disconnect();
         this.DISCONNECT_SUBJECT.onNext(null);
     }
 
+    /**
+     * Set the codec registry used to map payloads of the socket topics. Frames
+     * are decoded with the mapper of the registry from this point on, but only
+     * listeners added after this call will map their payloads with the new
+     * registry.
+     * 
+     * @param codecs The codec registry to use.
+     */
+    public void setCodecRegistry(CodecRegistry codecs) {
+        this.codecs = codecs;
+        this.converter.setCodecRegistry(codecs);
+    }
+
+    /**
+     * Set the recorder that socket metrics are recorded to. The connect time,
+     * connect failures and reconnects are recorded, along with the number of
+     * messages per topic and the time spent decoding the frames of each topic.
+     * Only listeners added after this call will count their messages to it.
+     * Passing null will stop recording.
+     * 
+     * @param metrics The metrics recorder to use.
+     */
+    public void setMetricsRecorder(MetricsRecorder metrics) {
+        this.metrics = metrics != null ? metrics : MetricsRecorder.NOOP;
+    }
+
+    /**
+     * Set if listened topics are subscribed to again when the connection is
+     * reestablished. Disabled by default, so listeners end with the session they
+     * were subscribed on and callers listen again on every connect. When enabled,
+     * listen only once and the same subjects keep receiving data across
+     * reconnects. Topic streams and striped listeners are always subscribed to
+     * again.
+     * 
+     * @param resubscribe If topics are subscribed to again on reconnect.
+     */
+    public void setResubscribeOnReconnect(boolean resubscribe) {
+        this.resubscribeOnReconnect = resubscribe;
+    }
+
+    /**
+     * Set the backoff of the reconnect attempts. The delay between attempts starts
+     * at the initial delay and doubles after every failed attempt up to the
+     * maximum delay. Each delay is randomized between half and all of its value.
+     * 
+     * @param initialMillis The delay after the first failed attempt.
+     * @param maxMillis     The maximum delay between attempts.
+     */
+    public void setReconnectBackoff(long initialMillis, long maxMillis) {
+        this.reconnectDelay = Math.max(initialMillis, 1);
+        this.maxReconnectDelay = Math.max(maxMillis, this.reconnectDelay);
+    }
+
+    /**
+     * Set the size of the outbound queue and what {@link #publish(String, Object)}
+     * does when it is full. The capacity only takes effect if nothing has been
+     * published yet. Defaults to 1024 messages and {@link PublishPolicy#BLOCK}.
+     * 
+     * @param capacity The maximum number of queued messages.
+     * @param policy   What to do when the queue is full.
+     */
+    public synchronized void setPublishQueue(int capacity, PublishPolicy policy) {
+        this.publishCapacity = capacity;
+        this.publishPolicy = policy;
+        if (this.outbound != null) {
+            this.outbound.setPolicy(policy);
+        }
+    }
+
+    /**
+     * Set how many queued messages of the same destination are sent together as
+     * one json array. The receiver of the destination has to accept an array. A
+     * size of 1, the default, sends every message on its own.
+     * 
+     * @param batchSize The maximum number of messages per frame.
+     */
+    public synchronized void setPublishBatchSize(int batchSize) {
+        this.publishBatchSize = batchSize;
+        if (this.outbound != null) {
+            this.outbound.setBatchSize(batchSize);
+        }
+    }
+
+    /**
+     * Set if only the newest queued message of a destination is sent. This suits
+     * destinations that receive state where older values are replaced by newer
+     * ones.
+     * 
+     * @param coalesce If queued messages are coalesced per destination.
+     */
+    public synchronized void setPublishCoalescing(boolean coalesce) {
+        this.publishCoalesce = coalesce;
+        if (this.outbound != null) {
+            this.outbound.setCoalesce(coalesce);
+        }
+    }
+
     /**
      * Get the currently active session.
      * 
@@ -370,12 +879,109 @@ public class WebSocketClient {
         return this.session;
     }
 
+    /**
+     * Called by the session handler once the connection of a session is lost.
+     * Sessions that have already been replaced are ignored.
+     * 
+     * @param lost The session that lost its connection.
+     */
+    private void connectionLost(StompSession lost) {
+        if (lost != this.session || this.isForceDisconnect) {
+            return;
+        }
+        LOGGER.warn("Socket disconnected from session id '{}'", lost.getSessionId());
+        this.DISCONNECT_SUBJECT.onNext(null);
+    }
+
+    /**
+     * Get the outbound queue, creating it on first use.
+     * 
+     * @return The {@link OutboundQueue} of published messages.
+     */
+    private synchronized OutboundQueue outbound() {
+        if (this.outbound == null) {
+            this.outbound = new OutboundQueue(this.publishCapacity, this.publishPolicy, this.publishBatchSize,
+                    this.publishCoalesce, () -> this.session, () -> this.metrics);
+        }
+        return this.outbound;
+    }
+
+    /**
+     * Adds the frame handler to the registry and subscribes it to the topic if
+     * the session is connected.
+     * 
+     * @param url        The URL of the topic.
+     * @param target     The subject or handler the frames are passed to.
+     * @param persistent If the topic is subscribed to again on reconnect even
+     *                   when resubscribing is disabled.
+     * @param handler    The frame handler of the topic.
+     */
+    private void register(String url, Object target, boolean persistent, StompFrameHandler handler) {
+        Listener listener = new Listener(url, target, persistent, handler);
+        synchronized (this.listeners) {
+            this.listeners.add(listener);
+            StompSession current = this.session;
+            if (current != null && current.isConnected()) {
+                listener.subscribe(current);
+            }
+        }
+    }
+
+    /**
+     * Subscribes every registered listener that is not subscribed on the current
+     * session yet. Listeners of a lost session are dropped instead, unless topics
+     * are resubscribed on reconnect or the listener is persistent.
+     */
+    private void resubscribe() {
+        synchronized (this.listeners) {
+            StompSession current = this.session;
+            for (Listener listener : this.listeners) {
+                if (listener.session != null && listener.session != current && !this.resubscribeOnReconnect
+                        && !listener.persistent) {
+                    this.listeners.remove(listener);
+                } else if (listener.session != current) {
+                    try {
+                        listener.subscribe(current);
+                        LOGGER.info("Resubscribed to '{}'", listener.destination);
+                    } catch (Exception e) {
+                        LOGGER.warn("Could not resubscribe to '{}'", listener.destination, e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the delay before the next connect attempt.
+     * 
+     * @param attempt The number of failed attempts before this one.
+     * @return The delay in milliseconds.
+     */
+    private long backoff(int attempt) {
+        long ceiling = Math.min(this.maxReconnectDelay, this.reconnectDelay << Math.min(attempt, 30));
+        return ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling - ceiling / 2 + 1);
+    }
+
+    /**
+     * Sleep the current thread.
+     * 
+     * @param millis The time to sleep in milliseconds.
+     */
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            LOGGER.info("Could not trigger thread to sleep.");
+        }
+    }
+
     /**
      * Initializes the stomp client for the service.
      */
     private void initClient() {
         stompClient = new WebSocketStompClient(new StandardWebSocketClient());
-        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        converter.setCodecRegistry(codecs);
+        stompClient.setMessageConverter(converter);
         stompClient.setDefaultHeartbeat(new long[] { 20000, 20000 });
         stompClient.setTaskScheduler(taskScheduler());
     }
@@ -391,4 +997,88 @@ public class WebSocketClient {
         ts.afterPropertiesSet();
         return ts;
     }
+
+    /**
+     * Topic subscription that is kept across sessions.
+     */
+    private static class Listener {
+        private final String destination;
+
+        private final Object target;
+
+        private final boolean persistent;
+
+        private final StompFrameHandler handler;
+
+        private StompSession session;
+
+        private StompSession.Subscription subscription;
+
+        private Listener(String destination, Object target, boolean persistent, StompFrameHandler handler) {
+            this.destination = destination;
+            this.target = target;
+            this.persistent = persistent;
+            this.handler = handler;
+        }
+
+        private void subscribe(StompSession session) {
+            this.subscription = session.subscribe(this.destination, this.handler);
+            this.session = session;
+        }
+
+        private void unsubscribe() {
+            if (this.subscription != null && this.session.isConnected()) {
+                this.subscription.unsubscribe();
+            }
+        }
+    }
+
+    /**
+     * Message converter that records the time spent decoding the payload of each
+     * frame by its destination. Payloads that are already serialized are sent as
+     * is.
+     */
+    private class MeteredMessageConverter extends MappingJackson2MessageConverter {
+
+        /**
+         * Decode frames with a copy of the mapper of the registry, so the modules
+         * registered on it apply to socket payloads. Unknown properties are
+         * ignored as they are by the default converter.
+         *
+         * @param codecs The codec registry to decode with.
+         */
+        private void setCodecRegistry(CodecRegistry codecs) {
+            setObjectMapper(
+                    codecs.getMapper().copy().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false));
+        }
+
+        @Override
+        protected boolean canConvertTo(Object payload, MessageHeaders headers) {
+            return payload instanceof OutboundQueue.Encoded || super.canConvertTo(payload, headers);
+        }
+
+        @Override
+        protected Object convertToInternal(Object payload, MessageHeaders headers, Object conversionHint) {
+            if (payload instanceof OutboundQueue.Encoded) {
+                return ((OutboundQueue.Encoded) payload).json;
+            }
+            return super.convertToInternal(payload, headers, conversionHint);
+        }
+
+        @Override
+        protected Object convertFromInternal(Message<?> message, Class<?> targetClass, Object conversionHint) {
+            MetricsRecorder recorder = metrics;
+            if (recorder == MetricsRecorder.NOOP) {
+                return super.convertFromInternal(message, targetClass, conversionHint);
+            }
+
+            long start = System.nanoTime();
+            try {
+                return super.convertFromInternal(message, targetClass, conversionHint);
+            } finally {
+                recorder.recordTime("socket.decode " + SimpMessageHeaderAccessor.getDestination(message.getHeaders()),
+                        System.nanoTime() - start);
+            }
+        }
+    }
 }
@@ -0,0 +1,106 @@
+package com.ridge.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ApiClientConfig}.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class ApiClientConfigTest {
+
+    @Test
+    void httpClientIsBuiltFromTheSettings() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            ApiClientConfig config = new ApiClientConfig();
+            config.setVersion(Version.HTTP_1_1);
+            config.setConnectTimeout(Duration.ofSeconds(3));
+            config.setExecutor(executor);
+
+            HttpClient client = config.buildHttpClient();
+
+            assertEquals(Version.HTTP_1_1, client.version());
+            assertEquals(Duration.ofSeconds(3), client.connectTimeout().orElse(null));
+            assertSame(executor, client.executor().orElse(null));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void buildingAClientLeavesTheGlobalPoolSettingsAlone() {
+        String poolSize = System.getProperty("jdk.httpclient.connectionPoolSize");
+        String keepAlive = System.getProperty("jdk.httpclient.keepalive.timeout");
+
+        new ApiClientConfig().buildHttpClient();
+
+        assertEquals(poolSize, System.getProperty("jdk.httpclient.connectionPoolSize"));
+        assertEquals(keepAlive, System.getProperty("jdk.httpclient.keepalive.timeout"));
+    }
+
+    @Test
+    void defaultDecodePoolIsBounded() {
+        Executor decoder = new ApiClientConfig().getDecodeExecutor();
+
+        assertTrue(decoder instanceof ThreadPoolExecutor);
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) decoder;
+        assertTrue(pool.getMaximumPoolSize() < Integer.MAX_VALUE);
+        assertTrue(pool.getQueue().remainingCapacity() < Integer.MAX_VALUE);
+        assertTrue(pool.getRejectedExecutionHandler() instanceof ThreadPoolExecutor.AbortPolicy);
+    }
+
+    @Test
+    void rejectedDecodesFailTheRequestInsteadOfRunningInline() throws Exception {
+        try (TestHttpServer server = new TestHttpServer()) {
+            server.json("/items/1", "{\"id\":1}");
+            ApiClientConfig config = new ApiClientConfig();
+            config.setDecodeExecutor(task -> {
+                throw new RejectedExecutionException("full");
+            });
+            ApiClient client = new ApiClient(server.getUrl(), config);
+
+            ExecutionException error = assertThrows(ExecutionException.class,
+                    () -> client.getFuture("/items/1", Item.class).get(5, TimeUnit.SECONDS));
+
+            assertTrue(error.getCause() instanceof RejectedExecutionException, String.valueOf(error.getCause()));
+        }
+    }
+
+    @Test
+    void requestTimeoutFailsSlowRequests() throws Exception {
+        try (TestHttpServer server = new TestHttpServer()) {
+            server.handle("/slow", exchange -> {
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                TestHttpServer.respond(exchange, 200, "{}");
+            });
+            ApiClientConfig config = new ApiClientConfig();
+            config.setRequestTimeout(Duration.ofMillis(100));
+            ApiClient client = new ApiClient(server.getUrl(), config);
+
+            assertThrows(HttpTimeoutException.class, () -> client.get("/slow", Item.class));
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.ridge.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ApiClient} against a local http server.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class ApiClientTest {
+
+    private TestHttpServer server;
+
+    private ApiClient client;
+
+    private final CountDownLatch unblock = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new TestHttpServer();
+        client = new ApiClient(server.getUrl());
+    }
+
+    @AfterEach
+    void tearDown() {
+        unblock.countDown();
+        server.close();
+    }
+
+    @Test
+    void typedGetIsDecodedFromTheByteStream() throws Exception {
+        server.json("/items/1", "{\"id\":1,\"name\":\"first\"}");
+
+        Item item = client.get("/items/1", Item.class);
+
+        assertEquals(1, item.getId());
+        assertEquals("first", item.getName());
+    }
+
+    @Test
+    void malformedBodyFailsWithTheParseError() {
+        server.json("/items/2", "{\"id\":");
+
+        assertThrows(IOException.class, () -> client.get("/items/2", Item.class));
+    }
+
+    @Test
+    void streamEmitsTheElementsOfAJsonArray() {
+        server.json("/items", "[{\"id\":1},{\"id\":2},{\"id\":3}]");
+
+        List<Item> items = client.stream("/items", Item.class).toList().toBlocking().single();
+
+        assertEquals(List.of(1, 2, 3), items.stream().map(Item::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void cancellingAFutureAbortsTheExchangeAndReleasesItsPermit() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, Duration.ofSeconds(10), 10);
+        client.setConcurrencyLimiter(limiter);
+        blockOn("/slow");
+        server.json("/items/1", "{\"id\":1}");
+
+        CompletableFuture<Item> slow = client.getFuture("/slow", Item.class);
+        assertTrue(await(() -> server.hits("/slow") == 1));
+        slow.cancel(true);
+
+        assertTrue(await(() -> limiter.getInFlight("127.0.0.1") == 0));
+        assertEquals(1, client.getFuture("/items/1", Item.class).get(5, TimeUnit.SECONDS).getId());
+    }
+
+    @Test
+    void cancellingAQueuedFutureNeverSendsTheRequest() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, Duration.ofSeconds(10), 10);
+        client.setConcurrencyLimiter(limiter);
+        blockOn("/slow");
+        server.json("/items/1", "{\"id\":1}");
+
+        CompletableFuture<Item> slow = client.getFuture("/slow", Item.class);
+        CompletableFuture<Item> queued = client.getFuture("/items/1", Item.class);
+        assertTrue(await(() -> limiter.getQueueDepth("127.0.0.1") == 1));
+        queued.cancel(true);
+        unblock.countDown();
+
+        assertEquals(1, slow.get(5, TimeUnit.SECONDS).getId());
+        assertTrue(await(() -> limiter.getInFlight("127.0.0.1") == 0));
+        assertEquals(0, server.hits("/items/1"));
+    }
+
+    private void blockOn(String path) {
+        server.handle(path, exchange -> {
+            try {
+                unblock.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            TestHttpServer.respond(exchange, 200, "{\"id\":1}");
+        });
+    }
+
+    private static boolean await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+}
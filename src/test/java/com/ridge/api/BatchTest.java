@@ -0,0 +1,117 @@
+package com.ridge.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the batch apis of {@link ApiClient}.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class BatchTest {
+
+    private TestHttpServer server;
+
+    private ApiClient client;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new TestHttpServer();
+        client = new ApiClient(server.getUrl());
+        server.handle("/items/", exchange -> {
+            String id = exchange.getRequestURI().getPath().substring("/items/".length());
+            track(() -> TestHttpServer.respond(exchange, 200,
+                    "bad".equals(id) ? "{\"id\":" : "{\"id\":" + id + "}"));
+        });
+        server.handle("/echo", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            track(() -> TestHttpServer.respond(exchange, 200, body));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void getAllReturnsResultsInOrderWithBoundedConcurrency() throws Exception {
+        List<String> apis = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            apis.add("/items/" + i);
+        }
+
+        List<BatchResult<Item>> results = client.getAll(apis, Item.class, 3).get(10, TimeUnit.SECONDS);
+
+        assertEquals(20, results.size());
+        for (int i = 0; i < 20; i++) {
+            assertTrue(results.get(i).isSuccess());
+            assertEquals(i, results.get(i).getValue().getId());
+        }
+        assertTrue(maxInFlight.get() <= 3, "max in flight was " + maxInFlight.get());
+    }
+
+    @Test
+    void failedRequestsDoNotFailTheBatch() throws Exception {
+        List<BatchResult<Item>> results = client.getAll(List.of("/items/1", "/items/bad", "/items/3"), Item.class, 2)
+                .get(10, TimeUnit.SECONDS);
+
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertTrue(results.get(1).getError() != null);
+        assertEquals(3, results.get(2).getValue().getId());
+    }
+
+    @Test
+    void postAllReturnsResultsInTheOrderOfTheBodies() throws Exception {
+        List<Item> bodies = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            bodies.add(new Item(i, "item-" + i));
+        }
+
+        List<BatchResult<Item>> results = client.postAll("/echo", bodies, Item.class, 4).get(10, TimeUnit.SECONDS);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("item-" + i, results.get(i).getValue().getName());
+        }
+        assertTrue(maxInFlight.get() <= 4, "max in flight was " + maxInFlight.get());
+    }
+
+    /**
+     * Responds after a random delay. The request counts as in flight until just
+     * before the response is sent.
+     */
+    private void track(Respond respond) throws IOException {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(5, 25));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+        respond.run();
+    }
+
+    private interface Respond {
+        void run() throws IOException;
+    }
+}
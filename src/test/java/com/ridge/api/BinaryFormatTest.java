@@ -0,0 +1,129 @@
+package com.ridge.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import com.ridge.mapper.CodecRegistry;
+import com.ridge.mapper.JSONMapper;
+import com.sun.net.httpserver.HttpExchange;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the binary content negotiation of {@link ApiClient}.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class BinaryFormatTest {
+
+    private final CodecRegistry codecs = new CodecRegistry();
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+
+    private TestHttpServer server;
+
+    private ApiClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new TestHttpServer();
+        client = new ApiClient(server.getUrl());
+        client.setBinaryFormat(true);
+
+        server.handle("/smile", exchange -> {
+            Item item = read(exchange);
+            boolean binary = exchange.getRequestHeaders().getFirst("Accept").contains(CodecRegistry.SMILE_CONTENT_TYPE);
+            byte[] body = binary ? codecs.writeValueAsBinary(item) : codecs.writeValueAsBytes(item);
+            exchange.getResponseHeaders().set("Content-Type",
+                    binary ? CodecRegistry.SMILE_CONTENT_TYPE : "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.handle("/json", exchange -> {
+            Item item = read(exchange);
+            TestHttpServer.respond(exchange, 200, codecs.writeValueAsString(item));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void typedRequestsAcceptTheBinaryFormatAndDecodeIt() throws Exception {
+        Item item = client.get("/smile/1", Item.class);
+
+        assertEquals(1, item.getId());
+        assertTrue(requests.get(0).startsWith("GET " + CodecRegistry.SMILE_CONTENT_TYPE + ", application/json"));
+    }
+
+    @Test
+    void postsAreSentBinaryOnceTheHostAnsweredWithBinaryData() throws Exception {
+        client.post("/smile/1", new Item(1, "first"), Item.class);
+        client.get("/smile/2", Item.class);
+        Item echoed = client.post("/smile/3", new Item(3, "third"), Item.class);
+
+        assertEquals("third", echoed.getName());
+        assertEquals(List.of("POST application/json", "GET application/json", "POST " + CodecRegistry.SMILE_CONTENT_TYPE),
+                requests.stream().map(this::methodAndContentType).collect(Collectors.toList()));
+    }
+
+    @Test
+    void hostsThatOnlySpeakJsonKeepGettingJson() throws Exception {
+        client.get("/json/1", Item.class);
+        Item echoed = client.post("/json/2", new Item(2, "second"), Item.class);
+
+        assertEquals("second", echoed.getName());
+        assertEquals("POST application/json", methodAndContentType(requests.get(1)));
+    }
+
+    @Test
+    void untypedRequestsOnlyAcceptJson() throws Exception {
+        client.get("/smile/1", Item.class);
+        client.post("/smile/2", new Item(2, "second"));
+
+        assertEquals("POST application/json application/json", requests.get(1));
+    }
+
+    @Test
+    void jsonMapperDetectsTheFormatOfBytes() {
+        Item item = new Item(4, "fourth");
+
+        assertEquals("fourth", JSONMapper.convert(JSONMapper.mapObjectToBytes(item), Item.class).getName());
+        assertEquals(4, JSONMapper.convert("{\"id\":4}".getBytes(), Item.class).getId());
+    }
+
+    /**
+     * Records the request as "method accept content-type" and reads its body,
+     * or makes an item of the last path segment when it has none.
+     */
+    private Item read(HttpExchange exchange) throws IOException {
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        requests.add(exchange.getRequestMethod() + " " + exchange.getRequestHeaders().getFirst("Accept") + " "
+                + contentType);
+
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        if (body.length == 0) {
+            String path = exchange.getRequestURI().getPath();
+            return new Item(Integer.parseInt(path.substring(path.lastIndexOf('/') + 1)), null);
+        }
+        return CodecRegistry.isBinary(contentType) ? codecs.readBinary(body, Item.class)
+                : codecs.readValue(body, Item.class);
+    }
+
+    private String methodAndContentType(String request) {
+        return request.substring(0, request.indexOf(' ')) + " " + request.substring(request.lastIndexOf(' ') + 1);
+    }
+}
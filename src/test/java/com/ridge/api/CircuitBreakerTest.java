@@ -0,0 +1,165 @@
+package com.ridge.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link CircuitBreaker}.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class CircuitBreakerTest {
+
+    private static final URI URI_A = URI.create("http://a.example.com/items");
+
+    private final CircuitBreaker breaker = new CircuitBreaker();
+
+    private final List<String> changes = new CopyOnWriteArrayList<>();
+
+    CircuitBreakerTest() {
+        breaker.setWindow(4, 4);
+        breaker.setFailureRateThreshold(0.5);
+        breaker.setHalfOpenCalls(2);
+        breaker.onStateChange().subscribe(change -> changes.add(change.toString()));
+    }
+
+    @Test
+    void opensOnceTheFailureRatePassesTheThreshold() {
+        release(false, false, true);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState("a.example.com"));
+
+        release(true);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState("a.example.com"));
+        assertThrows(CircuitBreakerOpenException.class, () -> breaker.acquire(URI_A));
+    }
+
+    @Test
+    void closesAgainOnceTheTrialCallsSucceed() throws Exception {
+        breaker.setOpenDuration(Duration.ofMillis(20));
+        release(true, true, true, true);
+        Thread.sleep(30);
+
+        CircuitBreaker.Permit first = breaker.acquire(URI_A);
+        CircuitBreaker.Permit second = breaker.acquire(URI_A);
+        assertThrows(CircuitBreakerOpenException.class, () -> breaker.acquire(URI_A));
+        first.release(false);
+        second.release(false);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState("a.example.com"));
+        assertEquals(List.of("a.example.com: CLOSED -> OPEN", "a.example.com: OPEN -> HALF_OPEN",
+                "a.example.com: HALF_OPEN -> CLOSED"), changes);
+    }
+
+    @Test
+    void reopensWhenATrialCallFails() throws Exception {
+        breaker.setOpenDuration(Duration.ofMillis(20));
+        release(true, true, true, true);
+        Thread.sleep(30);
+
+        breaker.acquire(URI_A).release(true);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState("a.example.com"));
+    }
+
+    @Test
+    void permitsFromBeforeAStateChangeAreIgnored() {
+        CircuitBreaker.Permit stale = breaker.acquire(URI_A);
+        release(true, true, true, true);
+
+        stale.release(false);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState("a.example.com"));
+    }
+
+    @Test
+    void cancelledTrialCallsLetAnotherTrialThrough() throws Exception {
+        breaker.setOpenDuration(Duration.ofMillis(20));
+        release(true, true, true, true);
+        Thread.sleep(30);
+
+        CircuitBreaker.Permit first = breaker.acquire(URI_A);
+        CircuitBreaker.Permit cancelled = breaker.acquire(URI_A);
+        cancelled.cancel();
+        CircuitBreaker.Permit second = breaker.acquire(URI_A);
+        first.release(false);
+        second.release(false);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState("a.example.com"));
+    }
+
+    @Test
+    void slowCallsOpenTheBreaker() {
+        breaker.setSlowCallThreshold(0.5, Duration.ZERO);
+
+        release(false, false, false, false);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState("a.example.com"));
+    }
+
+    @Test
+    void breakersAreKeptPerEndpointWhenEnabled() {
+        breaker.setPerEndpoint(true);
+        release(true, true, true, true);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState("a.example.com/items"));
+        breaker.acquire(URI.create("http://a.example.com/other")).release(false);
+    }
+
+    @Test
+    void apiClientFailsFastWhileTheBreakerIsOpen() throws Exception {
+        try (TestHttpServer server = new TestHttpServer()) {
+            server.handle("/broken", exchange -> TestHttpServer.respond(exchange, 500, "{}"));
+            ApiClient client = new ApiClient(server.getUrl());
+            client.setCircuitBreaker(breaker);
+
+            for (int i = 0; i < 4; i++) {
+                client.get("/broken", Item.class);
+            }
+
+            assertThrows(CircuitBreakerOpenException.class, () -> client.get("/broken", Item.class));
+            assertEquals(4, server.hits("/broken"));
+        }
+    }
+
+    @Test
+    void endpointsWithIdentifiersShareTheBreakerOfTheirTemplate() {
+        breaker.setPerEndpoint(true);
+        for (int id = 1; id <= 4; id++) {
+            breaker.acquire(URI.create("http://a.example.com/users/" + id)).release(true);
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState("a.example.com/users/{}"));
+        assertThrows(CircuitBreakerOpenException.class,
+                () -> breaker.acquire(URI.create("http://a.example.com/users/5")));
+    }
+
+    @Test
+    void endpointsPastTheMaxUseTheBreakerOfTheirHost() {
+        breaker.setPerEndpoint(true);
+        for (int i = 0; i < 1024; i++) {
+            breaker.acquire(URI.create("http://a.example.com/path" + (char) ('a' + i % 26) + "/" + i / 26 + "x"))
+                    .release(false);
+        }
+        for (int i = 0; i < 4; i++) {
+            breaker.acquire(URI.create("http://a.example.com/new/endpoint" + (char) ('a' + i))).release(true);
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState("a.example.com"));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState("a.example.com/new/endpointa"));
+    }
+
+    private void release(boolean... failures) {
+        for (boolean failed : failures) {
+            breaker.acquire(URI_A).release(failed);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.ridge.api;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.DeflaterOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Compression} and compressed exchanges of {@link ApiClient}.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class CompressionTest {
+
+    private TestHttpServer server;
+
+    private ApiClient client;
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new TestHttpServer();
+        client = new ApiClient(server.getUrl());
+        client.setCompression(true);
+        client.setCompressionThreshold(64);
+        server.handle("/gzip", exchange -> {
+            String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+            byte[] body = Compression.decode(exchange.getRequestBody().readAllBytes(), encoding);
+            requests.add(encoding + " " + exchange.getRequestHeaders().getFirst("Accept-Encoding") + " "
+                    + new String(body, StandardCharsets.UTF_8));
+
+            byte[] response = Compression.gzip(
+                    (body.length > 0 ? body : "{\"id\":1}".getBytes(StandardCharsets.UTF_8)));
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void gzipRoundTrip() throws Exception {
+        byte[] data = "{\"name\":\"compressed\"}".getBytes(StandardCharsets.UTF_8);
+
+        assertArrayEquals(data, Compression.decode(Compression.gzip(data), "gzip"));
+        assertArrayEquals(data, Compression.decode(data, null));
+        assertArrayEquals(data, Compression.decode(data, "identity"));
+    }
+
+    @Test
+    void deflateBodiesAreDecoded() throws Exception {
+        byte[] data = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflate = new DeflaterOutputStream(out)) {
+            deflate.write(data);
+        }
+
+        assertArrayEquals(data, Compression.decode(out.toByteArray(), "deflate"));
+    }
+
+    @Test
+    void typedResponsesAreDecompressedWhileTheyAreRead() throws Exception {
+        assertEquals(1, client.get("/gzip", Item.class).getId());
+        assertTrue(requests.get(0).startsWith("null " + Compression.ACCEPT_ENCODING));
+    }
+
+    @Test
+    void largeBodiesAreSentGzipEncoded() throws Exception {
+        Item item = new Item(2, "x".repeat(100));
+
+        assertEquals(item.getName(), client.post("/gzip", item, Item.class).getName());
+        assertTrue(requests.get(0).startsWith("gzip "));
+    }
+
+    @Test
+    void smallBodiesAreSentAsIs() throws Exception {
+        HttpResponse<String> response = client.post("/gzip", Map.of("id", 3));
+
+        assertEquals("{\"id\":3}", response.body());
+        assertTrue(requests.get(0).startsWith("null "));
+    }
+
+    @Test
+    void responsesWithoutAnEncodingAreReadAsIs() throws Exception {
+        server.json("/plain", "{\"id\":4}");
+
+        assertEquals(4, client.get("/plain", Item.class).getId());
+        assertNull(Compression.encoding(client.post("/plain", Map.of()).headers()));
+    }
+}
@@ -0,0 +1,116 @@
+package com.ridge.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ConcurrencyLimiter}.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class ConcurrencyLimiterTest {
+
+    private static final String HOST = "example.com";
+
+    @Test
+    void requestsPastTheLimitWaitForAReleasedPermit() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 10, Duration.ofSeconds(10), 10);
+
+        ConcurrencyLimiter.Permit first = limiter.acquire(HOST).get();
+        limiter.acquire(HOST).get();
+        CompletableFuture<ConcurrencyLimiter.Permit> third = limiter.acquire(HOST);
+
+        assertFalse(third.isDone());
+        assertEquals(1, limiter.getQueueDepth(HOST));
+        first.release(false);
+        assertTrue(third.isDone());
+        assertEquals(2, limiter.getInFlight(HOST));
+    }
+
+    @Test
+    void requestsAreRejectedOnceTheQueueIsFull() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 10, Duration.ofSeconds(10), 1);
+
+        limiter.acquire(HOST).get();
+        limiter.acquire(HOST);
+        ExecutionException error = assertThrows(ExecutionException.class, () -> limiter.acquire(HOST).get());
+
+        assertTrue(error.getCause() instanceof RejectedExecutionException);
+    }
+
+    @Test
+    void droppedRequestsShrinkTheLimitMultiplicatively() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 20, Duration.ofSeconds(10), 10);
+
+        limiter.acquire(HOST).get().release(true);
+        assertEquals(9, limiter.getLimit(HOST));
+        limiter.acquire(HOST).get().release(true);
+        assertEquals(8, limiter.getLimit(HOST));
+    }
+
+    @Test
+    void slowRequestsShrinkTheLimit() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 20, Duration.ZERO, 10);
+
+        ConcurrencyLimiter.Permit permit = limiter.acquire(HOST).get();
+        Thread.sleep(1);
+        permit.release(false);
+
+        assertEquals(9, limiter.getLimit(HOST));
+    }
+
+    @Test
+    void busySuccessfulRequestsGrowTheLimitAdditively() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 4, Duration.ofSeconds(10), 10);
+
+        for (int i = 0; i < 10; i++) {
+            ConcurrencyLimiter.Permit a = limiter.acquire(HOST).get();
+            ConcurrencyLimiter.Permit b = limiter.acquire(HOST).get();
+            a.release(false);
+            b.release(false);
+        }
+
+        assertTrue(limiter.getLimit(HOST) > 2);
+        assertTrue(limiter.getLimit(HOST) <= 4);
+    }
+
+    @Test
+    void cancelledWaitersAreSkipped() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 10, Duration.ofSeconds(10), 10);
+
+        ConcurrencyLimiter.Permit first = limiter.acquire(HOST).get();
+        CompletableFuture<ConcurrencyLimiter.Permit> cancelled = limiter.acquire(HOST);
+        CompletableFuture<ConcurrencyLimiter.Permit> waiting = limiter.acquire(HOST);
+        cancelled.cancel(true);
+        first.release(false);
+
+        assertTrue(waiting.isDone() && !waiting.isCompletedExceptionally());
+        assertEquals(1, limiter.getInFlight(HOST));
+    }
+
+    @Test
+    void overloadedResponsesShrinkTheLimitOfTheHost() throws Exception {
+        try (TestHttpServer server = new TestHttpServer()) {
+            server.handle("/busy", exchange -> TestHttpServer.respond(exchange, 429, "{}"));
+            ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 20, Duration.ofSeconds(10), 10);
+            ApiClient client = new ApiClient(server.getUrl());
+            client.setConcurrencyLimiter(limiter);
+
+            client.get("/busy", Item.class);
+            client.getFuture("/busy", Item.class).get();
+
+            assertEquals(8, limiter.getLimit("127.0.0.1"));
+            assertEquals(0, limiter.getInFlight("127.0.0.1"));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.ridge.api;
+
+/**
+ * Value the api tests map responses to.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+public class Item {
+    private int id;
+
+    private String name;
+
+    public Item() {
+    }
+
+    public Item(int id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
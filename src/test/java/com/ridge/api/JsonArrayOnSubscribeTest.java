@@ -0,0 +1,110 @@
+package com.ridge.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.ridge.mapper.CodecRegistry;
+
+import org.junit.jupiter.api.Test;
+
+import rx.Observable;
+import rx.observers.TestSubscriber;
+
+/**
+ * Tests for {@link JsonArrayOnSubscribe}.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class JsonArrayOnSubscribeTest {
+
+    private final CodecRegistry codecs = new CodecRegistry();
+
+    @Test
+    void elementsAreEmittedInOrderAsTheyAreRequested() {
+        TrackedStream in = new TrackedStream("[{\"id\":1},{\"id\":2},{\"id\":3}]");
+        TestSubscriber<Item> subscriber = new TestSubscriber<>(1);
+
+        Observable.create(new JsonArrayOnSubscribe<>(() -> in, codecs, Item.class)).subscribe(subscriber);
+        subscriber.assertValueCount(1);
+        subscriber.requestMore(2);
+        subscriber.assertValueCount(3);
+        subscriber.requestMore(1);
+
+        subscriber.assertCompleted();
+        assertEquals(List.of(1, 2, 3), subscriber.getOnNextEvents().stream().map(Item::getId).collect(
+                Collectors.toList()));
+        assertTrue(in.closed);
+    }
+
+    @Test
+    void unsubscribingClosesTheStream() {
+        TrackedStream in = new TrackedStream("[{\"id\":1},{\"id\":2}]");
+
+        Observable.create(new JsonArrayOnSubscribe<>(() -> in, codecs, Item.class)).take(1).subscribe();
+
+        assertTrue(in.closed);
+    }
+
+    @Test
+    void nonArrayBodyFailsAndClosesTheStream() {
+        TrackedStream in = new TrackedStream("{\"id\":1}");
+        TestSubscriber<Item> subscriber = new TestSubscriber<>();
+
+        Observable.create(new JsonArrayOnSubscribe<>(() -> in, codecs, Item.class)).subscribe(subscriber);
+
+        assertEquals(1, subscriber.getOnErrorEvents().size());
+        assertTrue(in.closed);
+    }
+
+    @Test
+    void streamIsClosedWhenTheFormatCannotBeDetected() {
+        TrackedStream in = new TrackedStream("[]") {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                throw new IOException("reset");
+            }
+        };
+        TestSubscriber<Item> subscriber = new TestSubscriber<>();
+
+        Observable.create(new JsonArrayOnSubscribe<>(() -> in, codecs, Item.class)).subscribe(subscriber);
+
+        assertEquals(1, subscriber.getOnErrorEvents().size());
+        assertTrue(in.closed);
+    }
+
+    /**
+     * Stream that records if it was closed.
+     */
+    private static class TrackedStream extends InputStream {
+        private final InputStream data;
+
+        private volatile boolean closed;
+
+        private TrackedStream(String json) {
+            this.data = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int read() throws IOException {
+            return data.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return data.read(b, off, len);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.ridge.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import com.ridge.metrics.InMemoryMetrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the request metrics of {@link ApiClient}.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class MetricsTest {
+
+    private final InMemoryMetrics metrics = new InMemoryMetrics();
+
+    private TestHttpServer server;
+
+    private ApiClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new TestHttpServer();
+        client = new ApiClient(server.getUrl());
+        client.setMetricsRecorder(metrics);
+        server.handle("/users", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            TestHttpServer.respond(exchange, 200, "{\"id\":1,\"name\":\"first\"}");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void endpointsAreNamedByTheirPathTemplate() throws Exception {
+        for (int id = 1; id <= 20; id++) {
+            client.get("/users/" + id, Item.class);
+        }
+        client.get("/users/5f0c2b9e-1d2a-4c1b-9f7e-0a1b2c3d4e5f/orders", Item.class);
+
+        assertEquals(20, metrics.getCounter("api.status GET /users/{} 200"));
+        assertEquals(1, metrics.getCounter("api.status GET /users/{}/orders 200"));
+        assertEquals(20, metrics.getTimer("api.latency GET /users/{}").getCount());
+        assertTrue(metrics.getCounter("api.bytes.in GET /users/{}") > 0);
+        assertEquals(2, metrics.getTimers().keySet().stream().filter(name -> name.startsWith("api.latency")).count());
+    }
+
+    @Test
+    void bytesSentAndDecodeTimesAreRecorded() throws Exception {
+        client.post("/users/7", new Item(7, "seventh"), Item.class);
+
+        Map<String, Long> counters = metrics.getCounters();
+        assertTrue(counters.get("api.bytes.out POST /users/{}") > 0);
+        assertEquals(1, metrics.getTimer("api.decode Item").getCount());
+    }
+
+    @Test
+    void failedExchangesAreCountedAsErrors() throws Exception {
+        ApiClient unreachable = new ApiClient("http://127.0.0.1:1");
+        unreachable.setMetricsRecorder(metrics);
+
+        try {
+            unreachable.getFuture("/users/3", Item.class).join();
+        } catch (RuntimeException e) {
+            // Expected, nothing listens on the port.
+        }
+
+        assertEquals(1, metrics.getCounter("api.errors GET /users/{}"));
+    }
+}
@@ -0,0 +1,231 @@
+package com.ridge.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Pagination} and {@link PageIterator} against a local http
+ * server that serves seven items.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class PaginationTest {
+
+    private static final int TOTAL = 7;
+
+    private final CountDownLatch unblock = new CountDownLatch(1);
+
+    private TestHttpServer server;
+
+    private ApiClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new TestHttpServer();
+        client = new ApiClient(server.getUrl());
+        server.handle("/offset", exchange -> {
+            Map<String, String> query = query(exchange);
+            int offset = Integer.parseInt(query.get("offset"));
+            TestHttpServer.respond(exchange, 200, items(offset, Integer.parseInt(query.get("limit"))));
+        });
+        server.handle("/pages", exchange -> {
+            Map<String, String> query = query(exchange);
+            int size = Integer.parseInt(query.get("size"));
+            TestHttpServer.respond(exchange, 200, items(Integer.parseInt(query.get("page")) * size, size));
+        });
+        server.handle("/cursor", exchange -> {
+            int offset = Integer.parseInt(query(exchange).getOrDefault("cursor", "0"));
+            String cursor = offset + 3 < TOTAL ? "\"" + (offset + 3) + "\"" : "null";
+            TestHttpServer.respond(exchange, 200, "{\"data\":" + items(offset, 3) + ",\"next\":" + cursor + "}");
+        });
+        server.handle("/links", exchange -> {
+            int offset = Integer.parseInt(query(exchange).getOrDefault("from", "0"));
+            if (offset + 3 < TOTAL) {
+                exchange.getResponseHeaders().add("Link",
+                        "<" + server.getUrl() + "/links?from=" + (offset + 3) + ">; rel=\"next\"");
+            }
+            TestHttpServer.respond(exchange, 200, items(offset, 3));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        unblock.countDown();
+        server.close();
+    }
+
+    @Test
+    void offsetPagesAreWalkedUntilAShortPage() {
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7), ids(Pagination.offset("/offset", 3)));
+        assertEquals(3, server.hits("/offset"));
+    }
+
+    @Test
+    void numberedPagesStartAtTheFirstPage() {
+        Pagination pages = Pagination.pages("/pages", 4);
+        pages.setFirstPage(0);
+
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7), ids(pages));
+    }
+
+    @Test
+    void cursorPagesFollowTheCursorOfTheBody() {
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7), ids(Pagination.cursor("/cursor", "data", "next")));
+        assertEquals(3, server.hits("/cursor"));
+    }
+
+    @Test
+    void linkedPagesFollowTheNextLink() {
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7), ids(Pagination.links("/links")));
+    }
+
+    @Test
+    void streamEmitsTheItemsOfEveryPage() {
+        List<Item> items = client.stream(Pagination.offset("/offset", 2), Item.class).toList().toBlocking().single();
+
+        assertEquals(TOTAL, items.size());
+    }
+
+    @Test
+    void pagesAreFetchedAheadUpToThePrefetch() throws Exception {
+        Pagination pages = Pagination.offset("/offset", 1);
+        pages.setPrefetch(2);
+
+        try (PageIterator<Item> items = client.iterate(pages, Item.class)) {
+            assertEquals(1, items.next().getId());
+            Thread.sleep(200);
+
+            assertEquals(3, server.hits("/offset"));
+        }
+    }
+
+    @Test
+    void noPagesAreFetchedAheadWithoutPrefetch() throws Exception {
+        Pagination pages = Pagination.offset("/offset", 1);
+        pages.setPrefetch(0);
+
+        try (PageIterator<Item> items = client.iterate(pages, Item.class)) {
+            assertEquals(1, items.next().getId());
+            Thread.sleep(200);
+            assertEquals(1, server.hits("/offset"));
+
+            assertEquals(2, items.next().getId());
+            assertEquals(2, server.hits("/offset"));
+        }
+    }
+
+    @Test
+    void closingStopsFetchingPages() throws Exception {
+        server.handle("/slow", exchange -> {
+            boolean first = !query(exchange).containsKey("cursor");
+            if (!first) {
+                await();
+            }
+            TestHttpServer.respond(exchange, 200, "{\"data\":" + items(0, 3) + ",\"next\":\"3\"}");
+        });
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, Duration.ofSeconds(10), 10);
+        client.setConcurrencyLimiter(limiter);
+
+        PageIterator<Item> items = client.iterate(Pagination.cursor("/slow", "data", "next"), Item.class);
+        assertEquals(1, items.next().getId());
+        long deadline = System.currentTimeMillis() + 5000;
+        while (server.hits("/slow") < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        items.close();
+
+        deadline = System.currentTimeMillis() + 5000;
+        while (limiter.getInFlight("127.0.0.1") > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, limiter.getInFlight("127.0.0.1"));
+        assertEquals(2, server.hits("/slow"));
+    }
+
+    @Test
+    void aFailedPageIsThrownFromHasNext() {
+        server.handle("/broken", exchange -> TestHttpServer.respond(exchange, 500, "{}"));
+
+        PageIterator<Item> items = client.iterate(Pagination.offset("/broken", 2), Item.class);
+
+        assertThrows(UncheckedIOException.class, items::hasNext);
+        assertFalse(items.hasNext());
+    }
+
+    @Test
+    void nextLinksToAnotherOriginAreNotFollowed() throws Exception {
+        try (TestHttpServer other = new TestHttpServer()) {
+            other.json("/stolen", items(3, 3));
+            server.handle("/away", exchange -> {
+                exchange.getResponseHeaders().add("Link", "<" + other.getUrl() + "/stolen>; rel=\"next\"");
+                TestHttpServer.respond(exchange, 200, items(0, 3));
+            });
+            client.setAuthorization("Bearer secret");
+
+            PageIterator<Item> items = client.iterate(Pagination.links("/away"), Item.class);
+            for (int i = 0; i < 3; i++) {
+                items.next();
+            }
+
+            assertThrows(UncheckedIOException.class, items::hasNext);
+            assertEquals(0, other.hits("/stolen"));
+        }
+    }
+
+    private List<Integer> ids(Pagination pagination) {
+        List<Integer> ids = new ArrayList<>();
+        try (PageIterator<Item> items = client.iterate(pagination, Item.class)) {
+            items.forEachRemaining(item -> ids.add(item.getId()));
+        }
+        return ids;
+    }
+
+    private void await() {
+        try {
+            unblock.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Get the json array of the items from the offset, up to the limit.
+     */
+    private static String items(int offset, int limit) {
+        List<String> items = new ArrayList<>();
+        for (int id = offset + 1; id <= Math.min(offset + limit, TOTAL); id++) {
+            items.add("{\"id\":" + id + "}");
+        }
+        return items.stream().collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> query = new HashMap<>();
+        String raw = exchange.getRequestURI().getQuery();
+        if (raw != null) {
+            for (String pair : raw.split("&")) {
+                String[] split = pair.split("=", 2);
+                query.put(split[0], split.length > 1 ? split[1] : "");
+            }
+        }
+        return query;
+    }
+}
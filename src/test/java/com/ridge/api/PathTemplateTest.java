@@ -0,0 +1,29 @@
+package com.ridge.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link PathTemplate}.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class PathTemplateTest {
+
+    @Test
+    void identifierSegmentsAreReplaced() {
+        assertEquals("/users/{}/orders", PathTemplate.of("/users/123/orders"));
+        assertEquals("/users/{}", PathTemplate.of("/users/5f0c2b9e-1d2a-4c1b-9f7e-0a1b2c3d4e5f"));
+        assertEquals("/blobs/{}", PathTemplate.of("/blobs/a94a8fe5ccb19ba61c4c"));
+    }
+
+    @Test
+    void wordSegmentsAreKept() {
+        assertEquals("/api/v2/oauth2/token", PathTemplate.of("/api/v2/oauth2/token"));
+        assertEquals("/users/", PathTemplate.of("/users/"));
+        assertEquals("/", PathTemplate.of(""));
+        assertEquals("/", PathTemplate.of("/"));
+    }
+}
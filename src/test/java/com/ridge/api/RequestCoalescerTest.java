@@ -0,0 +1,206 @@
+package com.ridge.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link RequestCoalescer} and coalesced gets of {@link ApiClient}.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class RequestCoalescerTest {
+
+    private TestHttpServer server;
+
+    private ExecutorService decoder;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new TestHttpServer();
+        decoder = Executors.newSingleThreadExecutor(task -> new Thread(task, "test-decode"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+        decoder.shutdownNow();
+    }
+
+    @Test
+    void concurrentGetsShareOneExchangeDecodedOffTheClientThreads() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        server.handle("/shared", exchange -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            TestHttpServer.respond(exchange, 200, "{\"id\":9}");
+        });
+        ApiClientConfig config = new ApiClientConfig();
+        config.setDecodeExecutor(decoder);
+        ApiClient client = new ApiClient(server.getUrl(), config);
+        client.setRequestCoalescing(true);
+
+        List<CompletableFuture<DecodedItem>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(client.getFuture("/shared", DecodedItem.class));
+        }
+        release.countDown();
+
+        DecodedItem first = futures.get(0).get(5, TimeUnit.SECONDS);
+        for (CompletableFuture<DecodedItem> future : futures) {
+            assertSame(first, future.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, server.hits("/shared"));
+        assertEquals("test-decode", first.decodedOn);
+    }
+
+    @Test
+    void entriesAreDroppedOnceTheExchangeCompletes() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        CompletableFuture<String> exchange = new CompletableFuture<>();
+        AtomicInteger started = new AtomicInteger();
+
+        CompletableFuture<String> first = coalescer.execute("key", () -> {
+            started.incrementAndGet();
+            return exchange;
+        });
+        CompletableFuture<String> second = coalescer.execute("key", () -> {
+            started.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        assertEquals(1, coalescer.getInFlightCount());
+
+        exchange.complete("done");
+        assertEquals("done", first.get());
+        assertEquals("done", second.get());
+        assertEquals(1, started.get());
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+
+    @Test
+    void cancellingOneCallerDoesNotAffectTheOthers() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        CompletableFuture<String> exchange = new CompletableFuture<>();
+
+        CompletableFuture<String> first = coalescer.execute("key", () -> exchange);
+        CompletableFuture<String> second = coalescer.execute("key", () -> exchange);
+        first.cancel(true);
+        exchange.complete("done");
+
+        assertTrue(first.isCancelled());
+        assertFalse(exchange.isCancelled());
+        assertEquals("done", second.get());
+    }
+
+    @Test
+    void cancellingEveryCallerCancelsTheExchange() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        CompletableFuture<String> exchange = new CompletableFuture<>();
+        AtomicInteger started = new AtomicInteger();
+
+        CompletableFuture<String> first = coalescer.execute("key", () -> exchange);
+        CompletableFuture<String> second = coalescer.execute("key", () -> exchange);
+        first.cancel(true);
+        assertFalse(exchange.isCancelled());
+        second.cancel(true);
+
+        assertTrue(exchange.isCancelled());
+        assertEquals(0, coalescer.getInFlightCount());
+        CompletableFuture<String> third = coalescer.execute("key", () -> {
+            started.incrementAndGet();
+            return CompletableFuture.completedFuture("again");
+        });
+        assertEquals("again", third.get());
+        assertEquals(1, started.get());
+    }
+
+    @Test
+    void cancellingEveryCoalescedGetReleasesItsPermit() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        server.handle("/slow", exchange -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            TestHttpServer.respond(exchange, 200, "{\"id\":9}");
+        });
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, Duration.ofSeconds(10), 10);
+        ApiClient client = new ApiClient(server.getUrl());
+        client.setConcurrencyLimiter(limiter);
+        client.setRequestCoalescing(true);
+
+        try {
+            CompletableFuture<DecodedItem> first = client.getFuture("/slow", DecodedItem.class);
+            CompletableFuture<DecodedItem> second = client.getFuture("/slow", DecodedItem.class);
+            assertTrue(await(() -> server.hits("/slow") == 1));
+            first.cancel(true);
+            second.cancel(true);
+
+            assertTrue(await(() -> limiter.getInFlight("127.0.0.1") == 0));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void failuresAreSharedWithEveryCaller() {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        CompletableFuture<String> exchange = new CompletableFuture<>();
+
+        CompletableFuture<String> first = coalescer.execute("key", () -> exchange);
+        CompletableFuture<String> second = coalescer.execute("key", () -> exchange);
+        exchange.completeExceptionally(new IllegalStateException("down"));
+
+        assertThrows(ExecutionException.class, first::get);
+        assertThrows(ExecutionException.class, second::get);
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+
+    private static boolean await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        return condition.getAsBoolean();
+    }
+
+    /**
+     * Item that records the thread it was decoded on.
+     */
+    public static class DecodedItem {
+        private final String decodedOn = Thread.currentThread().getName();
+
+        private int id;
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+    }
+}
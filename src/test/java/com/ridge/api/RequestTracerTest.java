@@ -0,0 +1,116 @@
+package com.ridge.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link RequestTracer} against a local http server.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class RequestTracerTest {
+
+    private TestHttpServer server;
+
+    private ApiClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new TestHttpServer();
+        client = new ApiClient(server.getUrl());
+        server.handle("/items", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            TestHttpServer.respond(exchange, 201, "{\"id\":1,\"name\":\"first\"}");
+        });
+        server.json("/broken", "{\"id\":");
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void typedRequestsAreTracedPhaseByPhase() throws Exception {
+        RequestTracer tracer = new RequestTracer();
+        client.setRequestTracer(tracer);
+
+        client.post("/items/1", new Item(1, "first"), Item.class);
+
+        RequestTrace trace = tracer.getRecentTraces().get(0);
+        assertEquals("POST", trace.getMethod());
+        assertEquals(server.getUrl() + "/items/1", trace.getUri());
+        assertEquals(201, trace.getStatus());
+        assertNull(trace.getError());
+        assertTrue(trace.getSerializeNanos() > 0);
+        assertTrue(trace.getNetworkNanos() > 0);
+        assertTrue(trace.getTotalNanos() >= trace.getBuildNanos() + trace.getSerializeNanos()
+                + trace.getNetworkNanos() + trace.getDeserializeNanos());
+    }
+
+    @Test
+    void asyncRequestsAreTracedOnceDecoded() throws Exception {
+        RequestTracer tracer = new RequestTracer();
+        List<RequestTrace> finished = new CopyOnWriteArrayList<>();
+        tracer.setListener(finished::add);
+        client.setRequestTracer(tracer);
+
+        client.getFuture("/items/2", Item.class).get(5, TimeUnit.SECONDS);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (finished.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, finished.size());
+        assertEquals("GET", finished.get(0).getMethod());
+        assertEquals(201, finished.get(0).getStatus());
+    }
+
+    @Test
+    void failedRequestsKeepTheirError() {
+        RequestTracer tracer = new RequestTracer();
+        client.setRequestTracer(tracer);
+
+        assertThrows(IOException.class, () -> client.get("/broken", Item.class));
+
+        RequestTrace trace = tracer.getRecentTraces().get(0);
+        assertEquals(200, trace.getStatus());
+        assertTrue(trace.getError() instanceof IOException);
+    }
+
+    @Test
+    void onlyTheMostRecentTracesAreKept() throws Exception {
+        RequestTracer tracer = new RequestTracer(2, 1);
+        client.setRequestTracer(tracer);
+
+        for (int id = 1; id <= 3; id++) {
+            client.get("/items/" + id, Item.class);
+        }
+
+        assertEquals(List.of(server.getUrl() + "/items/3", server.getUrl() + "/items/2"),
+                tracer.getRecentTraces().stream().map(RequestTrace::getUri).collect(Collectors.toList()));
+    }
+
+    @Test
+    void unsampledRequestsAreNotTraced() throws Exception {
+        RequestTracer tracer = new RequestTracer(16, 0);
+        client.setRequestTracer(tracer);
+
+        client.get("/items/1", Item.class);
+
+        assertTrue(tracer.getRecentTraces().isEmpty());
+    }
+}
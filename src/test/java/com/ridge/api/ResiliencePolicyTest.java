@@ -0,0 +1,266 @@
+package com.ridge.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ResiliencePolicy}.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class ResiliencePolicyTest {
+
+    private static final HttpRequest GET = HttpRequest.newBuilder(URI.create("http://example.com/items/1")).build();
+
+    private static final HttpRequest POST = HttpRequest.newBuilder(URI.create("http://example.com/items"))
+            .POST(BodyPublishers.noBody()).build();
+
+    private final List<CompletableFuture<HttpResponse<TestResponse.Body>>> calls = new CopyOnWriteArrayList<>();
+
+    private final ResiliencePolicy policy = new ResiliencePolicy();
+
+    ResiliencePolicyTest() {
+        policy.setBackoff(Duration.ofMillis(1), Duration.ofMillis(5));
+    }
+
+    @Test
+    void retryableStatusesAreRetriedAndTheirBodiesDiscarded() throws Exception {
+        TestResponse unavailable = new TestResponse(GET, 503);
+        TestResponse ok = new TestResponse(GET, 200);
+        AtomicInteger attempts = new AtomicInteger();
+
+        HttpResponse<TestResponse.Body> response = policy.execute(GET, req -> CompletableFuture
+                .completedFuture(attempts.getAndIncrement() == 0 ? unavailable : ok)).get(5, TimeUnit.SECONDS);
+
+        assertSame(ok, response);
+        assertEquals(2, attempts.get());
+        assertTrue(unavailable.isClosed());
+        assertFalse(ok.isClosed());
+    }
+
+    @Test
+    void ioErrorsAreRetriedUpToTheMaxRetries() {
+        policy.setMaxRetries(2);
+        AtomicInteger attempts = new AtomicInteger();
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> policy.execute(GET, req -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.<HttpResponse<TestResponse.Body>>failedFuture(new IOException("reset"));
+        }).get(5, TimeUnit.SECONDS));
+
+        assertTrue(error.getCause() instanceof IOException);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void nonIdempotentRequestsAreNotRetried() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+
+        HttpResponse<TestResponse.Body> response = policy.execute(POST, req -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.completedFuture(new TestResponse(req, 503));
+        }).get(5, TimeUnit.SECONDS);
+
+        assertEquals(503, response.statusCode());
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void attemptsInFlightAtTheDeadlineAreCancelled() throws Exception {
+        policy.setDeadline(Duration.ofMillis(50));
+
+        CompletableFuture<HttpResponse<TestResponse.Body>> result = policy.execute(GET, this::pending);
+        ExecutionException error = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertTrue(error.getCause() instanceof TimeoutException);
+
+        assertTrue(await(() -> calls.get(0).isCancelled()));
+    }
+
+    @Test
+    void cancellingTheResultCancelsTheAttemptInFlight() {
+        CompletableFuture<HttpResponse<TestResponse.Body>> result = policy.execute(GET, this::pending);
+        result.cancel(true);
+
+        assertTrue(calls.get(0).isCancelled());
+    }
+
+    @Test
+    void attemptsSentAfterTheResultCompletedAreCancelled() throws Exception {
+        warmUp(GET);
+        policy.setHedgePercentile(0.5);
+        policy.setMinHedgeDelay(Duration.ofMillis(10));
+        policy.setDeadline(Duration.ofMillis(5));
+
+        CompletableFuture<HttpResponse<TestResponse.Body>> result = policy.execute(GET, this::pending);
+        assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+
+        assertTrue(calls.stream().allMatch(CompletableFuture::isCancelled));
+    }
+
+    @Test
+    void slowGetsAreHedgedAndTheLoserIsCancelled() throws Exception {
+        warmUp(GET);
+        policy.setHedgePercentile(0.5);
+        policy.setMinHedgeDelay(Duration.ofMillis(10));
+
+        CompletableFuture<HttpResponse<TestResponse.Body>> result = policy.execute(GET, this::pending);
+        assertTrue(awaitCalls(2));
+
+        TestResponse hedge = new TestResponse(GET, 200);
+        TestResponse original = new TestResponse(GET, 200);
+        calls.get(1).complete(hedge);
+        assertSame(hedge, result.get(5, TimeUnit.SECONDS));
+
+        assertTrue(calls.get(0).isCancelled());
+        assertFalse(calls.get(0).complete(original));
+        assertFalse(hedge.isClosed());
+    }
+
+    @Test
+    void latenciesAreKeptPerEndpoint() throws Exception {
+        warmUp(GET);
+        policy.setHedgePercentile(0.5);
+        policy.setMinHedgeDelay(Duration.ofMillis(10));
+        HttpRequest other = HttpRequest.newBuilder(URI.create("http://example.com/reports")).build();
+
+        policy.execute(other, this::pending);
+        Thread.sleep(100);
+
+        assertEquals(1, calls.size());
+    }
+
+    @Test
+    void identifierSegmentsShareTheWindowOfTheirTemplate() throws Exception {
+        warmUp(GET);
+        policy.setHedgePercentile(0.5);
+        policy.setMinHedgeDelay(Duration.ofMillis(10));
+        HttpRequest sibling = HttpRequest.newBuilder(URI.create("http://example.com/items/2")).build();
+
+        policy.execute(sibling, this::pending);
+
+        assertTrue(awaitCalls(2));
+    }
+
+    @Test
+    void apiClientGetsAreRetriedThroughThePolicy() throws Exception {
+        try (TestHttpServer server = new TestHttpServer()) {
+            AtomicInteger hits = new AtomicInteger();
+            server.handle("/flaky", exchange -> TestHttpServer.respond(exchange,
+                    hits.incrementAndGet() == 1 ? 503 : 200, "{\"id\":1}"));
+            ApiClient client = new ApiClient(server.getUrl());
+            client.setResiliencePolicy(policy);
+
+            assertEquals(1, client.get("/flaky", Item.class).getId());
+            assertEquals(2, server.hits("/flaky"));
+        }
+    }
+
+    @Test
+    void cancellingAnApiClientFutureAbortsTheExchangeThroughThePolicy() throws Exception {
+        CountDownLatch unblock = new CountDownLatch(1);
+        try (TestHttpServer server = new TestHttpServer()) {
+            server.handle("/slow", exchange -> {
+                try {
+                    unblock.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                TestHttpServer.respond(exchange, 200, "{\"id\":1}");
+            });
+            ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, Duration.ofSeconds(10), 10);
+            ApiClient client = new ApiClient(server.getUrl());
+            client.setConcurrencyLimiter(limiter);
+            client.setResiliencePolicy(policy);
+
+            CompletableFuture<Item> slow = client.getFuture("/slow", Item.class);
+            assertTrue(await(() -> server.hits("/slow") == 1));
+            slow.cancel(true);
+
+            assertTrue(await(() -> limiter.getInFlight("127.0.0.1") == 0));
+        } finally {
+            unblock.countDown();
+        }
+    }
+
+    @Test
+    void apiClientAttemptsPastTheDeadlineReleaseTheirPermit() throws Exception {
+        CountDownLatch unblock = new CountDownLatch(1);
+        try (TestHttpServer server = new TestHttpServer()) {
+            server.handle("/slow", exchange -> {
+                try {
+                    unblock.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                TestHttpServer.respond(exchange, 200, "{\"id\":1}");
+            });
+            ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, Duration.ofSeconds(10), 10);
+            ApiClient client = new ApiClient(server.getUrl());
+            client.setConcurrencyLimiter(limiter);
+            policy.setDeadline(Duration.ofMillis(100));
+            client.setResiliencePolicy(policy);
+
+            CompletableFuture<Item> slow = client.getFuture("/slow", Item.class);
+            assertThrows(ExecutionException.class, () -> slow.get(5, TimeUnit.SECONDS));
+
+            assertTrue(await(() -> limiter.getInFlight("127.0.0.1") == 0));
+        } finally {
+            unblock.countDown();
+        }
+    }
+
+    /**
+     * Records enough fast latencies for the endpoint of the request to be
+     * hedged.
+     */
+    private void warmUp(HttpRequest req) throws Exception {
+        for (int i = 0; i < 20; i++) {
+            policy.execute(req, r -> CompletableFuture.completedFuture(new TestResponse(r, 200))).get();
+        }
+    }
+
+    private CompletableFuture<HttpResponse<TestResponse.Body>> pending(HttpRequest req) {
+        CompletableFuture<HttpResponse<TestResponse.Body>> call = new CompletableFuture<>();
+        calls.add(call);
+        return call;
+    }
+
+    private static boolean await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        return condition.getAsBoolean();
+    }
+
+    private boolean awaitCalls(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (calls.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        return calls.size() >= count;
+    }
+}
@@ -0,0 +1,125 @@
+package com.ridge.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link ResponseCache} of {@link ApiClient#get(String, Class)}.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class ResponseCacheTest {
+
+    private TestHttpServer server;
+
+    private ApiClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new TestHttpServer();
+        client = new ApiClient(server.getUrl());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void freshEntriesAreServedWithoutGoingToTheServer() throws Exception {
+        server.handle("/fresh", exchange -> {
+            exchange.getResponseHeaders().set("Cache-Control", "max-age=60");
+            TestHttpServer.respond(exchange, 200, "{\"id\":1}");
+        });
+        ResponseCache cache = new ResponseCache(1024);
+        client.setResponseCache(cache);
+
+        assertEquals(1, client.get("/fresh", Item.class).getId());
+        assertEquals(1, client.get("/fresh", Item.class).getId());
+
+        assertEquals(1, server.hits("/fresh"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void staleEntriesAreRevalidatedWithTheirETag() throws Exception {
+        List<String> validators = new CopyOnWriteArrayList<>();
+        server.handle("/etag", exchange -> {
+            String validator = exchange.getRequestHeaders().getFirst("If-None-Match");
+            validators.add(String.valueOf(validator));
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            exchange.getResponseHeaders().set("ETag", "\"v1\"");
+            if ("\"v1\"".equals(validator)) {
+                TestHttpServer.respond(exchange, 304, "");
+            } else {
+                TestHttpServer.respond(exchange, 200, "{\"id\":2}");
+            }
+        });
+        ResponseCache cache = new ResponseCache(1024);
+        client.setResponseCache(cache);
+
+        assertEquals(2, client.get("/etag", Item.class).getId());
+        assertEquals(2, client.get("/etag", Item.class).getId());
+
+        assertEquals(List.of("null", "\"v1\""), validators);
+        assertEquals(1, cache.getRevalidationCount());
+    }
+
+    @Test
+    void noStoreResponsesAreNotCached() throws Exception {
+        server.handle("/private", exchange -> {
+            exchange.getResponseHeaders().set("Cache-Control", "no-store, max-age=60");
+            TestHttpServer.respond(exchange, 200, "{\"id\":3}");
+        });
+        ResponseCache cache = new ResponseCache(1024);
+        client.setResponseCache(cache);
+
+        client.get("/private", Item.class);
+        client.get("/private", Item.class);
+
+        assertEquals(2, server.hits("/private"));
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    void leastRecentlyUsedEntriesAreEvictedPastTheByteLimit() throws Exception {
+        server.handle("/items", exchange -> {
+            exchange.getResponseHeaders().set("Cache-Control", "max-age=60");
+            TestHttpServer.respond(exchange, 200, "{\"id\":4,\"name\":\"0123456789\"}");
+        });
+        ResponseCache cache = new ResponseCache(64);
+        client.setResponseCache(cache);
+
+        client.get("/items/a", Item.class);
+        client.get("/items/b", Item.class);
+        client.get("/items/a", Item.class);
+        client.get("/items/c", Item.class);
+
+        assertTrue(cache.getSize() <= 64);
+        assertNotNull(cache.get(server.getUrl() + "/items/a|null"));
+        assertNull(cache.get(server.getUrl() + "/items/b|null"));
+    }
+
+    @Test
+    void decodedObjectsAreSharedWhenEnabled() throws Exception {
+        server.handle("/decoded", exchange -> {
+            exchange.getResponseHeaders().set("Cache-Control", "max-age=60");
+            TestHttpServer.respond(exchange, 200, "{\"id\":5}");
+        });
+        client.setResponseCache(new ResponseCache(1024, true));
+
+        assertSame(client.get("/decoded", Item.class), client.get("/decoded", Item.class));
+    }
+}
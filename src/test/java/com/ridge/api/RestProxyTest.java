@@ -0,0 +1,137 @@
+package com.ridge.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import com.ridge.api.annotation.Body;
+import com.ridge.api.annotation.GET;
+import com.ridge.api.annotation.POST;
+import com.ridge.api.annotation.Path;
+import com.ridge.api.annotation.Query;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the rest interfaces created by {@link ApiClient#create(Class)}.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class RestProxyTest {
+
+    interface ItemApi {
+        @GET("/items/{id}")
+        Item get(@Path("id") int id);
+
+        @GET("/items")
+        CompletableFuture<Item> search(@Query("id") int[] ids, @Query("name") List<String> names,
+                @Query("tag") String tag);
+
+        @POST("/items/{group}/{id}")
+        Item create(@Path("id") int id, @Path("group") String group, @Body Item item);
+
+        default String describe(int id) {
+            return "item " + get(id).getName();
+        }
+
+        @Override
+        String toString();
+    }
+
+    interface UnannotatedApi {
+        @GET("/items")
+        Item list();
+
+        Item unannotated();
+    }
+
+    interface UnclosedApi {
+        @GET("/items/{id")
+        Item get(@Path("id") int id);
+    }
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+
+    private TestHttpServer server;
+
+    private ApiClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new TestHttpServer();
+        client = new ApiClient(server.getUrl());
+        server.handle("/items", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes());
+            requests.add(exchange.getRequestMethod() + " " + exchange.getRequestURI() + " " + body);
+            TestHttpServer.respond(exchange, 200, "{\"id\":1,\"name\":\"first\"}");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void pathVariablesAreFilledInTheirTemplateOrder() throws Exception {
+        ItemApi items = client.create(ItemApi.class);
+
+        items.get(7);
+        items.create(3, "a b", new Item(3, "third"));
+
+        assertEquals("GET /items/7 ", requests.get(0));
+        assertTrue(requests.get(1).startsWith("POST /items/a%20b/3 {"), requests.get(1));
+    }
+
+    @Test
+    void arraysAndCollectionsAreSentAsRepeatedQueryParameters() throws Exception {
+        ItemApi items = client.create(ItemApi.class);
+
+        items.search(new int[] { 1, 2 }, List.of("x", "y z"), null).get(5, TimeUnit.SECONDS);
+
+        assertEquals("GET /items?id=1&id=2&name=x&name=y+z ", requests.get(0));
+    }
+
+    @Test
+    void defaultMethodsRunTheirOwnBody() {
+        ItemApi items = client.create(ItemApi.class);
+
+        assertEquals("item first", items.describe(1));
+        assertEquals(1, server.hits("/items"));
+    }
+
+    @Test
+    void objectMethodsAreAnsweredByTheProxy() {
+        ItemApi items = client.create(ItemApi.class);
+        ItemApi other = client.create(ItemApi.class);
+
+        assertEquals("ItemApi proxy", items.toString());
+        assertEquals(items, items);
+        assertNotEquals(items, other);
+        assertEquals(System.identityHashCode(items), items.hashCode());
+        assertEquals(0, server.hits("/items"));
+    }
+
+    @Test
+    void unannotatedMethodsAreRejectedWhenCreated() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> client.create(UnannotatedApi.class));
+        assertTrue(error.getMessage().contains("unannotated"));
+    }
+
+    @Test
+    void unclosedPathVariablesAreRejectedWhenCreated() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> client.create(UnclosedApi.class));
+        assertTrue(error.getMessage().contains("unclosed"));
+    }
+}
@@ -0,0 +1,121 @@
+package com.ridge.api;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local http server for the api tests. Every handled request is counted by the
+ * path it was registered with.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class TestHttpServer implements AutoCloseable {
+
+    private final HttpServer server;
+
+    private final ExecutorService executor;
+
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+
+    /**
+     * Starts the server on an ephemeral loopback port.
+     *
+     * @throws IOException If the server could not be started.
+     */
+    TestHttpServer() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.executor = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "test-http-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    /**
+     * Get the base url of the server.
+     *
+     * @return The url without a trailing slash.
+     */
+    String getUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Handles requests to the path, and every path below it, with the handler.
+     *
+     * @param path    The path to handle.
+     * @param handler The handler of the requests.
+     */
+    void handle(String path, HttpHandler handler) {
+        AtomicInteger count = hits.computeIfAbsent(path, k -> new AtomicInteger());
+        server.createContext(path, exchange -> {
+            count.incrementAndGet();
+            try {
+                handler.handle(exchange);
+            } finally {
+                exchange.close();
+            }
+        });
+    }
+
+    /**
+     * Responds to every request to the path with the json body.
+     *
+     * @param path The path to handle.
+     * @param json The body of the responses.
+     */
+    void json(String path, String json) {
+        handle(path, exchange -> respond(exchange, 200, json));
+    }
+
+    /**
+     * Get the number of requests handled for the path.
+     *
+     * @param path The path the handler was registered with.
+     * @return The number of requests.
+     */
+    int hits(String path) {
+        AtomicInteger count = hits.get(path);
+        return count != null ? count.get() : 0;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Sends a json response.
+     *
+     * @param exchange The exchange to respond to.
+     * @param status   The status of the response.
+     * @param json     The body of the response, or empty for none.
+     * @throws IOException If the response could not be sent.
+     */
+    static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.ridge.api;
+
+import java.net.URI;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.net.ssl.SSLSession;
+
+/**
+ * Response with a body that records if it was closed, for tests that send
+ * requests without a server.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class TestResponse implements HttpResponse<TestResponse.Body> {
+
+    private final HttpRequest request;
+
+    private final int status;
+
+    private final Body body = new Body();
+
+    TestResponse(HttpRequest request, int status) {
+        this.request = request;
+        this.status = status;
+    }
+
+    @Override
+    public int statusCode() {
+        return status;
+    }
+
+    @Override
+    public HttpRequest request() {
+        return request;
+    }
+
+    @Override
+    public Optional<HttpResponse<Body>> previousResponse() {
+        return Optional.empty();
+    }
+
+    @Override
+    public HttpHeaders headers() {
+        return HttpHeaders.of(Map.of(), (name, value) -> true);
+    }
+
+    @Override
+    public Body body() {
+        return body;
+    }
+
+    @Override
+    public Optional<SSLSession> sslSession() {
+        return Optional.empty();
+    }
+
+    @Override
+    public URI uri() {
+        return request.uri();
+    }
+
+    @Override
+    public Version version() {
+        return Version.HTTP_1_1;
+    }
+
+    boolean isClosed() {
+        return body.closed;
+    }
+
+    /**
+     * Body that records if it was closed.
+     */
+    static class Body implements AutoCloseable {
+        private volatile boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
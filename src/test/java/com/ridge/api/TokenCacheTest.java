@@ -0,0 +1,200 @@
+package com.ridge.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link TokenCache} and the token refresh of {@link ApiClient}.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class TokenCacheTest {
+
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    private final List<String> authorizations = new CopyOnWriteArrayList<>();
+
+    private TestHttpServer server;
+
+    private ApiClient client;
+
+    private TokenCache cache;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new TestHttpServer();
+        client = new ApiClient(server.getUrl());
+        server.handle("/items", exchange -> {
+            String auth = exchange.getRequestHeaders().getFirst("Authorization");
+            authorizations.add(auth);
+            TestHttpServer.respond(exchange, "Bearer 2".equals(auth) ? 200 : 401, "{\"id\":1}");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (cache != null) {
+            cache.close();
+        }
+        server.close();
+    }
+
+    @Test
+    void requestsShareTheCachedToken() throws Exception {
+        cache = new TokenCache(() -> token("Bearer " + (fetches.incrementAndGet() + 1), Duration.ofHours(1)));
+        client.setTokenCache(cache);
+
+        client.get("/items", Item.class);
+        client.getFuture("/items", Item.class).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, fetches.get());
+        assertEquals(List.of("Bearer 2", "Bearer 2"), authorizations);
+    }
+
+    @Test
+    void unauthorizedRequestsAreSentOnceMoreWithARefreshedToken() throws Exception {
+        cache = new TokenCache(() -> token("Bearer " + fetches.incrementAndGet(), Duration.ofHours(1)));
+        client.setTokenCache(cache);
+
+        assertEquals(1, client.get("/items", Item.class).getId());
+
+        assertEquals(2, fetches.get());
+        assertEquals(List.of("Bearer 1", "Bearer 2"), authorizations);
+    }
+
+    @Test
+    void aRequestIsOnlyRetriedOnce() throws Exception {
+        cache = new TokenCache(() -> token("Bearer 0", Duration.ofHours(1)));
+        client.setTokenCache(cache);
+
+        client.get("/items", Item.class);
+
+        assertEquals(List.of("Bearer 0", "Bearer 0"), authorizations);
+    }
+
+    @Test
+    void concurrentCallersShareOneRefresh() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        cache = new TokenCache(() -> {
+            release.await(5, TimeUnit.SECONDS);
+            return token("Bearer " + fetches.incrementAndGet(), Duration.ofHours(1));
+        });
+
+        CompletableFuture<AccessToken> first = cache.getToken();
+        CompletableFuture<AccessToken> second = cache.getToken();
+        release.countDown();
+
+        assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, fetches.get());
+    }
+
+    @Test
+    void aStaleRefreshGetsTheTokenThatReplacedIt() throws Exception {
+        cache = new TokenCache(() -> token("Bearer " + fetches.incrementAndGet(), Duration.ofHours(1)));
+        cache.getToken().get(5, TimeUnit.SECONDS);
+        cache.refresh().get(5, TimeUnit.SECONDS);
+
+        assertEquals("Bearer 2", cache.refresh("Bearer 1").get(5, TimeUnit.SECONDS).getValue());
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    void tokensAreRefreshedInTheBackgroundBeforeTheyExpire() throws Exception {
+        cache = new TokenCache(() -> token("Bearer " + fetches.incrementAndGet(), Duration.ofMillis(200)),
+                Duration.ofMillis(150));
+        cache.getToken().get(5, TimeUnit.SECONDS);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while ("Bearer 1".equals(cache.getAuthorization()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(fetches.get() >= 2);
+        assertTrue(cache.getAuthorization().startsWith("Bearer "));
+    }
+
+    @Test
+    void requestsOfTheProviderAreSentWithoutTheToken() throws Exception {
+        List<String> logins = new CopyOnWriteArrayList<>();
+        server.handle("/login", exchange -> {
+            logins.add(String.valueOf(exchange.getRequestHeaders().getFirst("Authorization")));
+            TestHttpServer.respond(exchange, 200, "{\"id\":2}");
+        });
+        cache = new TokenCache(() -> {
+            Item login = client.get("/login", Item.class);
+            return token("Bearer " + login.getId(), Duration.ofMillis(300));
+        });
+        client.setTokenCache(cache);
+
+        client.get("/items", Item.class);
+        Thread.sleep(400);
+        client.get("/items", Item.class);
+
+        assertEquals(List.of("null", "null"), logins.subList(0, 2));
+    }
+
+    @Test
+    void aFailingProviderFailsTheRequest() {
+        cache = new TokenCache(() -> {
+            throw new IllegalStateException("login failed");
+        });
+        client.setTokenCache(cache);
+
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> client.getFuture("/items", Item.class).get(5, TimeUnit.SECONDS));
+        assertEquals("login failed", error.getCause().getMessage());
+        assertEquals(0, server.hits("/items"));
+    }
+
+    @Test
+    void closingTheCacheFailsARetryThatIsStillPending() throws Exception {
+        CountDownLatch received = new CountDownLatch(1);
+        CountDownLatch unblock = new CountDownLatch(1);
+        server.handle("/slow", exchange -> {
+            received.countDown();
+            try {
+                unblock.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            TestHttpServer.respond(exchange, 401, "{\"id\":1}");
+        });
+        cache = new TokenCache(() -> token("Bearer " + fetches.incrementAndGet(), Duration.ofHours(1)));
+        client.setTokenCache(cache);
+
+        CompletableFuture<Item> pending = client.getFuture("/slow", Item.class);
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+        TokenCache replacement = new TokenCache(() -> token("Bearer 2", Duration.ofHours(1)));
+        client.setTokenCache(replacement);
+        unblock.countDown();
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> pending.get(5, TimeUnit.SECONDS));
+        assertTrue(error.getCause() instanceof IllegalStateException, String.valueOf(error.getCause()));
+        ExecutionException again = assertThrows(ExecutionException.class,
+                () -> cache.refresh().get(5, TimeUnit.SECONDS));
+        assertTrue(again.getCause() instanceof IllegalStateException);
+        assertEquals(1, fetches.get());
+        replacement.close();
+    }
+
+    private static AccessToken token(String value, Duration lifetime) {
+        return new AccessToken(value, Instant.now().plus(lifetime));
+    }
+}
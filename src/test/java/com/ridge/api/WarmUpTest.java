@@ -0,0 +1,81 @@
+package com.ridge.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import com.ridge.metrics.InMemoryMetrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the warm up of {@link ApiClient}.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class WarmUpTest {
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+
+    private TestHttpServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new TestHttpServer();
+        server.handle("/", exchange -> {
+            requests.add(exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath());
+            exchange.sendResponseHeaders(200, -1);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void warmUpOpensTheConnectionsAndRecordsItsTime() throws Exception {
+        ApiClient client = new ApiClient(server.getUrl());
+        InMemoryMetrics metrics = new InMemoryMetrics();
+        client.setMetricsRecorder(metrics);
+
+        Duration took = client.warmUpAsync(3, Item.class).get(5, TimeUnit.SECONDS);
+
+        assertTrue(took.toNanos() > 0);
+        assertEquals(List.of("HEAD /", "HEAD /", "HEAD /"), requests);
+        assertEquals(1, metrics.getTimer("api.warmup").getCount());
+    }
+
+    @Test
+    void configuredWarmUpStartsWithTheClient() throws Exception {
+        ApiClientConfig config = new ApiClientConfig();
+        config.setWarmUp(2, Item.class);
+
+        ApiClient client = new ApiClient(server.getUrl(), config);
+        client.getWarmUp().get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    void clientsWithoutAWarmUpCompleteWithZero() throws Exception {
+        ApiClient client = new ApiClient(server.getUrl());
+
+        assertEquals(Duration.ZERO, client.getWarmUp().get(5, TimeUnit.SECONDS));
+        assertTrue(requests.isEmpty());
+    }
+
+    @Test
+    void unreachableHostsDoNotFailTheWarmUp() throws Exception {
+        ApiClient client = new ApiClient("http://127.0.0.1:1");
+
+        assertTrue(client.warmUp(Item.class).toNanos() > 0);
+    }
+}
@@ -0,0 +1,72 @@
+package com.ridge.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link CodecRegistry}.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class CodecRegistryTest {
+
+    private final CodecRegistry codecs = new CodecRegistry();
+
+    @Test
+    void readersAndWritersAreCachedPerClass() {
+        assertSame(codecs.reader(Item.class), codecs.reader(Item.class));
+        assertSame(codecs.writer(Item.class), codecs.writer(Item.class));
+    }
+
+    @Test
+    void jsonRoundTripUsesTheRegisteredModules() throws Exception {
+        byte[] json = codecs.writeValueAsBytes(new Item("a", LocalDate.of(2026, 10, 17)));
+        Item item = codecs.readValue(json, Item.class);
+
+        assertEquals("a", item.name);
+        assertEquals(LocalDate.of(2026, 10, 17), item.date);
+        assertFalse(CodecRegistry.isBinary(json));
+    }
+
+    @Test
+    void binaryRoundTripIsDetectedByItsHeader() throws Exception {
+        byte[] binary = codecs.writeValueAsBinary(new Item("b", LocalDate.of(2026, 1, 2)));
+
+        assertTrue(CodecRegistry.isBinary(binary));
+        assertEquals("b", codecs.readBinary(binary, Item.class).name);
+        assertTrue(CodecRegistry.isBinary(CodecRegistry.SMILE_CONTENT_TYPE + "; charset=x"));
+        assertFalse(CodecRegistry.isBinary("application/json"));
+    }
+
+    @Test
+    void convertValueReturnsInstancesOfTheTargetAsIs() {
+        Item item = new Item("c", null);
+        assertSame(item, codecs.convertValue(item, Item.class));
+        assertEquals("d", codecs.convertValue(Map.of("name", "d"), Item.class).name);
+    }
+
+    /**
+     * Value mapped by the tests.
+     */
+    public static class Item {
+        public String name;
+
+        public LocalDate date;
+
+        public Item() {
+        }
+
+        public Item(String name, LocalDate date) {
+            this.name = name;
+            this.date = date;
+        }
+    }
+}
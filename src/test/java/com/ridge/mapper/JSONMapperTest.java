@@ -0,0 +1,38 @@
+package com.ridge.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link JSONMapper}.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class JSONMapperTest {
+
+    @Test
+    void getMapperReturnsACopyThatCanBeReconfigured() {
+        ObjectMapper mapper = JSONMapper.getMapper();
+        mapper.enable(SerializationFeature.INDENT_OUTPUT);
+
+        assertNotSame(JSONMapper.getSharedMapper(), mapper);
+        assertSame(CodecRegistry.getDefault().getMapper(), JSONMapper.getSharedMapper());
+        assertEquals("{\"name\":\"a\"}", JSONMapper.mapObjectToJsonString(new CodecRegistryTest.Item("a", null))
+                .replace(",\"date\":null", ""));
+    }
+
+    @Test
+    void convertReturnsNullForInvalidData() {
+        assertNull(JSONMapper.convert("{not json", CodecRegistryTest.Item.class));
+        assertNull(JSONMapper.convert(new byte[] { '{' }, CodecRegistryTest.Item.class));
+        assertEquals("b", JSONMapper.convert("{\"name\":\"b\"}", CodecRegistryTest.Item.class).name);
+    }
+}
@@ -0,0 +1,68 @@
+package com.ridge.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Histogram} and {@link InMemoryMetrics}.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class HistogramTest {
+
+    @Test
+    void smallValuesAreCountedExactly() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(50, histogram.getValueAtPercentile(50));
+        assertEquals(99, histogram.getValueAtPercentile(99));
+        assertEquals(1, histogram.getMin());
+        assertEquals(100, histogram.getMax());
+        assertEquals(50.5, histogram.getMean());
+    }
+
+    @Test
+    void largeValuesStayWithinTheRelativeError() {
+        Histogram histogram = new Histogram();
+        for (long value = 1_000; value <= 1_000_000_000L; value *= 10) {
+            histogram.record(value);
+            long recorded = histogram.getValueAtPercentile(100);
+            assertTrue(recorded >= value && recorded <= value + value / 64, value + " recorded as " + recorded);
+            histogram.reset();
+        }
+    }
+
+    @Test
+    void resetClearsEverything() {
+        Histogram histogram = new Histogram();
+        histogram.record(-5);
+        histogram.record(1_000);
+
+        assertEquals(0, histogram.getMin());
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+    }
+
+    @Test
+    void inMemoryMetricsKeepTimersAndCounters() {
+        InMemoryMetrics metrics = new InMemoryMetrics();
+        metrics.recordTime("api.latency GET /users/{}", 2_000);
+        metrics.increment("api.status GET /users/{} 200");
+        metrics.increment("api.status GET /users/{} 200", 2);
+
+        assertEquals(3, metrics.getCounter("api.status GET /users/{} 200"));
+        assertEquals(1, metrics.getTimers().get("api.latency GET /users/{}").getCount());
+        metrics.reset();
+        assertEquals(0, metrics.getCounter("api.status GET /users/{} 200"));
+    }
+}
@@ -0,0 +1,130 @@
+package com.ridge.socket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import com.ridge.socket.WebSocketClientTest.Reading;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import rx.Subscription;
+import rx.observers.TestSubscriber;
+import rx.schedulers.Schedulers;
+import rx.schedulers.TestScheduler;
+import rx.subjects.PublishSubject;
+
+/**
+ * Tests for {@link KeyedConflation} and
+ * {@link WebSocketClient#listenConflated(String, Class, java.util.function.Function)}.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class ConflationTest {
+
+    private static final String TOPIC = "/topic/readings";
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private StompTestServer server;
+
+    private WebSocketClient client;
+
+    private ExecutorService delivery;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StompTestServer();
+        client = new WebSocketClient(server.getUrl());
+        client.connect();
+        delivery = Executors.newSingleThreadExecutor();
+        delivery.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        release.countDown();
+        delivery.shutdownNow();
+        client.disconnect();
+        server.close();
+    }
+
+    @Test
+    void onlyTheLatestPendingValueOfAKeyIsDelivered() throws Exception {
+        TopicStream<Reading> stream = client.listenConflated(TOPIC, Reading.class, Reading::getId,
+                Schedulers.from(delivery));
+        List<Reading> received = new CopyOnWriteArrayList<>();
+        stream.subscribe(received::add);
+        assertTrue(StompTestServer.await(() -> server.subscriptions(TOPIC) == 1, 5000));
+
+        server.broadcast(TOPIC, "{\"id\":1,\"date\":\"2026-10-01\"}");
+        server.broadcast(TOPIC, "{\"id\":2,\"date\":\"2026-10-02\"}");
+        server.broadcast(TOPIC, "{\"id\":1,\"date\":\"2026-10-03\"}");
+        server.broadcast(TOPIC, "{\"id\":1,\"date\":\"2026-10-04\"}");
+        server.broadcast(TOPIC, "{\"id\":2,\"date\":\"2026-10-05\"}");
+        assertTrue(StompTestServer.await(() -> stream.getDroppedCount() == 3, 5000));
+        release.countDown();
+
+        assertTrue(StompTestServer.await(() -> received.size() == 2, 5000));
+        assertEquals(List.of(1, 2), received.stream().map(Reading::getId).collect(Collectors.toList()));
+        assertEquals(LocalDate.of(2026, 10, 4), received.get(0).date);
+        assertEquals(LocalDate.of(2026, 10, 5), received.get(1).date);
+    }
+
+    @Test
+    void unsubscribingStopsListeningToTheTopic() throws Exception {
+        release.countDown();
+        TopicStream<Reading> stream = client.listenConflated(TOPIC, Reading.class, Reading::getId);
+        Subscription subscription = stream.subscribe(reading -> {
+        });
+        assertTrue(StompTestServer.await(() -> server.subscriptions(TOPIC) == 1, 5000));
+
+        subscription.unsubscribe();
+
+        assertTrue(StompTestServer.await(() -> server.subscriptions(TOPIC) == 0, 5000));
+    }
+
+    @Test
+    void pendingValuesWaitForDemand() {
+        TestScheduler scheduler = new TestScheduler();
+        AtomicInteger conflated = new AtomicInteger();
+        PublishSubject<Reading> source = PublishSubject.create();
+        TestSubscriber<Reading> subscriber = TestSubscriber.create(1);
+        source.lift(new KeyedConflation<Reading, Integer>(Reading::getId, scheduler, conflated::incrementAndGet))
+                .subscribe(subscriber);
+
+        source.onNext(new Reading(1));
+        source.onNext(new Reading(2));
+        source.onNext(new Reading(2));
+        scheduler.triggerActions();
+
+        assertEquals(1, subscriber.getValueCount());
+        assertEquals(1, conflated.get());
+
+        source.onNext(new Reading(3));
+        source.onCompleted();
+        subscriber.requestMore(5);
+        scheduler.triggerActions();
+
+        assertEquals(List.of(1, 2, 3),
+                subscriber.getOnNextEvents().stream().map(Reading::getId).collect(Collectors.toList()));
+        subscriber.assertCompleted();
+    }
+}
@@ -0,0 +1,71 @@
+package com.ridge.socket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.ridge.metrics.InMemoryMetrics;
+import com.ridge.socket.WebSocketClient.PublishPolicy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.stomp.StompSession;
+
+/**
+ * Tests for {@link OutboundQueue} with a session that records what is sent.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class OutboundQueueTest {
+
+    private final AtomicBoolean connected = new AtomicBoolean();
+
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+
+    private final StompSession session = (StompSession) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[] { StompSession.class }, (proxy, method, args) -> {
+                if (method.getName().equals("isConnected")) {
+                    return connected.get();
+                }
+                if (method.getName().equals("send")) {
+                    sent.add(new String(((OutboundQueue.Encoded) args[1]).json, StandardCharsets.UTF_8));
+                }
+                return null;
+            });
+
+    @Test
+    void aBatchTakenByAStoppedWriterIsSentFirstByTheNextOne() throws Exception {
+        InMemoryMetrics metrics = new InMemoryMetrics();
+        OutboundQueue queue = new OutboundQueue(16, PublishPolicy.BLOCK, 10, false, () -> session, () -> metrics);
+        queue.offer("/app/readings", "1".getBytes(StandardCharsets.UTF_8));
+        queue.offer("/app/readings", "2".getBytes(StandardCharsets.UTF_8));
+
+        queue.connected();
+        assertTrue(StompTestServer.await(() -> queue.size() == 0 && waiting(), 5000));
+        queue.stop();
+        queue.offer("/app/readings", "3".getBytes(StandardCharsets.UTF_8));
+        connected.set(true);
+        queue.connected();
+
+        assertTrue(StompTestServer.await(() -> sent.size() == 2, 5000));
+        assertEquals(List.of("[1,2]", "3"), sent);
+        queue.stop();
+    }
+
+    /**
+     * @return If a writer thread is waiting for the session to connect.
+     */
+    private static boolean waiting() {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals("ridge-socket-writer") && thread.getState() == Thread.State.TIMED_WAITING) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,106 @@
+package com.ridge.socket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.ridge.socket.WebSocketClientTest.Reading;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link WebSocketClient#publish(String, Object)} against a local
+ * STOMP server.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class PublishTest {
+
+    private StompTestServer server;
+
+    private WebSocketClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StompTestServer();
+        client = new WebSocketClient(server.getUrl());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (client.getSession() != null && client.getSession().isConnected()) {
+            client.disconnect();
+        }
+        server.close();
+    }
+
+    @Test
+    void queuedMessagesOfADestinationAreSentAsOneArray() throws Exception {
+        client.setPublishBatchSize(10);
+        for (int id = 1; id <= 3; id++) {
+            client.publish("/app/readings", new Reading(id));
+        }
+        assertEquals(3, client.getPublishQueueDepth());
+
+        client.connect();
+
+        assertTrue(StompTestServer.await(() -> server.getReceived().size() == 1, 5000));
+        String sent = server.getReceived().get(0);
+        assertTrue(sent.startsWith("/app/readings [{\"id\":1"), sent);
+        assertTrue(sent.contains("{\"id\":3") && sent.endsWith("}]"), sent);
+    }
+
+    @Test
+    void coalescingOnlySendsTheNewestMessageOfADestination() throws Exception {
+        client.setPublishCoalescing(true);
+        for (int id = 1; id <= 3; id++) {
+            client.publish("/app/readings", new Reading(id));
+        }
+        client.publish("/app/other", new Reading(4));
+
+        client.connect();
+
+        assertTrue(StompTestServer.await(() -> server.getReceived().size() == 2, 5000));
+        assertTrue(server.getReceived().get(0).startsWith("/app/readings {\"id\":3"), server.getReceived().get(0));
+        assertTrue(server.getReceived().get(1).startsWith("/app/other {\"id\":4"), server.getReceived().get(1));
+    }
+
+    @Test
+    void rawBytesSentWithTheSessionAreStillSerialized() throws Exception {
+        client.connect();
+        byte[] raw = "{\"id\":5}".getBytes(StandardCharsets.UTF_8);
+
+        client.getSession().send("/app/raw", raw);
+
+        assertTrue(StompTestServer.await(() -> server.getReceived().size() == 1, 5000));
+        assertEquals("/app/raw \"" + Base64.getEncoder().encodeToString(raw) + "\"", server.getReceived().get(0));
+    }
+
+    @Test
+    void theWriterStopsWithTheSession() throws Exception {
+        int before = writers();
+        client.connect();
+        client.publish("/app/readings", new Reading(1));
+        assertTrue(StompTestServer.await(() -> server.getReceived().size() == 1, 5000));
+        assertEquals(before + 1, writers());
+
+        client.disconnect();
+
+        assertTrue(StompTestServer.await(() -> writers() == before, 5000));
+    }
+
+    private static int writers() {
+        int count = 0;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals("ridge-socket-writer") && thread.isAlive()) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
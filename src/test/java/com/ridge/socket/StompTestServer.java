@@ -0,0 +1,355 @@
+package com.ridge.socket;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Minimal STOMP over WebSocket server for the socket tests. It accepts every
+ * connection, tracks the subscriptions of each connection, records the frames
+ * sent to it and can broadcast messages to the subscribers of a destination.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class StompTestServer implements AutoCloseable {
+
+    private final ServerSocket server;
+
+    private final List<Connection> connections = new CopyOnWriteArrayList<>();
+
+    private final List<String> received = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger connects = new AtomicInteger();
+
+    /**
+     * Starts the server on the given port, or an ephemeral port when 0.
+     *
+     * @param port The port to listen on.
+     * @throws IOException If the port could not be bound.
+     */
+    StompTestServer(int port) throws IOException {
+        this.server = new ServerSocket(port);
+        Thread acceptor = new Thread(this::accept, "stomp-test-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Starts the server on an ephemeral port.
+     *
+     * @throws IOException If a port could not be bound.
+     */
+    StompTestServer() throws IOException {
+        this(0);
+    }
+
+    int getPort() {
+        return server.getLocalPort();
+    }
+
+    String getUrl() {
+        return "ws://localhost:" + getPort() + "/ws";
+    }
+
+    int getConnects() {
+        return connects.get();
+    }
+
+    /**
+     * Get the frames sent to the server as "destination body".
+     *
+     * @return The received frames.
+     */
+    List<String> getReceived() {
+        return received;
+    }
+
+    /**
+     * Get the number of open subscriptions to the destination.
+     *
+     * @param destination The destination.
+     * @return The number of subscriptions.
+     */
+    int subscriptions(String destination) {
+        int count = 0;
+        for (Connection connection : connections) {
+            for (String subscribed : connection.subscriptions.values()) {
+                if (subscribed.equals(destination)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Sends the json body to every subscriber of the destination.
+     *
+     * @param destination The destination.
+     * @param json        The body of the message.
+     */
+    void broadcast(String destination, String json) {
+        for (Connection connection : connections) {
+            connection.subscriptions.forEach((id, subscribed) -> {
+                if (subscribed.equals(destination)) {
+                    connection.send("MESSAGE\ndestination:" + destination + "\nsubscription:" + id + "\nmessage-id:"
+                            + UUID.randomUUID() + "\ncontent-type:application/json\n\n" + json + "\0");
+                }
+            });
+        }
+    }
+
+    /**
+     * Drops every open connection without a STOMP or WebSocket close.
+     */
+    void dropConnections() {
+        for (Connection connection : connections) {
+            connection.close();
+        }
+        connections.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+        dropConnections();
+    }
+
+    /**
+     * Waits until the condition is true.
+     *
+     * @param condition The condition to wait for.
+     * @param timeout   The maximum time to wait in milliseconds.
+     * @return If the condition became true.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    static boolean await(BooleanSupplier condition, long timeout) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeout;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+
+    private void accept() {
+        try {
+            while (true) {
+                Connection connection = new Connection(server.accept());
+                connections.add(connection);
+                Thread thread = new Thread(connection, "stomp-test-connection");
+                thread.setDaemon(true);
+                thread.start();
+            }
+        } catch (IOException e) {
+            // Server closed.
+        }
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) >= 0 && c != '\n') {
+            if (c != '\r') {
+                line.append((char) c);
+            }
+        }
+        return line.toString();
+    }
+
+    private static void readFully(InputStream in, byte[] data) throws IOException {
+        int offset = 0;
+        while (offset < data.length) {
+            int read = in.read(data, offset, data.length - offset);
+            if (read < 0) {
+                throw new EOFException();
+            }
+            offset += read;
+        }
+    }
+
+    /**
+     * One client connection.
+     */
+    private class Connection implements Runnable {
+        private final Socket socket;
+
+        private final Map<String, String> subscriptions = new ConcurrentHashMap<>();
+
+        private OutputStream out;
+
+        private Connection(Socket socket) {
+            this.socket = socket;
+        }
+
+        private void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Already closed.
+            }
+        }
+
+        private synchronized void send(String text) {
+            try {
+                byte[] payload = text.getBytes(StandardCharsets.UTF_8);
+                out.write(0x81);
+                if (payload.length < 126) {
+                    out.write(payload.length);
+                } else if (payload.length < 65536) {
+                    out.write(126);
+                    out.write(payload.length >> 8);
+                    out.write(payload.length & 0xff);
+                } else {
+                    out.write(127);
+                    for (int i = 7; i >= 0; i--) {
+                        out.write((int) ((long) payload.length >> (8 * i)) & 0xff);
+                    }
+                }
+                out.write(payload);
+                out.flush();
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                InputStream in = new BufferedInputStream(socket.getInputStream());
+                out = socket.getOutputStream();
+                handshake(in);
+
+                StringBuilder buffer = new StringBuilder();
+                while (true) {
+                    int first = in.read();
+                    if (first < 0) {
+                        break;
+                    }
+                    int second = in.read();
+                    long length = second & 0x7f;
+                    if (length == 126) {
+                        length = (in.read() << 8) | in.read();
+                    } else if (length == 127) {
+                        length = 0;
+                        for (int i = 0; i < 8; i++) {
+                            length = (length << 8) | in.read();
+                        }
+                    }
+                    byte[] mask = new byte[4];
+                    if ((second & 0x80) != 0) {
+                        readFully(in, mask);
+                    }
+                    byte[] payload = new byte[(int) length];
+                    readFully(in, payload);
+                    if ((second & 0x80) != 0) {
+                        for (int i = 0; i < payload.length; i++) {
+                            payload[i] ^= mask[i % 4];
+                        }
+                    }
+
+                    int opcode = first & 0x0f;
+                    if (opcode == 8) {
+                        break;
+                    } else if (opcode == 9 || opcode == 10) {
+                        continue;
+                    }
+                    buffer.append(new String(payload, StandardCharsets.UTF_8));
+                    if ((first & 0x80) == 0) {
+                        continue;
+                    }
+
+                    int end;
+                    while ((end = buffer.indexOf("\0")) >= 0) {
+                        frame(buffer.substring(0, end));
+                        buffer.delete(0, end + 1);
+                    }
+                    while (buffer.length() > 0 && buffer.charAt(0) == '\n') {
+                        buffer.deleteCharAt(0);
+                    }
+                }
+            } catch (Exception e) {
+                // Connection dropped.
+            } finally {
+                close();
+                connections.remove(this);
+            }
+        }
+
+        private void handshake(InputStream in) throws Exception {
+            String key = null;
+            String line;
+            while (!(line = readLine(in)).isEmpty()) {
+                if (line.toLowerCase().startsWith("sec-websocket-key:")) {
+                    key = line.substring(18).trim();
+                }
+            }
+            byte[] digest = MessageDigest.getInstance("SHA-1")
+                    .digest((key + "258EAFA5-E914-47DA-95CA-C5AB0DC85B11").getBytes(StandardCharsets.US_ASCII));
+            out.write(("HTTP/1.1 101 Switching Protocols\r\nUpgrade: websocket\r\nConnection: Upgrade\r\n"
+                    + "Sec-WebSocket-Accept: " + Base64.getEncoder().encodeToString(digest) + "\r\n\r\n")
+                            .getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+        }
+
+        private void frame(String frame) {
+            while (frame.startsWith("\n")) {
+                frame = frame.substring(1);
+            }
+            int split = frame.indexOf("\n\n");
+            String head = split < 0 ? frame : frame.substring(0, split);
+            String body = split < 0 ? "" : frame.substring(split + 2);
+
+            String[] lines = head.split("\n");
+            Map<String, String> headers = new HashMap<>();
+            for (int i = 1; i < lines.length; i++) {
+                int colon = lines[i].indexOf(':');
+                if (colon > 0) {
+                    headers.putIfAbsent(lines[i].substring(0, colon), lines[i].substring(colon + 1));
+                }
+            }
+
+            switch (lines[0]) {
+                case "CONNECT":
+                case "STOMP":
+                    connects.incrementAndGet();
+                    send("CONNECTED\nversion:1.2\nheart-beat:0,0\n\n\0");
+                    break;
+                case "SUBSCRIBE":
+                    subscriptions.put(headers.get("id"), headers.get("destination"));
+                    break;
+                case "UNSUBSCRIBE":
+                    subscriptions.remove(headers.get("id"));
+                    break;
+                case "SEND":
+                    received.add(headers.get("destination") + " " + body);
+                    break;
+                case "DISCONNECT":
+                    if (headers.containsKey("receipt")) {
+                        send("RECEIPT\nreceipt-id:" + headers.get("receipt") + "\n\n\0");
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+}
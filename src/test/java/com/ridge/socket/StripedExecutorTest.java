@@ -0,0 +1,155 @@
+package com.ridge.socket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.ridge.metrics.InMemoryMetrics;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link StripedExecutor}.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class StripedExecutorTest {
+
+    @Test
+    void tasksWithTheSameKeyRunInOrder() throws Exception {
+        StripedExecutor executor = new StripedExecutor(4, 4096);
+        Map<Integer, List<Integer>> runs = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(2000);
+
+        for (int i = 0; i < 2000; i++) {
+            int key = i % 8;
+            int sequence = i;
+            executor.execute(key, () -> {
+                runs.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(sequence);
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (List<Integer> run : runs.values()) {
+            List<Integer> sorted = new ArrayList<>(run);
+            sorted.sort(null);
+            assertEquals(sorted, run);
+        }
+        assertEquals(0, executor.getDroppedCount());
+        executor.close();
+    }
+
+    @Test
+    void tasksWithKeysOnDifferentStripesRunInParallel() throws Exception {
+        StripedExecutor executor = new StripedExecutor(2);
+        int other = 1;
+        while (executor.stripeOf(other) == executor.stripeOf(0)) {
+            other++;
+        }
+
+        CountDownLatch both = new CountDownLatch(2);
+        AtomicInteger met = new AtomicInteger();
+        for (int key : new int[] { 0, other }) {
+            executor.execute(key, () -> {
+                both.countDown();
+                try {
+                    if (both.await(5, TimeUnit.SECONDS)) {
+                        met.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        assertTrue(StompTestServer.await(() -> met.get() == 2, 5000));
+        executor.close();
+    }
+
+    @Test
+    void tasksThatDoNotFitTheStripeAreDroppedAndCountedWhenEnabled() throws Exception {
+        StripedExecutor executor = new StripedExecutor(1, 2, StripedExecutor.OverflowPolicy.DROP);
+        InMemoryMetrics metrics = new InMemoryMetrics();
+        executor.setMetricsRecorder(metrics);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger ran = new AtomicInteger();
+
+        executor.execute("key", () -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 4; i++) {
+            executor.execute("key", ran::incrementAndGet);
+        }
+
+        assertEquals(2, executor.getDroppedCount());
+        assertEquals(2, metrics.getCounter("socket.stripe.dropped 0"));
+        assertEquals(2, executor.getQueueDepth(0));
+        release.countDown();
+        assertTrue(StompTestServer.await(() -> ran.get() == 2, 5000));
+        executor.close();
+    }
+
+    @Test
+    void tasksThatDoNotFitTheStripeWaitForRoomByDefault() throws Exception {
+        StripedExecutor executor = new StripedExecutor(1, 2);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> runs = new CopyOnWriteArrayList<>();
+
+        executor.execute("key", () -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        Thread submitter = new Thread(() -> {
+            for (int i = 0; i < 5; i++) {
+                int sequence = i;
+                executor.execute("key", () -> runs.add(sequence));
+            }
+        });
+        submitter.start();
+
+        assertTrue(StompTestServer.await(() -> submitter.getState() == Thread.State.WAITING, 5000));
+        assertEquals(2, executor.getQueueDepth(0));
+        release.countDown();
+        submitter.join(5000);
+
+        assertTrue(StompTestServer.await(() -> runs.size() == 5, 5000));
+        assertEquals(List.of(0, 1, 2, 3, 4), runs);
+        assertEquals(0, executor.getDroppedCount());
+        executor.close();
+    }
+
+    @Test
+    void tasksSubmittedAfterCloseAreDropped() {
+        StripedExecutor executor = new StripedExecutor(2);
+        executor.close();
+        AtomicInteger ran = new AtomicInteger();
+
+        executor.execute("key", ran::incrementAndGet);
+
+        assertEquals(1, executor.getDroppedCount());
+        assertEquals(0, ran.get());
+    }
+}
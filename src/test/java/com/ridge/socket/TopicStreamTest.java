@@ -0,0 +1,188 @@
+package com.ridge.socket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import com.ridge.socket.WebSocketClient.Overflow;
+import com.ridge.socket.WebSocketClientTest.Reading;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import rx.Subscription;
+import rx.exceptions.MissingBackpressureException;
+import rx.schedulers.Schedulers;
+
+/**
+ * Tests for the buffered {@link TopicStream} of
+ * {@link WebSocketClient#listen(String, Class, Overflow, int)}. The payloads
+ * are delivered on a single thread that is held up until the buffer has
+ * overflowed.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class TopicStreamTest {
+
+    private static final String TOPIC = "/topic/readings";
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final List<Reading> received = new CopyOnWriteArrayList<>();
+
+    private StompTestServer server;
+
+    private WebSocketClient client;
+
+    private ExecutorService delivery;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StompTestServer();
+        client = new WebSocketClient(server.getUrl());
+        client.connect();
+        delivery = Executors.newSingleThreadExecutor();
+        delivery.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        release.countDown();
+        delivery.shutdownNow();
+        client.disconnect();
+        server.close();
+    }
+
+    @Test
+    void dropOldestKeepsTheNewestBufferedPayloads() throws Exception {
+        TopicStream<Reading> stream = overflow(Overflow.DROP_OLDEST, 2);
+
+        assertEquals(List.of(1, 4, 5), ids());
+        assertEquals(2, stream.getDroppedCount());
+    }
+
+    @Test
+    void dropNewestKeepsTheOldestBufferedPayloads() throws Exception {
+        TopicStream<Reading> stream = overflow(Overflow.DROP_NEWEST, 2);
+
+        assertEquals(List.of(1, 2, 3), ids());
+        assertEquals(2, stream.getDroppedCount());
+    }
+
+    @Test
+    void latestOnlyKeepsTheLastPayload() throws Exception {
+        TopicStream<Reading> stream = overflow(Overflow.LATEST, 2);
+
+        assertEquals(List.of(1, 5), ids());
+        assertEquals(3, stream.getDroppedCount());
+    }
+
+    @Test
+    void bufferFailsTheStreamAndStopsListening() throws Exception {
+        TopicStream<Reading> stream = client.listen(TOPIC, Reading.class, Overflow.BUFFER, 2,
+                Schedulers.from(delivery));
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        stream.subscribe(received::add, error::set);
+        assertTrue(StompTestServer.await(() -> server.subscriptions(TOPIC) == 1, 5000));
+
+        broadcast(4);
+        assertTrue(StompTestServer.await(() -> stream.getDroppedCount() == 1, 5000));
+        release.countDown();
+
+        assertTrue(StompTestServer.await(() -> error.get() != null, 5000));
+        assertTrue(error.get() instanceof MissingBackpressureException, String.valueOf(error.get()));
+        assertTrue(StompTestServer.await(() -> server.subscriptions(TOPIC) == 0, 5000));
+    }
+
+    @Test
+    void theTopicIsSubscribedToWhileTheStreamHasSubscribers() throws Exception {
+        release.countDown();
+        TopicStream<Reading> stream = client.listen(TOPIC, Reading.class, Overflow.DROP_OLDEST, 16);
+        Thread.sleep(100);
+        assertEquals(0, server.subscriptions(TOPIC));
+
+        List<Reading> other = new CopyOnWriteArrayList<>();
+        Subscription first = stream.subscribe(received::add);
+        Subscription second = stream.subscribe(other::add);
+        assertTrue(StompTestServer.await(() -> server.subscriptions(TOPIC) == 1, 5000));
+        server.broadcast(TOPIC, "{\"id\":1}");
+        assertTrue(StompTestServer.await(() -> received.size() == 1 && other.size() == 1, 5000));
+
+        first.unsubscribe();
+        Thread.sleep(100);
+        assertEquals(1, server.subscriptions(TOPIC));
+        second.unsubscribe();
+        assertTrue(StompTestServer.await(() -> server.subscriptions(TOPIC) == 0, 5000));
+
+        stream.subscribe(received::add);
+        assertTrue(StompTestServer.await(() -> server.subscriptions(TOPIC) == 1, 5000));
+    }
+
+    @Test
+    void dropsAreCountedPerSubscription() throws Exception {
+        TopicStream<Reading> stream = client.listen(TOPIC, Reading.class, Overflow.DROP_OLDEST, 2);
+        List<Reading> fast = new CopyOnWriteArrayList<>();
+        Subscription slow = stream.subscribe(reading -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Subscription keepingUp = stream.subscribe(fast::add);
+        assertTrue(StompTestServer.await(() -> server.subscriptions(TOPIC) == 1, 5000));
+
+        for (int id = 1; id <= 5; id++) {
+            int sent = id;
+            server.broadcast(TOPIC, "{\"id\":" + id + "}");
+            assertTrue(StompTestServer.await(() -> fast.size() == sent, 5000));
+        }
+
+        assertTrue(StompTestServer.await(() -> stream.getDroppedCount(slow) == 2, 5000));
+        assertEquals(0, stream.getDroppedCount(keepingUp));
+        assertEquals(2, stream.getDroppedCount());
+    }
+
+    /**
+     * Sends five payloads to a subscriber whose delivery is held up, and releases
+     * it once the buffer has overflowed.
+     */
+    private TopicStream<Reading> overflow(Overflow overflow, int bufferSize) throws Exception {
+        TopicStream<Reading> stream = client.listen(TOPIC, Reading.class, overflow, bufferSize,
+                Schedulers.from(delivery));
+        stream.subscribe(received::add);
+        assertTrue(StompTestServer.await(() -> server.subscriptions(TOPIC) == 1, 5000));
+
+        broadcast(5);
+        long drops = overflow == Overflow.LATEST ? 3 : 2;
+        assertTrue(StompTestServer.await(() -> stream.getDroppedCount() == drops, 5000));
+        release.countDown();
+        return stream;
+    }
+
+    private void broadcast(int count) {
+        for (int id = 1; id <= count; id++) {
+            server.broadcast(TOPIC, "{\"id\":" + id + "}");
+        }
+    }
+
+    private List<Integer> ids() throws InterruptedException {
+        StompTestServer.await(() -> false, 200);
+        return received.stream().map(Reading::getId).collect(Collectors.toList());
+    }
+}
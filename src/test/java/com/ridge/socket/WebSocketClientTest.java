@@ -0,0 +1,219 @@
+package com.ridge.socket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.stomp.StompSession;
+
+import rx.subjects.BehaviorSubject;
+
+/**
+ * Tests for {@link WebSocketClient} against a local STOMP server.
+ *
+ * @author Sam Butler
+ * @since October 17, 2026
+ */
+class WebSocketClientTest {
+
+    private StompTestServer server;
+
+    private WebSocketClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StompTestServer();
+        client = new WebSocketClient(server.getUrl());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (client.getSession() != null && client.getSession().isConnected()) {
+            client.disconnect();
+        }
+        server.close();
+    }
+
+    @Test
+    void framesAreDecodedWithTheModulesOfTheCodecRegistry() throws Exception {
+        client.connect();
+        List<Reading> readings = new CopyOnWriteArrayList<>();
+        client.listen("/topic/readings", Reading.class).subscribe(readings::add);
+        assertTrue(StompTestServer.await(() -> server.subscriptions("/topic/readings") == 1, 5000));
+
+        server.broadcast("/topic/readings", "{\"id\":7,\"date\":\"2026-10-17\",\"unknown\":true}");
+
+        assertTrue(StompTestServer.await(() -> readings.size() == 1, 5000));
+        assertEquals(7, readings.get(0).id);
+        assertEquals(LocalDate.of(2026, 10, 17), readings.get(0).date);
+    }
+
+    @Test
+    void concurrentConnectsOpenOneSession() throws Exception {
+        client.connectAsync();
+        client.connectAsync();
+
+        assertTrue(StompTestServer.await(() -> client.getSession() != null && client.getSession().isConnected(),
+                5000));
+        Thread.sleep(200);
+        assertEquals(1, server.getConnects());
+    }
+
+    @Test
+    void lostSessionsReconnectExactlyOnce() throws Exception {
+        client.setReconnectBackoff(10, 50);
+        client.connectAsync();
+        assertTrue(StompTestServer.await(() -> server.getConnects() == 1, 5000));
+
+        for (int drop = 1; drop <= 3; drop++) {
+            StompSession lost = awaitSession();
+            server.dropConnections();
+            int expected = drop + 1;
+            assertTrue(StompTestServer.await(() -> server.getConnects() == expected
+                    && client.getSession() != lost && client.getSession().isConnected(), 5000));
+        }
+
+        Thread.sleep(300);
+        assertEquals(4, server.getConnects());
+    }
+
+    @Test
+    void disconnectingDoesNotReconnect() throws Exception {
+        client.setReconnectBackoff(10, 50);
+        client.connectAsync();
+        awaitSession();
+
+        client.disconnect();
+
+        Thread.sleep(300);
+        assertEquals(1, server.getConnects());
+    }
+
+    @Test
+    void stoppingAListenerKeepsTheOtherListenersOfTheTopic() throws Exception {
+        client.connect();
+        List<Reading> first = new CopyOnWriteArrayList<>();
+        List<Reading> second = new CopyOnWriteArrayList<>();
+        BehaviorSubject<Reading> stopped = client.listen("/topic/readings", Reading.class);
+        stopped.subscribe(first::add);
+        client.listen("/topic/readings", Reading.class).subscribe(second::add);
+        assertTrue(StompTestServer.await(() -> server.subscriptions("/topic/readings") == 2, 5000));
+
+        client.stopListening("/topic/readings", stopped);
+
+        assertTrue(StompTestServer.await(() -> server.subscriptions("/topic/readings") == 1, 5000));
+        server.broadcast("/topic/readings", "{\"id\":1}");
+        assertTrue(StompTestServer.await(() -> second.size() == 1, 5000));
+        assertTrue(first.isEmpty());
+    }
+
+    @Test
+    void listenersAreResubscribedOnReconnectWhenEnabled() throws Exception {
+        client.setReconnectBackoff(10, 50);
+        client.setResubscribeOnReconnect(true);
+        List<Reading> readings = new CopyOnWriteArrayList<>();
+        client.listen("/topic/readings", Reading.class).subscribe(readings::add);
+        client.connectAsync();
+        assertTrue(StompTestServer.await(() -> server.subscriptions("/topic/readings") == 1, 5000));
+
+        server.dropConnections();
+
+        assertTrue(StompTestServer.await(() -> server.getConnects() == 2
+                && server.subscriptions("/topic/readings") == 1, 5000));
+        server.broadcast("/topic/readings", "{\"id\":2}");
+        assertTrue(StompTestServer.await(() -> readings.size() == 1, 5000));
+        assertEquals(2, readings.get(0).id);
+    }
+
+    @Test
+    void listeningAgainOnEveryConnectDoesNotDuplicateSubscriptions() throws Exception {
+        client.setReconnectBackoff(10, 50);
+        List<Reading> readings = new CopyOnWriteArrayList<>();
+        client.connectAsync().subscribe(session -> client.listen("/topic/readings", Reading.class)
+                .subscribe(readings::add));
+        assertTrue(StompTestServer.await(() -> server.subscriptions("/topic/readings") == 1, 5000));
+
+        server.dropConnections();
+
+        assertTrue(StompTestServer.await(() -> server.getConnects() == 2
+                && server.subscriptions("/topic/readings") == 1, 5000));
+        Thread.sleep(200);
+        assertEquals(1, server.subscriptions("/topic/readings"));
+        server.broadcast("/topic/readings", "{\"id\":3}");
+        assertTrue(StompTestServer.await(() -> readings.size() == 1, 5000));
+        Thread.sleep(100);
+        assertEquals(1, readings.size());
+    }
+
+    @Test
+    void topicStreamsAreResubscribedOnReconnect() throws Exception {
+        client.setReconnectBackoff(10, 50);
+        List<Reading> buffered = new CopyOnWriteArrayList<>();
+        List<Reading> conflated = new CopyOnWriteArrayList<>();
+        client.listen("/topic/buffered", Reading.class, WebSocketClient.Overflow.DROP_OLDEST, 16)
+                .subscribe(buffered::add);
+        client.listenConflated("/topic/conflated", Reading.class, Reading::getId).subscribe(conflated::add);
+        client.connectAsync();
+        assertTrue(StompTestServer.await(() -> server.subscriptions("/topic/buffered") == 1
+                && server.subscriptions("/topic/conflated") == 1, 5000));
+
+        server.dropConnections();
+
+        assertTrue(StompTestServer.await(() -> server.getConnects() == 2
+                && server.subscriptions("/topic/buffered") == 1 && server.subscriptions("/topic/conflated") == 1,
+                5000));
+        server.broadcast("/topic/buffered", "{\"id\":1}");
+        server.broadcast("/topic/conflated", "{\"id\":2}");
+        assertTrue(StompTestServer.await(() -> buffered.size() == 1 && conflated.size() == 1, 5000));
+    }
+
+    @Test
+    void stripedListenersAreResubscribedOnReconnect() throws Exception {
+        client.setReconnectBackoff(10, 50);
+        StripedExecutor dispatcher = new StripedExecutor(2);
+        List<Reading> readings = new CopyOnWriteArrayList<>();
+        client.listen("/topic/readings", Reading.class, dispatcher, Reading::getId, readings::add);
+        client.connectAsync();
+        assertTrue(StompTestServer.await(() -> server.subscriptions("/topic/readings") == 1, 5000));
+
+        server.dropConnections();
+
+        assertTrue(StompTestServer.await(() -> server.getConnects() == 2
+                && server.subscriptions("/topic/readings") == 1, 5000));
+        server.broadcast("/topic/readings", "{\"id\":1}");
+        assertTrue(StompTestServer.await(() -> readings.size() == 1, 5000));
+        dispatcher.close();
+    }
+
+    private StompSession awaitSession() throws InterruptedException {
+        assertTrue(StompTestServer.await(() -> client.getSession() != null && client.getSession().isConnected(),
+                5000));
+        return client.getSession();
+    }
+
+    /**
+     * Payload of the test topics.
+     */
+    public static class Reading {
+        public int id;
+
+        public LocalDate date;
+
+        public Reading() {
+        }
+
+        public Reading(int id) {
+            this.id = id;
+        }
+
+        public int getId() {
+            return id;
+        }
+    }
+}